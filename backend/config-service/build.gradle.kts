@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
 }
 
 group = "fr.hoenheimsports"
@@ -20,6 +21,9 @@ repositories {
 extra["springCloudVersion"] = "2024.0.1"
 
 dependencies {
+    // Bibliothèque partagée (build inclus ../service-common)
+    implementation("fr.hoenheimsports:service-common:0.0.1-SNAPSHOT")
+
     // Core Spring Boot Dependencies
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
@@ -37,7 +41,7 @@ dependencies {
     implementation("com.github.loki4j:loki-logback-appender:1.6.0")
 
     // General Utilities
-
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     //Testing
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -53,3 +57,13 @@ dependencyManagement {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Propriétés du démarrage d'entraînement du cache AOT, sans les services dont il dépend
+extra["aotTrainingArgs"] = listOf(
+    "-Dspring.profiles.active=native",
+    "-Dspring.cloud.config.server.native.search-locations=classpath:/",
+    "-Dencrypt.key-store.location=",
+    "-Dencrypt.key=aot-training",
+)
+apply(from = "../gradle/aot.gradle.kts")
+apply(from = "../gradle/native.gradle.kts")
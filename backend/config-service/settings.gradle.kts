@@ -1 +1,4 @@
 rootProject.name = "config-service"
+
+// Bibliothèque partagée par les services
+includeBuild("../service-common")
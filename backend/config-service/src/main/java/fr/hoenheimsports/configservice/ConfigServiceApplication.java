@@ -1,10 +1,13 @@
 package fr.hoenheimsports.configservice;
 
+import fr.hoenheimsports.configservice.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.config.server.EnableConfigServer;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 @EnableConfigServer
 public class ConfigServiceApplication {
 
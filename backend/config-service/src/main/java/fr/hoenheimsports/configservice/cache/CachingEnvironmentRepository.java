@@ -0,0 +1,44 @@
+package fr.hoenheimsports.configservice.cache;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+import org.springframework.core.Ordered;
+
+/**
+ * Serves the configurations of the wrapped repository from the {@link EnvironmentCache}.
+ *
+ * <p>The wrapped repository is also the search path locator of the config server, used to serve
+ * plain text files, so the locations are delegated.</p>
+ */
+class CachingEnvironmentRepository implements EnvironmentRepository, SearchPathLocator, Ordered {
+
+    private final EnvironmentRepository delegate;
+    private final EnvironmentCache environmentCache;
+
+    CachingEnvironmentRepository(EnvironmentRepository delegate, EnvironmentCache environmentCache) {
+        this.delegate = delegate;
+        this.environmentCache = environmentCache;
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return findOne(application, profile, label, false);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+        return environmentCache.get(new EnvironmentCache.Key(application, profile, label, includeOrigin),
+                () -> delegate.findOne(application, profile, label, includeOrigin));
+    }
+
+    @Override
+    public Locations getLocations(String application, String profile, String label) {
+        return ((SearchPathLocator) delegate).getLocations(application, profile, label);
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate instanceof Ordered ordered ? ordered.getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+}
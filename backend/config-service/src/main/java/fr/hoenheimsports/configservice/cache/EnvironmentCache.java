@@ -0,0 +1,141 @@
+package fr.hoenheimsports.configservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import fr.hoenheimsports.configservice.config.EnvironmentCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of the resolved configurations, keyed by application, profile and label.
+ *
+ * <p>When every service starts at once, each one fetching its configuration, the config server
+ * resolves the same few configurations again and again. They are resolved once and then served
+ * from memory; the concurrent requests of a configuration being resolved wait for it instead of
+ * resolving it too.</p>
+ *
+ * <p>A configuration resolved from Git carries the commit id as version. Every
+ * {@link EnvironmentCacheProperties#pollInterval()} the cached labels are fetched in the background
+ * and the configurations resolved from an older commit are evicted, so a new commit is served at
+ * the latest one interval later. The configurations without version, from the native backend, are
+ * kept for {@link EnvironmentCacheProperties#nativeTtl()} only.</p>
+ *
+ * <p>The cached configurations are the encrypted ones. They are served encrypted too, the clients
+ * decrypting the {@code {cipher}} values themselves.</p>
+ */
+public class EnvironmentCache implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentCache.class);
+
+    /**
+     * Identity of a resolved configuration.
+     */
+    record Key(String application, String profile, String label, boolean includeOrigin) {
+    }
+
+    private final EnvironmentCacheProperties environmentCacheProperties;
+    private final ObjectProvider<JGitEnvironmentRepository> gitRepository;
+    private final Cache<Key, Environment> environments;
+    private ScheduledExecutorService scheduler;
+
+    public EnvironmentCache(EnvironmentCacheProperties environmentCacheProperties,
+                            ObjectProvider<JGitEnvironmentRepository> gitRepository,
+                            MeterRegistry meterRegistry) {
+        this.environmentCacheProperties = environmentCacheProperties;
+        this.gitRepository = gitRepository;
+        this.environments = Caffeine.newBuilder()
+                .maximumSize(environmentCacheProperties.maxEntries())
+                .expireAfter(Expiry.<Key, Environment>writing((key, environment) -> environment.getVersion() == null
+                        ? environmentCacheProperties.nativeTtl()
+                        : environmentCacheProperties.maxAge()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, environments, "config.environments");
+    }
+
+    @Override
+    public void start() {
+        JGitEnvironmentRepository repository = gitRepository.getIfAvailable();
+        if (repository == null) {
+            logger.info("Cache des configurations sans suivi des commits, expiration après {}",
+                    environmentCacheProperties.nativeTtl());
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("environment-cache").daemon().factory());
+        long interval = environmentCacheProperties.pollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> invalidateStale(repository), interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Cache des configurations invalidé par commit Git, vérification toutes les {}",
+                environmentCacheProperties.pollInterval());
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Returns a copy of a cached configuration, resolving it if needed.
+     *
+     * @param key      The identity of the configuration
+     * @param resolver Resolves the configuration when it is not cached
+     * @return A copy of the configuration, which the caller can modify
+     */
+    Environment get(Key key, Supplier<Environment> resolver) {
+        return copy(environments.get(key, ignored -> copy(resolver.get())));
+    }
+
+    /**
+     * Fetches each cached label and evicts the configurations resolved from another commit.
+     */
+    private void invalidateStale(JGitEnvironmentRepository repository) {
+        Set<String> labels = environments.asMap().keySet().stream()
+                .map(Key::label)
+                .collect(Collectors.toSet());
+        for (String label : labels) {
+            try {
+                String commit;
+                // The repository checks out the label, as when it resolves a configuration
+                synchronized (repository) {
+                    commit = repository.refresh(label != null ? label : repository.getDefaultLabel());
+                }
+                environments.asMap().entrySet().removeIf(entry -> Objects.equals(entry.getKey().label(), label)
+                        && !Objects.equals(entry.getValue().getVersion(), commit));
+            } catch (RuntimeException e) {
+                logger.warn("Vérification du commit du label {} impossible: {}", label, e.getMessage());
+            }
+        }
+    }
+
+    private static Environment copy(Environment environment) {
+        Environment copy = new Environment(environment.getName(), environment.getProfiles(), environment.getLabel(),
+                environment.getVersion(), environment.getState());
+        environment.getPropertySources().forEach(source ->
+                copy.add(new PropertySource(source.getName(), new LinkedHashMap<>(source.getSource()))));
+        return copy;
+    }
+}
@@ -0,0 +1,34 @@
+package fr.hoenheimsports.configservice.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+
+/**
+ * Puts the {@link EnvironmentCache} in front of the primary repository of the config server, the
+ * one behind the configuration endpoints.
+ *
+ * <p>The primary repository is created by the config server itself, so it is wrapped once
+ * initialized rather than replaced.</p>
+ */
+public class EnvironmentCachePostProcessor implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentCachePostProcessor.class);
+
+    private final ObjectProvider<EnvironmentCache> environmentCache;
+
+    public EnvironmentCachePostProcessor(ObjectProvider<EnvironmentCache> environmentCache) {
+        this.environmentCache = environmentCache;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof SearchPathCompositeEnvironmentRepository repository) {
+            logger.debug("Mise en cache des configurations résolues par {}", beanName);
+            return new CachingEnvironmentRepository(repository, environmentCache.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,23 @@
+package fr.hoenheimsports.configservice.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Answers the conditional requests of the configurations with a {@code 304 Not Modified}.
+ *
+ * <p>The ETag is the hash of the response, so it changes only when the served configuration
+ * changes. A client sending it back in {@code If-None-Match} gets an empty response as long as its
+ * configuration did not change; with the configuration served from the {@link EnvironmentCache},
+ * such a request costs almost nothing. The streams, the actuator and the encryption endpoints
+ * are not buffered.</p>
+ */
+public class EnvironmentEtagFilter extends ShallowEtagHeaderFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/push/") || path.startsWith("/actuator") || path.startsWith("/encrypt")
+                || path.startsWith("/decrypt") || path.startsWith("/key");
+    }
+}
@@ -0,0 +1,31 @@
+package fr.hoenheimsports.configservice.config;
+
+import fr.hoenheimsports.configservice.push.ConfigChangeController;
+import fr.hoenheimsports.configservice.push.ConfigChangeMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Push channel of the configuration changes, only when the config server is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = {"spring.cloud.config.server.enabled", "custom.config-push.enabled"}, matchIfMissing = true)
+@EnableConfigurationProperties(ConfigPushProperties.class)
+public class ConfigPushConfig {
+
+    @Bean
+    public ConfigChangeMonitor configChangeMonitor(EnvironmentRepository environmentRepository,
+                                                   ConfigPushProperties configPushProperties,
+                                                   MeterRegistry meterRegistry) {
+        return new ConfigChangeMonitor(environmentRepository, configPushProperties, meterRegistry);
+    }
+
+    @Bean
+    public ConfigChangeController configChangeController(ConfigChangeMonitor configChangeMonitor) {
+        return new ConfigChangeController(configChangeMonitor);
+    }
+}
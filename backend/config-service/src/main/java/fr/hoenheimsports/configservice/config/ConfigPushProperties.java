@@ -0,0 +1,23 @@
+package fr.hoenheimsports.configservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the push of the configuration changes to the client services.
+ *
+ * @param enabled             Whether the clients can subscribe to the changes of their configuration
+ * @param pollInterval        Interval between two checks of the configuration backend
+ * @param heartbeatInterval   Interval between two keep-alive comments sent on the idle subscriptions
+ * @param subscriptionTimeout Duration after which a subscription is closed, the client then subscribes again
+ * @param maxSubscribers      Maximum number of open subscriptions
+ */
+@ConfigurationProperties(prefix = "custom.config-push")
+public record ConfigPushProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("10s") Duration pollInterval,
+                                   @DefaultValue("25s") Duration heartbeatInterval,
+                                   @DefaultValue("30m") Duration subscriptionTimeout,
+                                   @DefaultValue("500") int maxSubscribers) {
+}
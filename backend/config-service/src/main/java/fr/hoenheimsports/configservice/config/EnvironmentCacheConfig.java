@@ -0,0 +1,43 @@
+package fr.hoenheimsports.configservice.config;
+
+import fr.hoenheimsports.configservice.cache.EnvironmentCache;
+import fr.hoenheimsports.configservice.cache.EnvironmentCachePostProcessor;
+import fr.hoenheimsports.configservice.cache.EnvironmentEtagFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.config.server.environment.JGitEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache of the resolved configurations and conditional requests on the configuration endpoints,
+ * only when the config server is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = {"spring.cloud.config.server.enabled", "custom.environment-cache.enabled"}, matchIfMissing = true)
+@EnableConfigurationProperties(EnvironmentCacheProperties.class)
+public class EnvironmentCacheConfig {
+
+    @Bean
+    public EnvironmentCache environmentCache(EnvironmentCacheProperties environmentCacheProperties,
+                                             ObjectProvider<JGitEnvironmentRepository> gitRepository,
+                                             MeterRegistry meterRegistry) {
+        return new EnvironmentCache(environmentCacheProperties, gitRepository, meterRegistry);
+    }
+
+    /**
+     * Static, as a post-processor is instantiated before the other beans of its configuration.
+     */
+    @Bean
+    public static EnvironmentCachePostProcessor environmentCachePostProcessor(ObjectProvider<EnvironmentCache> environmentCache) {
+        return new EnvironmentCachePostProcessor(environmentCache);
+    }
+
+    @Bean
+    public FilterRegistrationBean<EnvironmentEtagFilter> environmentEtagFilter() {
+        return new FilterRegistrationBean<>(new EnvironmentEtagFilter());
+    }
+}
@@ -0,0 +1,23 @@
+package fr.hoenheimsports.configservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the cache of the resolved configurations.
+ *
+ * @param enabled      Whether the resolved configurations are cached
+ * @param maxEntries   Maximum number of cached configurations
+ * @param pollInterval Interval between two checks of the Git commit of the cached labels
+ * @param maxAge       Maximum age of a configuration resolved from Git, whatever its commit
+ * @param nativeTtl    Maximum age of a configuration without version, as resolved from the native backend
+ */
+@ConfigurationProperties(prefix = "custom.environment-cache")
+public record EnvironmentCacheProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("1000") int maxEntries,
+                                         @DefaultValue("15s") Duration pollInterval,
+                                         @DefaultValue("10m") Duration maxAge,
+                                         @DefaultValue("5s") Duration nativeTtl) {
+}
@@ -0,0 +1,33 @@
+package fr.hoenheimsports.configservice.config;
+
+import fr.hoenheimsports.configservice.push.ConfigChange;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection and resource hints of the native image, built with {@code -Pnative}.
+ *
+ * <p>Spring Cloud Config and the Eureka client ship their own hints, only what they cannot infer
+ * is registered here: the encryption key store, the JGit messages bundle, read by reflection, and
+ * the configuration change notifications serialized by the push endpoint. The loki4j appender and
+ * the Eureka registry payloads are registered by {@code CommonNativeHints} of service-common.</p>
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String JGIT_TEXT = "org.eclipse.jgit.internal.JGitText";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ConfigChange.class);
+
+        hints.resources().registerPattern("config-keystore.p12");
+
+        // JGit fills the public fields of its messages class from the bundle of the same name
+        hints.resources().registerResourceBundle(JGIT_TEXT);
+        hints.reflection().registerType(TypeReference.of(JGIT_TEXT), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.PUBLIC_FIELDS);
+    }
+}
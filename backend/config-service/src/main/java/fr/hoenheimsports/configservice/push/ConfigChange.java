@@ -0,0 +1,19 @@
+package fr.hoenheimsports.configservice.push;
+
+import java.util.Set;
+
+/**
+ * Notification of a change of the configuration of an application.
+ *
+ * <p>Only the names of the changed properties are sent, the values stay behind the usual
+ * configuration endpoints, which serve the {@code {cipher}} values as they are for the clients to
+ * decrypt them.</p>
+ *
+ * @param application Name of the application
+ * @param profile     Profiles of the configuration
+ * @param label       Label of the configuration, null for the default one
+ * @param version     Version of the new configuration, the Git commit id, null for the native backend
+ * @param keys        Names of the added, changed and removed properties
+ */
+public record ConfigChange(String application, String profile, String label, String version, Set<String> keys) {
+}
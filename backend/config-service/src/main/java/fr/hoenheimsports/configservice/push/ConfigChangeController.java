@@ -0,0 +1,39 @@
+package fr.hoenheimsports.configservice.push;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Subscription of the client services to the changes of their configuration.
+ *
+ * <p>The {@code /push} prefix is a literal segment, so the mapping takes precedence over the
+ * {@code /{application}/{profile}/{label}} mapping of the config server.</p>
+ */
+@RestController
+public class ConfigChangeController {
+
+    private final ConfigChangeMonitor configChangeMonitor;
+
+    public ConfigChangeController(ConfigChangeMonitor configChangeMonitor) {
+        this.configChangeMonitor = configChangeMonitor;
+    }
+
+    /**
+     * Opens a Server-Sent Events stream receiving a {@code config-change} event, holding a
+     * {@link ConfigChange}, each time the configuration changes.
+     *
+     * @param application Name of the application
+     * @param profile     Profiles of the configuration, comma separated
+     * @param label       Label of the configuration, the default one if absent
+     * @return The stream of the changes
+     */
+    @GetMapping(path = "/push/{application}/{profile}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String application, @PathVariable String profile,
+                                @RequestParam(required = false) String label) {
+        return configChangeMonitor.subscribe(application, profile, label);
+    }
+}
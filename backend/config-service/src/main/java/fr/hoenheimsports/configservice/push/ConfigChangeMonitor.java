@@ -0,0 +1,232 @@
+package fr.hoenheimsports.configservice.push;
+
+import fr.hoenheimsports.configservice.config.ConfigPushProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watches the configuration backend and pushes the changes to the subscribed clients.
+ *
+ * <p>The clients subscribe to the configuration of their application with a Server-Sent Events
+ * stream. The backend is checked every {@link ConfigPushProperties#pollInterval()}, once per
+ * watched application, profile and label whatever the number of subscribers, so the load of the
+ * config server does not grow with the number of instances. When the version of the Git backend
+ * did not move, the configuration is not compared; the native backend has no version and is
+ * always compared. The properties of the new configuration are compared with the previous ones
+ * and a {@link ConfigChange} listing the changed keys is sent to every subscriber, which then
+ * reloads only what changed.</p>
+ *
+ * <p>The idle streams get a comment every {@link ConfigPushProperties#heartbeatInterval()} so that
+ * the proxies do not close them, and a dead subscriber is detected on the next send.</p>
+ */
+public class ConfigChangeMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeMonitor.class);
+
+    static final String CHANGE_EVENT = "config-change";
+
+    /**
+     * Configuration watched by at least one subscriber.
+     */
+    private record Watch(String application, String profile, String label) {
+    }
+
+    /**
+     * Subscribers of a watched configuration and the last state seen.
+     */
+    private static final class WatchState {
+        private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        private String version;
+        private Map<String, Object> properties;
+    }
+
+    private final EnvironmentRepository environmentRepository;
+    private final ConfigPushProperties configPushProperties;
+    private final Map<Watch, WatchState> watches = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter notificationsCounter;
+    private ScheduledExecutorService scheduler;
+
+    public ConfigChangeMonitor(EnvironmentRepository environmentRepository, ConfigPushProperties configPushProperties,
+                               MeterRegistry meterRegistry) {
+        this.environmentRepository = environmentRepository;
+        this.configPushProperties = configPushProperties;
+        this.notificationsCounter = meterRegistry.counter("config.push.notifications");
+        meterRegistry.gauge("config.push.subscribers", subscribers);
+        meterRegistry.gauge("config.push.watches", watches, Map::size);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("config-push").daemon().factory());
+        long poll = configPushProperties.pollInterval().toMillis();
+        long heartbeat = configPushProperties.heartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, poll, poll, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        logger.info("Surveillance des changements de configuration toutes les {}", configPushProperties.pollInterval());
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        scheduler = null;
+        watches.values().forEach(state -> state.emitters.forEach(SseEmitter::complete));
+        watches.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Subscribes to the changes of a configuration.
+     *
+     * <p>The current state of the configuration is loaded when it is not watched yet, so that the
+     * changes made after the subscription are all notified.</p>
+     *
+     * @param application Name of the application
+     * @param profile     Profiles of the configuration
+     * @param label       Label of the configuration, null for the default one
+     * @return The stream of the {@link ConfigChange} events
+     * @throws ResponseStatusException with the 503 status when too many subscriptions are open
+     */
+    public SseEmitter subscribe(String application, String profile, String label) {
+        if (subscribers.incrementAndGet() > configPushProperties.maxSubscribers()) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Trop d'abonnements aux changements de configuration");
+        }
+        SseEmitter emitter = new SseEmitter(configPushProperties.subscriptionTimeout().toMillis());
+        // Registered atomically with the removal of the idle watches done by the poll
+        WatchState state = watches.compute(new Watch(application, profile, label), (watch, current) -> {
+            WatchState watchState = current != null ? current : new WatchState();
+            watchState.emitters.add(emitter);
+            return watchState;
+        });
+        Runnable unsubscribe = () -> {
+            if (state.emitters.remove(emitter)) {
+                subscribers.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        try {
+            synchronized (state) {
+                if (state.properties == null) {
+                    Environment environment = environmentRepository.findOne(application, profile, label);
+                    state.version = environment.getVersion();
+                    state.properties = flatten(environment);
+                }
+            }
+        } catch (RuntimeException e) {
+            unsubscribe.run();
+            throw e;
+        }
+        logger.debug("Abonnement aux changements de configuration de {}/{}", application, profile);
+        return emitter;
+    }
+
+    private void poll() {
+        watches.forEach((watch, state) -> {
+            if (watches.computeIfPresent(watch, (key, current) -> current.emitters.isEmpty() ? null : current) == null) {
+                return;
+            }
+            try {
+                check(watch, state);
+            } catch (RuntimeException e) {
+                logger.warn("Vérification de la configuration de {}/{} impossible: {}",
+                        watch.application(), watch.profile(), e.getMessage());
+            }
+        });
+    }
+
+    private void check(Watch watch, WatchState state) {
+        Environment environment = environmentRepository.findOne(watch.application(), watch.profile(), watch.label());
+        Set<String> changedKeys;
+        synchronized (state) {
+            if (state.properties == null
+                    || environment.getVersion() != null && environment.getVersion().equals(state.version)) {
+                return;
+            }
+            Map<String, Object> properties = flatten(environment);
+            changedKeys = changedKeys(state.properties, properties);
+            state.version = environment.getVersion();
+            state.properties = properties;
+        }
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        logger.info("Configuration de {}/{} modifiée ({} propriétés), notification de {} abonné(s)",
+                watch.application(), watch.profile(), changedKeys.size(), state.emitters.size());
+        ConfigChange change = new ConfigChange(watch.application(), watch.profile(), watch.label(),
+                environment.getVersion(), changedKeys);
+        state.emitters.forEach(emitter ->
+                send(emitter, SseEmitter.event().name(CHANGE_EVENT).data(change, MediaType.APPLICATION_JSON)));
+        notificationsCounter.increment();
+    }
+
+    private void heartbeat() {
+        watches.values().forEach(state ->
+                state.emitters.forEach(emitter -> send(emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Abonné déconnecté: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Merges the property sources of an environment, the first source having the precedence.
+     */
+    static Map<String, Object> flatten(Environment environment) {
+        Map<String, Object> properties = new HashMap<>();
+        List<PropertySource> sources = environment.getPropertySources();
+        for (PropertySource source : sources.reversed()) {
+            source.getSource().forEach((key, value) -> properties.put(key.toString(), value));
+        }
+        return properties;
+    }
+
+    /**
+     * Names of the properties added, changed or removed between two states, sorted.
+     */
+    static Set<String> changedKeys(Map<String, Object> previous, Map<String, Object> current) {
+        Set<String> keys = new TreeSet<>();
+        current.forEach((key, value) -> {
+            if (!Objects.equals(previous.get(key), value)) {
+                keys.add(key);
+            }
+        });
+        previous.keySet().stream().filter(key -> !current.containsKey(key)).forEach(keys::add);
+        return keys;
+    }
+}
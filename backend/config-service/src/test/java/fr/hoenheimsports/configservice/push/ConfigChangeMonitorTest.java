@@ -0,0 +1,66 @@
+package fr.hoenheimsports.configservice.push;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigChangeMonitorTest {
+
+    @Test
+    void listsTheAddedChangedAndRemovedKeysSorted() {
+        Map<String, Object> previous = Map.of(
+                "server.port", 8080,
+                "custom.mail.host", "smtp.example.com",
+                "custom.removed", "yes");
+        Map<String, Object> current = Map.of(
+                "server.port", 8081,
+                "custom.mail.host", "smtp.example.com",
+                "custom.added", "yes");
+
+        assertThat(ConfigChangeMonitor.changedKeys(previous, current))
+                .containsExactly("custom.added", "custom.removed", "server.port");
+    }
+
+    @Test
+    void findsNoChangeBetweenEqualStates() {
+        Map<String, Object> properties = Map.of("server.port", 8080, "custom.enabled", true);
+
+        assertThat(ConfigChangeMonitor.changedKeys(properties, new HashMap<>(properties))).isEmpty();
+    }
+
+    @Test
+    void detectsAValueBecomingNull() {
+        Map<String, Object> previous = Map.of("custom.value", "set");
+        Map<String, Object> current = new HashMap<>();
+        current.put("custom.value", null);
+
+        assertThat(ConfigChangeMonitor.changedKeys(previous, current)).containsExactly("custom.value");
+    }
+
+    @Test
+    void mergesThePropertySourcesWithTheFirstOneTakingPrecedence() {
+        Environment environment = new Environment("training-service", "prod");
+        environment.add(new PropertySource("training-service-prod.yml", Map.of("server.port", 8081)));
+        environment.add(new PropertySource("application.yml", Map.of("server.port", 8080, "custom.shared", "yes")));
+
+        assertThat(ConfigChangeMonitor.flatten(environment))
+                .containsOnly(Map.entry("server.port", 8081), Map.entry("custom.shared", "yes"));
+    }
+
+    @Test
+    void reportsAValueOverriddenByAMoreSpecificSource() {
+        Environment before = new Environment("training-service", "prod");
+        before.add(new PropertySource("application.yml", Map.of("custom.timeout", "5s")));
+        Environment after = new Environment("training-service", "prod");
+        after.add(new PropertySource("training-service-prod.yml", Map.of("custom.timeout", "10s")));
+        after.add(new PropertySource("application.yml", Map.of("custom.timeout", "5s")));
+
+        assertThat(ConfigChangeMonitor.changedKeys(ConfigChangeMonitor.flatten(before), ConfigChangeMonitor.flatten(after)))
+                .containsExactly("custom.timeout");
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
 }
 
 group = "fr.hoenheimsports"
@@ -27,6 +28,9 @@ extra["springCloudVersion"] = "2024.0.1"
 
 dependencies {
 
+    // Bibliothèque partagée (build inclus ../service-common)
+    implementation("fr.hoenheimsports:service-common:0.0.1-SNAPSHOT")
+
     // Spring Boot Core
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
@@ -54,6 +58,7 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("com.icegreen:greenmail-junit5:2.1.3") // Serveur SMTP embarqué du test du pool
     runtimeOnly("org.springframework.boot:spring-boot-docker-compose")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
@@ -72,3 +77,16 @@ dependencyManagement {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Propriétés du démarrage d'entraînement du cache AOT, sans les services dont il dépend
+extra["aotTrainingArgs"] = listOf(
+    "-Dcustom.contact.email=aot-training@localhost",
+    "-Dspring.mail.host=localhost",
+)
+apply(from = "../gradle/aot.gradle.kts")
+
+// Image native : sans refresh scope, les changements de configuration poussés ne peuvent pas être appliqués
+extra["nativeAotArgs"] = listOf(
+    "--custom.config-push.enabled=false",
+)
+apply(from = "../gradle/native.gradle.kts")
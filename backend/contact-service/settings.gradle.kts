@@ -1 +1,4 @@
 rootProject.name = "contact-service"
+
+// Bibliothèque partagée par les services
+includeBuild("../service-common")
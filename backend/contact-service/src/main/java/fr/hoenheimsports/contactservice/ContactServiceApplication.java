@@ -1,7 +1,9 @@
 package fr.hoenheimsports.contactservice;
 
+import fr.hoenheimsports.contactservice.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Main application class for the Contact Service.
@@ -13,6 +15,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 1.0
  */
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class ContactServiceApplication {
 
     /**
@@ -0,0 +1,217 @@
+package fr.hoenheimsports.contactservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Applies the configuration changes pushed by the config server, without any message broker.
+ *
+ * <p>The subscriber holds a Server-Sent Events stream on the {@code /push/{application}/{profile}}
+ * endpoint of the config server. On a {@code config-change} event, after a random delay of at most
+ * {@link ConfigPushProperties#maxJitter()} so that the instances do not all query the config server
+ * at once, the environment is reloaded and an {@code EnvironmentChangeEvent} is published, which
+ * rebinds the mutable {@code @ConfigurationProperties} beans. Then only the {@code @RefreshScope}
+ * beans whose {@link RefreshedBy} prefixes match a changed key are rebuilt, instead of the whole
+ * refresh scope as {@code /actuator/refresh} does.</p>
+ *
+ * <p>The stream is opened again when it is closed, with an exponential backoff after a failure.
+ * The changes pushed while disconnected are lost, so the environment is reloaded after each
+ * reconnection; the actually changed keys decide which beans are rebuilt.</p>
+ */
+@Slf4j
+public class ConfigChangeSubscriber implements SmartLifecycle {
+
+    private static final String CHANGE_EVENT = "config-change";
+    private static final String REFRESH_SCOPE = "refresh";
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The part of a pushed change used by the subscriber.
+     */
+    private record ConfigChange(String version, Set<String> keys) {
+    }
+
+    private final ConfigPushProperties configPushProperties;
+    private final ContextRefresher contextRefresher;
+    private final RefreshScope refreshScope;
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final ObjectMapper objectMapper;
+    private final URI streamUri;
+    private final HttpClient httpClient;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ConfigChangeSubscriber(ConfigPushProperties configPushProperties, ContextRefresher contextRefresher,
+                                  RefreshScope refreshScope, ConfigurableListableBeanFactory beanFactory,
+                                  ObjectMapper objectMapper, String applicationName) {
+        this.configPushProperties = configPushProperties;
+        this.contextRefresher = contextRefresher;
+        this.refreshScope = refreshScope;
+        this.beanFactory = beanFactory;
+        this.objectMapper = objectMapper;
+        this.streamUri = UriComponentsBuilder.fromUri(configPushProperties.uri())
+                .pathSegment("push", applicationName, configPushProperties.profile())
+                .queryParamIfPresent("label", Optional.ofNullable(configPushProperties.label()))
+                .build()
+                .toUri();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofVirtual().name("config-push").start(this::subscribe);
+        log.info("Abonnement aux changements de configuration sur {}", streamUri);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void subscribe() {
+        Duration delay = configPushProperties.reconnectDelay();
+        boolean reconnection = false;
+        while (running) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(streamUri)
+                        .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                        .GET()
+                        .build();
+                HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                try (Stream<String> lines = response.body()) {
+                    if (response.statusCode() != 200) {
+                        throw new IOException("Statut " + response.statusCode() + " du serveur de configuration");
+                    }
+                    delay = configPushProperties.reconnectDelay();
+                    if (reconnection) {
+                        applyChange(null);
+                    }
+                    reconnection = true;
+                    read(lines.iterator());
+                }
+                log.debug("Flux des changements de configuration fermé par le serveur, nouvel abonnement");
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Abonnement aux changements de configuration interrompu, nouvel essai dans {}: {}",
+                        delay, e.getMessage());
+                reconnection = true;
+                sleep(jittered(delay));
+                delay = min(delay.multipliedBy(2), configPushProperties.maxReconnectDelay());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the events of the stream until it is closed.
+     */
+    private void read(Iterator<String> lines) throws IOException {
+        String event = null;
+        List<String> data = new ArrayList<>();
+        while (running && lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                if (CHANGE_EVENT.equals(event) && !data.isEmpty()) {
+                    ConfigChange change = objectMapper.readValue(String.join("\n", data), ConfigChange.class);
+                    log.info("Configuration modifiée (version {}): {}", change.version(), change.keys());
+                    applyChange(change);
+                }
+                event = null;
+                data.clear();
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).strip();
+            } else if (line.startsWith("data:")) {
+                data.add(line.substring("data:".length()).stripLeading());
+            }
+        }
+    }
+
+    /**
+     * Reloads the environment after a random delay and rebuilds the refresh-scoped beans depending
+     * on the changed properties.
+     *
+     * @param change The pushed change, null after a reconnection
+     */
+    private void applyChange(ConfigChange change) {
+        sleep(jittered(configPushProperties.maxJitter()));
+        if (!running) {
+            return;
+        }
+        Set<String> keys = contextRefresher.refreshEnvironment();
+        if (keys.isEmpty()) {
+            log.debug("Aucune propriété modifiée dans l'environnement");
+            return;
+        }
+        List<String> refreshed = new ArrayList<>();
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (REFRESH_SCOPE.equals(definition.getScope()) && dependsOn(beanFactory.getType(name), keys)) {
+                refreshScope.refresh(name);
+                refreshed.add(name);
+            }
+        }
+        log.info("{} propriété(s) rechargée(s){}, bean(s) reconstruit(s): {}", keys.size(),
+                change == null ? " après reconnexion" : "", refreshed);
+    }
+
+    private static boolean dependsOn(Class<?> type, Set<String> keys) {
+        RefreshedBy refreshedBy = type == null ? null : AnnotatedElementUtils.findMergedAnnotation(type, RefreshedBy.class);
+        if (refreshedBy == null) {
+            return true;
+        }
+        return keys.stream().anyMatch(key -> Arrays.stream(refreshedBy.value()).anyMatch(prefix ->
+                key.equals(prefix) || key.startsWith(prefix + ".") || key.startsWith(prefix + "[")));
+    }
+
+    private static Duration jittered(Duration max) {
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(max.toMillis() + 1));
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            running = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package fr.hoenheimsports.contactservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConfigPushProperties.class)
+public class ConfigPushConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.config-push", name = "enabled", havingValue = "true")
+    public ConfigChangeSubscriber configChangeSubscriber(ConfigPushProperties configPushProperties,
+                                                         ContextRefresher contextRefresher,
+                                                         RefreshScope refreshScope,
+                                                         ConfigurableListableBeanFactory beanFactory,
+                                                         ObjectMapper objectMapper,
+                                                         @Value("${spring.application.name}") String applicationName) {
+        return new ConfigChangeSubscriber(configPushProperties, contextRefresher, refreshScope, beanFactory,
+                objectMapper, applicationName);
+    }
+}
@@ -0,0 +1,29 @@
+package fr.hoenheimsports.contactservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuration of the subscription to the configuration changes pushed by the config server.
+ *
+ * @param enabled           Whether the service subscribes to the changes of its configuration
+ * @param uri               URI of the config server
+ * @param profile           Profiles of the watched configuration, comma separated
+ * @param label             Label of the watched configuration, the default one if null
+ * @param maxJitter         Maximum random delay before reloading a changed configuration, so that
+ *                          the instances do not all reload it at once
+ * @param reconnectDelay    Initial delay before subscribing again after a failure
+ * @param maxReconnectDelay Maximum delay before subscribing again after consecutive failures
+ */
+@ConfigurationProperties(prefix = "custom.config-push")
+public record ConfigPushProperties(@DefaultValue("false") boolean enabled,
+                                   URI uri,
+                                   @DefaultValue("default") String profile,
+                                   String label,
+                                   @DefaultValue("5s") Duration maxJitter,
+                                   @DefaultValue("5s") Duration reconnectDelay,
+                                   @DefaultValue("2m") Duration maxReconnectDelay) {
+}
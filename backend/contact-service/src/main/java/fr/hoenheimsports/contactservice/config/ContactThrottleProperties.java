@@ -0,0 +1,33 @@
+package fr.hoenheimsports.contactservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the throttling of the contact form.
+ *
+ * @param perAddress      Token bucket of each client address
+ * @param perSender       Token bucket of each sender email address
+ * @param duplicateWindow Time during which the same message is rejected as a duplicate
+ * @param maxTrackedKeys  Maximum number of addresses, senders and message hashes kept in memory,
+ *                        the least recently seen ones are forgotten first
+ * @param trustedProxies  Number of reverse proxies appending to {@code X-Forwarded-For} in front of
+ *                        the service, the client address is the entry they received the request from
+ */
+@ConfigurationProperties(prefix = "custom.contact-throttle")
+public record ContactThrottleProperties(Bucket perAddress,
+                                        Bucket perSender,
+                                        Duration duplicateWindow,
+                                        int maxTrackedKeys,
+                                        int trustedProxies) {
+
+    /**
+     * A token bucket refilled continuously.
+     *
+     * @param capacity Maximum number of submissions in a burst
+     * @param period   Time needed to refill the whole capacity
+     */
+    public record Bucket(int capacity, Duration period) {
+    }
+}
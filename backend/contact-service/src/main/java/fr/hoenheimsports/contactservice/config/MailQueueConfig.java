@@ -0,0 +1,9 @@
+package fr.hoenheimsports.contactservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MailQueueProperties.class)
+public class MailQueueConfig {
+}
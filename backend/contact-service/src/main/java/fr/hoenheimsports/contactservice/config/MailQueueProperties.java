@@ -0,0 +1,26 @@
+package fr.hoenheimsports.contactservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the outgoing mail queue.
+ *
+ * @param directory      Spool directory of the queue, pending emails are kept in {@code pending/} and
+ *                       emails which exhausted their attempts in {@code dead/}
+ * @param workers        Number of worker threads delivering the queued emails
+ * @param batchSize      Maximum number of due emails a worker delivers at once
+ * @param maxAttempts    Maximum number of delivery attempts before an email is dead-lettered
+ * @param initialBackoff Delay before the first retry, doubled on each following retry
+ * @param maxBackoff     Maximum delay between two attempts
+ */
+@ConfigurationProperties(prefix = "custom.mail-queue")
+public record MailQueueProperties(Path directory,
+                                  int workers,
+                                  int batchSize,
+                                  int maxAttempts,
+                                  Duration initialBackoff,
+                                  Duration maxBackoff) {
+}
@@ -0,0 +1,52 @@
+package fr.hoenheimsports.contactservice.config;
+
+import fr.hoenheimsports.contactservice.dto.RootResponse;
+import fr.hoenheimsports.contactservice.model.QueuedEmail;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection and resource hints of the native image, built with {@code -Pnative}.
+ *
+ * <p>Spring HATEOAS, springdoc and the Eureka client ship their own hints, only what they cannot
+ * infer is registered here:</p>
+ * <ul>
+ *     <li>JavaMail, which finds its SMTP transports and content handlers in {@code META-INF}
+ *     resources and instantiates them by reflection;</li>
+ *     <li>the notification templates, whose names come from the configuration;</li>
+ *     <li>the queued emails, serialized to the spool directory, and the content of the root
+ *     {@code EntityModel}.</li>
+ * </ul>
+ *
+ * <p>The loki4j appender and the Eureka registry payloads are registered by
+ * {@code CommonNativeHints} of service-common.</p>
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String ANGUS_MAIL_PACKAGE = "org.eclipse.angus.mail";
+    private static final String[] MAIL_TRANSPORTS = {"smtp.SMTPTransport", "smtp.SMTPSSLTransport"};
+    private static final String[] MAIL_CONTENT_HANDLERS = {"text_plain", "text_html", "text_xml",
+            "multipart_mixed", "message_rfc822"};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("META-INF/javamail.*");
+        hints.resources().registerPattern("META-INF/mailcap*");
+        for (String transport : MAIL_TRANSPORTS) {
+            hints.reflection().registerType(TypeReference.of(ANGUS_MAIL_PACKAGE + "." + transport),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        for (String handler : MAIL_CONTENT_HANDLERS) {
+            hints.reflection().registerType(TypeReference.of(ANGUS_MAIL_PACKAGE + ".handlers." + handler),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        hints.resources().registerPattern("mail/*/*");
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                QueuedEmail.class, RootResponse.class);
+    }
+}
@@ -0,0 +1,49 @@
+package fr.hoenheimsports.contactservice.config;
+
+import fr.hoenheimsports.contactservice.service.NotificationRouterImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationConfig {
+
+    private static final String REFRESH_ENABLED = "spring.cloud.refresh.enabled";
+
+    /**
+     * Router rebuilt by the refresh scope when the routing configuration changes.
+     */
+    @Bean
+    @RefreshScope
+    @ConditionalOnProperty(name = REFRESH_ENABLED, matchIfMissing = true)
+    public NotificationRouterImpl notificationRouter(Environment environment) {
+        return new NotificationRouterImpl(environment);
+    }
+
+    /**
+     * Router built once when the refresh is disabled, as in the native image, where the refresh
+     * scope does not exist.
+     */
+    @Bean
+    @ConditionalOnProperty(name = REFRESH_ENABLED, havingValue = "false")
+    public NotificationRouterImpl staticNotificationRouter(Environment environment) {
+        return new NotificationRouterImpl(environment);
+    }
+
+    /**
+     * Executor of the fan-out of a notification to its recipients. The sends mostly wait on the
+     * SMTP server, so each one gets its own virtual thread; the concurrency is bounded by the SMTP
+     * connection pool.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService notificationExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-", 0).factory());
+    }
+}
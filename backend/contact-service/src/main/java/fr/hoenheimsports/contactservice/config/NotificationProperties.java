@@ -0,0 +1,36 @@
+package fr.hoenheimsports.contactservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configuration of the routing of the contact form notifications.
+ *
+ * <p>Every route whose criteria match the submission adds its recipients. A route without
+ * criteria matches every submission. When no route matches, the notification is sent to the
+ * default recipients.</p>
+ *
+ * @param defaultRecipients Recipients of the submissions no route matches
+ * @param defaultTemplate   Template used by the default recipients and by the routes without template
+ * @param routes            Routing rules
+ */
+@ConfigurationProperties(prefix = NotificationProperties.PREFIX)
+public record NotificationProperties(List<String> defaultRecipients,
+                                     String defaultTemplate,
+                                     @DefaultValue List<Route> routes) {
+
+    public static final String PREFIX = "custom.notification";
+
+    /**
+     * A routing rule.
+     *
+     * @param topic      Topic of the submissions matched by the rule, any topic if null
+     * @param team       Team of the submissions matched by the rule, any team if null
+     * @param recipients Recipients of the matched submissions
+     * @param template   Template of the message, the default template if null
+     */
+    public record Route(String topic, String team, List<String> recipients, String template) {
+    }
+}
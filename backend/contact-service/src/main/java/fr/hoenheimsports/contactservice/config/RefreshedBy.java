@@ -0,0 +1,27 @@
+package fr.hoenheimsports.contactservice.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the configuration properties a {@code @RefreshScope} bean is built from.
+ *
+ * <p>When a pushed configuration change is applied, the bean is rebuilt only if one of the changed
+ * properties is under one of these prefixes. A refresh-scoped bean without this annotation is
+ * rebuilt on every change.</p>
+ *
+ * @see ConfigChangeSubscriber
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RefreshedBy {
+
+    /**
+     * @return The prefixes of the properties the bean depends on
+     */
+    String[] value();
+}
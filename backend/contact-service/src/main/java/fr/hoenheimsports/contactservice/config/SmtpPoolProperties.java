@@ -0,0 +1,23 @@
+package fr.hoenheimsports.contactservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the pool of SMTP connections.
+ *
+ * @param maxSize                  Maximum number of open SMTP connections
+ * @param borrowTimeout            Maximum time to wait for a free connection when the pool is exhausted
+ * @param idleTimeout              Idle time after which a pooled connection is closed instead of reused
+ * @param validationInterval       Idle time after which a pooled connection is checked with a {@code NOOP}
+ *                                 before being reused, the server may have dropped it
+ * @param maxMessagesPerConnection Number of messages after which a connection is recycled
+ */
+@ConfigurationProperties(prefix = "custom.smtp-pool")
+public record SmtpPoolProperties(int maxSize,
+                                 Duration borrowTimeout,
+                                 Duration idleTimeout,
+                                 Duration validationInterval,
+                                 int maxMessagesPerConnection) {
+}
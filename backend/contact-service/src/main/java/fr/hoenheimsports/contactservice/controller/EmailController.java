@@ -3,6 +3,7 @@ package fr.hoenheimsports.contactservice.controller;
 import fr.hoenheimsports.contactservice.dto.EmailRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,17 +25,19 @@ public interface EmailController {
      * 
      * <p>This endpoint accepts an EmailRequest containing the sender's information
      * and message content, then forwards it to the appropriate service for processing.
-     * No content is returned upon successful completion.</p>
+     * The email is queued and delivered asynchronously, no content is returned once it is accepted.</p>
      * 
      * @param emailRequest The request containing the sender's email, name, and message
-     * @return A ResponseEntity with HTTP status 204 (No Content) if the email was sent successfully
+     * @param request      The HTTP request, used to identify the client
+     * @return A ResponseEntity with HTTP status 202 (Accepted) once the email is queued
      */
     @PostMapping("/sendEmail")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @Operation(
             summary = "Send an email",
             description = "This endpoint allows sending an email by providing the sender's name, email address, and message."
     )
-    @ApiResponse(responseCode = "204", description = "Email successfully sent.")
-    ResponseEntity<Void> sendEmail(@Valid @RequestBody EmailRequest emailRequest);
+    @ApiResponse(responseCode = "202", description = "Email accepted for delivery.")
+    @ApiResponse(responseCode = "429", description = "Too many emails sent by the client or the sender, or duplicated message.")
+    ResponseEntity<Void> sendEmail(@Valid @RequestBody EmailRequest emailRequest, HttpServletRequest request);
 }
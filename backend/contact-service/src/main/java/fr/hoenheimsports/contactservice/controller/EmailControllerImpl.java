@@ -1,10 +1,13 @@
 package fr.hoenheimsports.contactservice.controller;
 
+import fr.hoenheimsports.contactservice.config.ContactThrottleProperties;
 import fr.hoenheimsports.contactservice.dto.EmailRequest;
 import fr.hoenheimsports.contactservice.dto.RootResponse;
+import fr.hoenheimsports.contactservice.service.ContactThrottleService;
 import fr.hoenheimsports.contactservice.service.EmailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.hateoas.EntityModel;
@@ -38,12 +41,27 @@ public class EmailControllerImpl implements EmailController {
     private final EmailService emailService;
 
     /**
-     * Constructs a new EmailControllerImpl with the specified EmailService.
+     * The service rejecting floods and repeated messages.
+     */
+    private final ContactThrottleService contactThrottleService;
+
+    /**
+     * The number of reverse proxies appending to X-Forwarded-For in front of the service.
+     */
+    private final int trustedProxies;
+
+    /**
+     * Constructs a new EmailControllerImpl with the specified services.
      *
-     * @param emailService The service to use for sending emails
+     * @param emailService              The service to use for sending emails
+     * @param contactThrottleService    The service rejecting floods and repeated messages
+     * @param contactThrottleProperties The throttling configuration
      */
-    public EmailControllerImpl(EmailService emailService) {
+    public EmailControllerImpl(EmailService emailService, ContactThrottleService contactThrottleService,
+                               ContactThrottleProperties contactThrottleProperties) {
         this.emailService = emailService;
+        this.contactThrottleService = contactThrottleService;
+        this.trustedProxies = contactThrottleProperties.trustedProxies();
     }
 
     /**
@@ -51,30 +69,34 @@ public class EmailControllerImpl implements EmailController {
      *
      * <p>This endpoint accepts an EmailRequest containing the sender's information
      * and message content, then forwards it to the EmailService for processing.
-     * No content is returned upon successful completion.</p>
+     * The email is queued and delivered asynchronously, no content is returned once it is accepted.</p>
      *
      * <p>The request is validated to ensure all required fields are present and properly formatted.
      * If validation fails, a ConstraintViolationException is thrown.</p>
      *
      * @param emailRequest The request containing the sender's email, name, and message
-     * @return A ResponseEntity with HTTP status 204 (No Content) if the email was sent successfully
+     * @param request      The HTTP request, used to identify the client
+     * @return A ResponseEntity with HTTP status 202 (Accepted) once the email is queued
+     * @throws fr.hoenheimsports.contactservice.exception.ContactRateLimitedException if the submission is throttled
      * @throws jakarta.validation.ConstraintViolationException                    if the provided request fails validation
      * @throws org.springframework.http.converter.HttpMessageNotReadableException if the request body is improperly formatted or missing
      */
     @PostMapping("/sendEmail")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @Operation(
             summary = "Send an email",
             description = "This endpoint allows sending an email by providing the sender's name, email address, and message."
     )
-    @ApiResponse(responseCode = "204", description = "Email successfully sent.")
+    @ApiResponse(responseCode = "202", description = "Email accepted for delivery.")
+    @ApiResponse(responseCode = "429", description = "Too many emails sent by the client or the sender, or duplicated message.")
     @Override
-    public ResponseEntity<Void> sendEmail(@Valid @RequestBody EmailRequest emailRequest) {
+    public ResponseEntity<Void> sendEmail(@Valid @RequestBody EmailRequest emailRequest, HttpServletRequest request) {
         log.info("Réception d'une requête d'envoi d'email de {} <{}>", emailRequest.name(), emailRequest.email());
         log.debug("Contenu du message: {}", emailRequest.message());
+        this.contactThrottleService.checkSubmission(clientAddress(request), emailRequest);
         this.emailService.sendEmail(emailRequest);
-        log.info("Traitement de la requête d'email terminé avec succès");
-        return ResponseEntity.noContent().build();
+        log.info("Requête d'email acceptée");
+        return ResponseEntity.accepted().build();
     }
 
     @GetMapping()
@@ -82,11 +104,24 @@ public class EmailControllerImpl implements EmailController {
         var entity = EntityModel.of(new RootResponse());
         entity.add(Link.of("/api").withSelfRel().andAffordances(
                 List.of(
-                        afford(methodOn(EmailControllerImpl.class).sendEmail(new EmailRequest("test@test.fr", "test", "test"))), afford(methodOn(EmailControllerImpl.class).sendEmail(new EmailRequest("test@test.fr", "test", "test")))
+                        afford(methodOn(EmailControllerImpl.class).sendEmail(new EmailRequest("test@test.fr", "test", "test"), null)), afford(methodOn(EmailControllerImpl.class).sendEmail(new EmailRequest("test@test.fr", "test", "test"), null))
                 )));
 
         return ResponseEntity.ok(entity);
     }
 
+    /**
+     * Resolves the client address from the X-Forwarded-For entry added by the outermost trusted proxy,
+     * the entries before it being under the control of the client.
+     */
+    private String clientAddress(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank() || trustedProxies < 1) {
+            return request.getRemoteAddr();
+        }
+        String[] addresses = forwardedFor.split(",");
+        return addresses[Math.max(0, addresses.length - trustedProxies)].strip();
+    }
+
 
 }
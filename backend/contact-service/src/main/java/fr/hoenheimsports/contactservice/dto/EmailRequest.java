@@ -13,6 +13,8 @@ import jakarta.validation.constraints.Size;
  *     <li>{@code email}: The sender's email address. It must be a valid email and cannot be blank.</li>
  *     <li>{@code name}: The sender's name. It must have a length between 3 and 50 characters and cannot be blank.</li>
  *     <li>{@code message}: The content of the email. It must have a length between 10 and 1000 characters and cannot be blank.</li>
+ *     <li>{@code topic}: The optional subject category chosen by the sender, used to route the notification.</li>
+ *     <li>{@code team}: The optional team the message is about, used to route the notification.</li>
  * </ul>
  * Instances of this record are used as the request payload in the email sending endpoint.
  */
@@ -31,6 +33,21 @@ public record EmailRequest(
         @NotBlank(message = "The message field cannot be empty")
         @Size(min = 10, max = 1000, message = "The message must be between 10 and 1000 characters")
         @Schema(description = "The content of the email message", example = "Hello, I would like more information about your services.")
-        String message) {
+        String message,
+
+        @Size(max = 50, message = "The topic must be at most 50 characters")
+        @Schema(description = "The optional category of the message, used to route it", example = "inscription", nullable = true)
+        String topic,
+
+        @Size(max = 50, message = "The team must be at most 50 characters")
+        @Schema(description = "The optional team the message is about, used to route it", example = "U13", nullable = true)
+        String team) {
+
+    /**
+     * Creates a request without topic nor team, routed to the default recipients.
+     */
+    public EmailRequest(String email, String name, String message) {
+        this(email, name, message, null, null);
+    }
 }
 
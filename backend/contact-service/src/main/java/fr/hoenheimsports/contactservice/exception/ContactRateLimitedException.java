@@ -0,0 +1,27 @@
+package fr.hoenheimsports.contactservice.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a contact form submission is rejected by the rate limiter or the
+ * duplicate detector. It is rendered as a 429 response with a {@code Retry-After} header.
+ */
+public class ContactRateLimitedException extends ErrorResponseException {
+
+    public ContactRateLimitedException(String detail, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, problemDetail(detail), null);
+        getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+    }
+
+    private static ProblemDetail problemDetail(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
+        problemDetail.setTitle("Trop de demandes de contact");
+        problemDetail.setDetail(detail);
+        return problemDetail;
+    }
+}
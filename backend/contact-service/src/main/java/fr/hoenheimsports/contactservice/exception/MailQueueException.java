@@ -0,0 +1,10 @@
+package fr.hoenheimsports.contactservice.exception;
+
+/**
+ * Exception thrown when an email cannot be written to or updated in the outgoing mail queue.
+ */
+public class MailQueueException extends RuntimeException {
+    public MailQueueException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,35 @@
+package fr.hoenheimsports.contactservice.model;
+
+import fr.hoenheimsports.contactservice.exception.EmailException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of the delivery of a notification to its recipients.
+ *
+ * @param failures The delivery error of each recipient which did not get the notification
+ */
+public record DeliveryResult(Map<Recipient, EmailException> failures) {
+
+    /**
+     * @return true if every recipient got the notification
+     */
+    public boolean isSent() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return The recipients which did not get the notification
+     */
+    public List<Recipient> failedRecipients() {
+        return List.copyOf(failures.keySet());
+    }
+
+    /**
+     * @return One of the delivery errors, null if the notification was sent
+     */
+    public EmailException error() {
+        return failures.values().stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,14 @@
+package fr.hoenheimsports.contactservice.model;
+
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+
+import java.util.List;
+
+/**
+ * A contact form submission to send to its routed recipients.
+ *
+ * @param request    The contact form submission
+ * @param recipients The recipients of the notification
+ */
+public record Notification(EmailRequest request, List<Recipient> recipients) {
+}
@@ -0,0 +1,60 @@
+package fr.hoenheimsports.contactservice.model;
+
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An email waiting in the outgoing mail queue, as stored in the spool directory.
+ *
+ * @param id            Unique identifier of the queued email, also the name of its spool file
+ * @param request       The contact form submission to deliver
+ * @param recipients    The recipients still to deliver, null until the submission is routed
+ * @param enqueuedAt    When the email was accepted
+ * @param attempts      Number of failed delivery attempts
+ * @param nextAttemptAt When the next delivery attempt is due
+ * @param lastError     The error of the last failed attempt, null before the first attempt
+ */
+public record QueuedEmail(String id,
+                          EmailRequest request,
+                          List<Recipient> recipients,
+                          Instant enqueuedAt,
+                          int attempts,
+                          Instant nextAttemptAt,
+                          String lastError) {
+
+    /**
+     * Creates a new email, due immediately.
+     *
+     * @param request The contact form submission to deliver
+     * @return The new queued email
+     */
+    public static QueuedEmail of(EmailRequest request) {
+        Instant now = Instant.now();
+        return new QueuedEmail(UUID.randomUUID().toString(), request, null, now, 0, now, null);
+    }
+
+    /**
+     * Returns a copy of this email after a failed attempt.
+     *
+     * @param nextAttemptAt When the next attempt is due
+     * @param error         The error of the failed attempt
+     * @return The updated queued email
+     */
+    public QueuedEmail withFailure(Instant nextAttemptAt, String error) {
+        return new QueuedEmail(id, request, recipients, enqueuedAt, attempts + 1, nextAttemptAt, error);
+    }
+
+    /**
+     * Returns a copy of this email restricted to the given recipients, so that a retry does not
+     * send the notification again to the recipients who already got it.
+     *
+     * @param recipients The recipients still to deliver
+     * @return The updated queued email
+     */
+    public QueuedEmail withRecipients(List<Recipient> recipients) {
+        return new QueuedEmail(id, request, List.copyOf(recipients), enqueuedAt, attempts, nextAttemptAt, lastError);
+    }
+}
@@ -0,0 +1,10 @@
+package fr.hoenheimsports.contactservice.model;
+
+/**
+ * A recipient of a notification, with the template of the message it receives.
+ *
+ * @param address  The email address of the recipient
+ * @param template The name of the message template
+ */
+public record Recipient(String address, String template) {
+}
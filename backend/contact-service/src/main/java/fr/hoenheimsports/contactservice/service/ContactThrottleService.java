@@ -0,0 +1,21 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+
+/**
+ * Service interface protecting the contact form against floods and repeated messages.
+ *
+ * @since 1.0
+ */
+public interface ContactThrottleService {
+
+    /**
+     * Checks that a contact form submission may be accepted, and records it if so.
+     *
+     * @param clientAddress The address of the client which submitted the form
+     * @param emailRequest  The submitted form
+     * @throws fr.hoenheimsports.contactservice.exception.ContactRateLimitedException if the client or the
+     *         sender submitted too many forms, or if the message was already received recently
+     */
+    void checkSubmission(String clientAddress, EmailRequest emailRequest);
+}
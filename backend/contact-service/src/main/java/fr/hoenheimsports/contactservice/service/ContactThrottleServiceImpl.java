@@ -0,0 +1,136 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.ContactThrottleProperties;
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+import fr.hoenheimsports.contactservice.exception.ContactRateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the ContactThrottleService interface keeping its state in memory.
+ *
+ * <p>Each client address and each sender email address gets a token bucket, so that a short
+ * burst is allowed but a sustained flood is not. Messages are compared by a hash of their
+ * normalized content: the same message is rejected as long as it keeps being submitted within
+ * {@link ContactThrottleProperties#duplicateWindow()}, whoever sends it.</p>
+ *
+ * <p>All the structures are bounded by {@link ContactThrottleProperties#maxTrackedKeys()}, the
+ * least recently seen entries being forgotten first, so a flood of distinct addresses cannot
+ * exhaust the memory.</p>
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class ContactThrottleServiceImpl implements ContactThrottleService {
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final ContactThrottleProperties contactThrottleProperties;
+    private final Map<String, TokenBucket> addressBuckets;
+    private final Map<String, TokenBucket> senderBuckets;
+
+    /**
+     * Hashes of the recent messages with the time they were last submitted, in submission order.
+     */
+    private final LinkedHashMap<String, Long> recentMessages = new LinkedHashMap<>();
+
+    private final Counter addressRejections;
+    private final Counter senderRejections;
+    private final Counter duplicateRejections;
+
+    public ContactThrottleServiceImpl(ContactThrottleProperties contactThrottleProperties, MeterRegistry meterRegistry) {
+        this.contactThrottleProperties = contactThrottleProperties;
+        this.addressBuckets = boundedMap(contactThrottleProperties.maxTrackedKeys());
+        this.senderBuckets = boundedMap(contactThrottleProperties.maxTrackedKeys());
+        this.addressRejections = meterRegistry.counter("contact.submissions.rejected", "reason", "address");
+        this.senderRejections = meterRegistry.counter("contact.submissions.rejected", "reason", "sender");
+        this.duplicateRejections = meterRegistry.counter("contact.submissions.rejected", "reason", "duplicate");
+    }
+
+    @Override
+    public void checkSubmission(String clientAddress, @NonNull EmailRequest emailRequest) {
+        long now = System.nanoTime();
+        if (clientAddress != null) {
+            consume(addressBuckets, clientAddress, contactThrottleProperties.perAddress(), now, addressRejections,
+                    "Trop de messages envoyés depuis cette adresse, veuillez réessayer plus tard.");
+        }
+        consume(senderBuckets, emailRequest.email().trim().toLowerCase(Locale.ROOT), contactThrottleProperties.perSender(),
+                now, senderRejections, "Trop de messages envoyés avec cette adresse e-mail, veuillez réessayer plus tard.");
+        checkDuplicate(hash(emailRequest.message()), now);
+    }
+
+    private void consume(Map<String, TokenBucket> buckets, String key, ContactThrottleProperties.Bucket bucket,
+                         long now, Counter rejections, String detail) {
+        long wait = buckets.computeIfAbsent(key, k -> new TokenBucket(bucket, now)).tryConsume(now);
+        if (wait > 0) {
+            log.warn("Demande de contact refusée pour {}: limite atteinte", key);
+            rejections.increment();
+            throw new ContactRateLimitedException(detail, Duration.ofNanos(wait));
+        }
+    }
+
+    private void checkDuplicate(String hash, long now) {
+        long window = contactThrottleProperties.duplicateWindow().toNanos();
+        Long lastSeen;
+        synchronized (recentMessages) {
+            Iterator<Long> oldest = recentMessages.values().iterator();
+            while (oldest.hasNext() && now - oldest.next() > window) {
+                oldest.remove();
+            }
+            // Re-inserted to keep the submission order, a repeated message extends its own window
+            lastSeen = recentMessages.remove(hash);
+            recentMessages.put(hash, now);
+            if (recentMessages.size() > contactThrottleProperties.maxTrackedKeys()) {
+                recentMessages.pollFirstEntry();
+            }
+        }
+        if (lastSeen != null) {
+            log.warn("Demande de contact refusée: message identique reçu récemment");
+            duplicateRejections.increment();
+            throw new ContactRateLimitedException("Ce message a déjà été reçu.",
+                    contactThrottleProperties.duplicateWindow());
+        }
+    }
+
+    /**
+     * Hash of the message ignoring the case, the accents and the whitespaces, so that trivial
+     * variations of a spam are still detected.
+     */
+    private static String hash(String message) {
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(message, Normalizer.Form.NFKD)).replaceAll("");
+        normalized = WHITESPACES.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+
+    private static <V> Map<String, V> boundedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+}
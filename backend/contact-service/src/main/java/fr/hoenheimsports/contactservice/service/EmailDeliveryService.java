@@ -0,0 +1,37 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.model.DeliveryResult;
+import fr.hoenheimsports.contactservice.model.Notification;
+
+import java.util.List;
+
+/**
+ * Service interface for delivering emails to the SMTP server.
+ *
+ * <p>This interface defines the synchronous delivery used by the workers of the
+ * outgoing mail queue. Clients must go through {@link EmailService} instead.</p>
+ *
+ * @since 1.0
+ */
+public interface EmailDeliveryService {
+
+    /**
+     * Builds the notification email of a contact form submission from the template of each
+     * recipient and sends it to the recipients.
+     *
+     * @param notification The submission and its recipients
+     * @return The outcome of the delivery
+     */
+    DeliveryResult deliver(Notification notification);
+
+    /**
+     * Delivers several notifications at once, the messages of every recipient being sent
+     * concurrently.
+     *
+     * <p>A failed message does not prevent the delivery of the other ones.</p>
+     *
+     * @param notifications The notifications to deliver
+     * @return The outcome of each notification, in the order of the notifications
+     */
+    List<DeliveryResult> deliverAll(List<Notification> notifications);
+}
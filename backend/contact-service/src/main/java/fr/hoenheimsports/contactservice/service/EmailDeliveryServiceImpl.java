@@ -0,0 +1,161 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+import fr.hoenheimsports.contactservice.exception.EmailException;
+import fr.hoenheimsports.contactservice.model.DeliveryResult;
+import fr.hoenheimsports.contactservice.model.Notification;
+import fr.hoenheimsports.contactservice.model.Recipient;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Implementation of the EmailDeliveryService interface responsible for sending emails.
+ *
+ * <p>This service renders the message of each recipient from its cached template, then sends
+ * the messages concurrently on virtual threads, each one over a connection of the SMTP pool.
+ * The templates include a security warning to notify the recipient about the sender's identity
+ * for security purposes.</p>
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class EmailDeliveryServiceImpl implements EmailDeliveryService {
+
+
+    /**
+     * The mail sender service used to compose the emails.
+     */
+    private final JavaMailSender javaMailSender;
+
+    /**
+     * The pool of SMTP connections used to send the emails.
+     */
+    private final SmtpConnectionPool smtpConnectionPool;
+
+    /**
+     * The compiled notification templates.
+     */
+    private final NotificationTemplates notificationTemplates;
+
+    /**
+     * The executor running each send on its own virtual thread.
+     */
+    private final ExecutorService notificationExecutor;
+
+    /**
+     * A message to send to a recipient.
+     */
+    private record Delivery(int notification, Recipient recipient, EmailRequest request,
+                            NotificationTemplates.RenderedMessage message) {
+    }
+
+    /**
+     * Constructs a new EmailDeliveryServiceImpl.
+     *
+     * @param javaMailSender        The mail sender service used to compose the emails
+     * @param smtpConnectionPool    The pool of SMTP connections used to send the emails
+     * @param notificationTemplates The compiled notification templates
+     * @param notificationExecutor  The executor running each send on its own virtual thread
+     */
+    public EmailDeliveryServiceImpl(JavaMailSender javaMailSender, SmtpConnectionPool smtpConnectionPool,
+                                    NotificationTemplates notificationTemplates,
+                                    @Qualifier("notificationExecutor") ExecutorService notificationExecutor) {
+        this.javaMailSender = javaMailSender;
+        this.smtpConnectionPool = smtpConnectionPool;
+        this.notificationTemplates = notificationTemplates;
+        this.notificationExecutor = notificationExecutor;
+        log.debug("Initialisation du service d'envoi d'emails avec JavaMailSender");
+    }
+
+    @Override
+    public DeliveryResult deliver(@NonNull Notification notification) {
+        return deliverAll(List.of(notification)).getFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each template is rendered once per notification whatever its number of recipients. A
+     * connection on which a send failed is discarded, as its state is unknown.</p>
+     */
+    @Override
+    public List<DeliveryResult> deliverAll(@NonNull List<Notification> notifications) {
+        List<Delivery> deliveries = new ArrayList<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            Map<String, NotificationTemplates.RenderedMessage> rendered = new HashMap<>();
+            for (Recipient recipient : notification.recipients()) {
+                var message = rendered.computeIfAbsent(recipient.template(),
+                        template -> notificationTemplates.render(template, notification.request()));
+                deliveries.add(new Delivery(i, recipient, notification.request(), message));
+            }
+        }
+        log.info("Envoi de {} notification(s) à {} destinataire(s)", notifications.size(), deliveries.size());
+
+        List<CompletableFuture<EmailException>> sends = deliveries.stream()
+                .map(delivery -> CompletableFuture.supplyAsync(() -> send(delivery), notificationExecutor))
+                .toList();
+
+        List<Map<Recipient, EmailException>> failures = new ArrayList<>(notifications.size());
+        notifications.forEach(notification -> failures.add(new LinkedHashMap<>()));
+        for (int i = 0; i < deliveries.size(); i++) {
+            EmailException error = sends.get(i).join();
+            if (error != null) {
+                failures.get(deliveries.get(i).notification()).put(deliveries.get(i).recipient(), error);
+            }
+        }
+        return failures.stream().map(DeliveryResult::new).toList();
+    }
+
+    /**
+     * Sends one message.
+     *
+     * @return The delivery error, null if the message was sent
+     */
+    private EmailException send(Delivery delivery) {
+        var to = delivery.recipient().address();
+        var subject = delivery.message().subject();
+        SmtpConnectionPool.Lease lease = null;
+        try {
+            MimeMessage mimeMessage = createMessage(to, delivery.message());
+            lease = smtpConnectionPool.borrow();
+            log.debug("Envoi du message via la connexion SMTP du pool");
+            lease.send(mimeMessage);
+            lease.release();
+            log.info("E-mail de {} <{}> envoyé avec succès à {}", delivery.request().name(), delivery.request().email(), to);
+            return null;
+        } catch (MessagingException e) {
+            log.error("Erreur lors de l'envoi de l'e-mail à {} : {}", to, e.getMessage(), e);
+            if (lease != null) {
+                lease.invalidate();
+            }
+            return new EmailException(e, to, subject, delivery.request().message());
+        }
+    }
+
+    private MimeMessage createMessage(String to, NotificationTemplates.RenderedMessage message) throws MessagingException {
+        log.debug("Configuration du message: destinataire={}, sujet={}", to, message.subject());
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+        helper.setTo(to);
+        helper.setSubject(message.subject());
+        helper.setText(message.text(), message.html());
+        return mimeMessage;
+    }
+}
@@ -6,14 +6,16 @@ import fr.hoenheimsports.contactservice.dto.EmailRequest;
  * Service interface for sending emails.
  * 
  * <p>This interface defines the contract for sending emails based on the information
- * provided in an EmailRequest.</p>
+ * provided in an EmailRequest. The emails are delivered asynchronously.</p>
  * 
  * @since 1.0
  */
 public interface EmailService {
 
     /**
-     * Sends an email using the information provided in the EmailRequest.
+     * Accepts an email for delivery using the information provided in the EmailRequest.
+     *
+     * <p>The email is durably queued and delivered in the background, with retries.</p>
      * 
      * @param emailRequest The request containing the sender's email, name, and message
      */
@@ -0,0 +1,212 @@
+package fr.hoenheimsports.contactservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.hoenheimsports.contactservice.config.MailQueueProperties;
+import fr.hoenheimsports.contactservice.exception.MailQueueException;
+import fr.hoenheimsports.contactservice.model.QueuedEmail;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Durable queue of the outgoing emails, backed by a spool directory.
+ *
+ * <p>Each queued email is a JSON file in {@code pending/}, written to a temporary file, flushed to
+ * disk and atomically renamed, so that an accepted email survives a crash or a restart. The due
+ * emails are served from an in-memory delay queue, rebuilt from the spool directory at startup.
+ * Emails which exhausted their attempts are moved to {@code dead/} for manual inspection.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class MailQueue {
+
+    private static final String JSON_SUFFIX = ".json";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * Queued email scheduled at its next attempt time.
+     */
+    private record Scheduled(QueuedEmail email) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), email.nextAttemptAt()));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return email.nextAttemptAt().compareTo(((Scheduled) other).email.nextAttemptAt());
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Path pendingDirectory;
+    private final Path deadDirectory;
+    private final DelayQueue<Scheduled> scheduled = new DelayQueue<>();
+    private final AtomicLong deadLetters = new AtomicLong();
+
+    public MailQueue(MailQueueProperties mailQueueProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.pendingDirectory = mailQueueProperties.directory().resolve("pending");
+        this.deadDirectory = mailQueueProperties.directory().resolve("dead");
+        load();
+        meterRegistry.gauge("contact.mail.queue.depth", scheduled, DelayQueue::size);
+        meterRegistry.gauge("contact.mail.queue.dead", deadLetters, AtomicLong::get);
+    }
+
+    /**
+     * Writes a new email to the spool and schedules it for immediate delivery.
+     *
+     * @param email The email to queue
+     * @throws MailQueueException if the email cannot be written to the spool directory
+     */
+    public void enqueue(QueuedEmail email) {
+        write(pendingDirectory, email);
+        scheduled.offer(new Scheduled(email));
+        log.debug("E-mail {} mis en file d'attente ({} en attente)", email.id(), scheduled.size());
+    }
+
+    /**
+     * Waits for the next due email, then takes the other due emails up to the given batch size.
+     *
+     * @param timeout  The maximum time to wait for the first email
+     * @param maxBatch The maximum number of emails to return
+     * @return The due emails, empty if none became due before the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public List<QueuedEmail> pollBatch(Duration timeout, int maxBatch) throws InterruptedException {
+        Scheduled first = scheduled.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<Scheduled> batch = new ArrayList<>(maxBatch);
+        batch.add(first);
+        // DelayQueue.drainTo only transfers the expired elements
+        scheduled.drainTo(batch, maxBatch - 1);
+        return batch.stream().map(Scheduled::email).toList();
+    }
+
+    /**
+     * Removes a delivered email from the spool.
+     *
+     * @param email The delivered email
+     */
+    public void complete(QueuedEmail email) {
+        try {
+            Files.deleteIfExists(fileOf(pendingDirectory, email));
+        } catch (IOException e) {
+            // Worst case the email is delivered again after a restart
+            log.error("Impossible de supprimer l'e-mail {} de la file d'attente: {}", email.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Records a failed attempt and schedules the email for a later attempt.
+     *
+     * @param email The email whose delivery failed
+     * @param delay The delay before the next attempt
+     * @param error The error of the failed attempt
+     */
+    public void retry(QueuedEmail email, Duration delay, String error) {
+        QueuedEmail failed = email.withFailure(Instant.now().plus(delay), error);
+        try {
+            write(pendingDirectory, failed);
+        } catch (MailQueueException e) {
+            // The previous version of the file stays in the spool, the email is only retried earlier
+            log.error("Impossible de mettre à jour l'e-mail {} dans la file d'attente: {}", email.id(), e.getMessage());
+        }
+        scheduled.offer(new Scheduled(failed));
+    }
+
+    /**
+     * Moves an email which exhausted its attempts to the dead-letter directory.
+     *
+     * @param email The email whose delivery failed
+     * @param error The error of the last attempt
+     */
+    public void deadLetter(QueuedEmail email, String error) {
+        QueuedEmail failed = email.withFailure(Instant.now(), error);
+        try {
+            write(deadDirectory, failed);
+            Files.deleteIfExists(fileOf(pendingDirectory, email));
+            deadLetters.incrementAndGet();
+        } catch (IOException | MailQueueException e) {
+            log.error("Impossible de déplacer l'e-mail {} vers les lettres mortes: {}", email.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return The number of emails waiting for delivery or for a retry
+     */
+    public int depth() {
+        return scheduled.size();
+    }
+
+    private void write(Path directory, QueuedEmail email) {
+        Path target = fileOf(directory, email);
+        Path tmp = directory.resolve(email.id() + TMP_SUFFIX);
+        try {
+            byte[] content = objectMapper.writeValueAsBytes(email);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(content));
+                channel.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new MailQueueException("Impossible d'écrire l'e-mail %s dans %s".formatted(email.id(), directory), e);
+        }
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(pendingDirectory);
+            Files.createDirectories(deadDirectory);
+            try (Stream<Path> files = Files.list(pendingDirectory)) {
+                files.forEach(this::reload);
+            }
+            try (Stream<Path> files = Files.list(deadDirectory)) {
+                deadLetters.set(files.filter(file -> file.toString().endsWith(JSON_SUFFIX)).count());
+            }
+            log.info("File d'attente des e-mails chargée depuis {}: {} en attente, {} lettres mortes",
+                    pendingDirectory.getParent(), scheduled.size(), deadLetters.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'initialiser la file d'attente des e-mails", e);
+        }
+    }
+
+    private void reload(Path file) {
+        try {
+            if (file.toString().endsWith(TMP_SUFFIX)) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            scheduled.offer(new Scheduled(objectMapper.readValue(file.toFile(), QueuedEmail.class)));
+        } catch (IOException e) {
+            log.error("E-mail illisible ignoré dans la file d'attente: {} ({})", file, e.getMessage());
+        }
+    }
+
+    private static Path fileOf(Path directory, QueuedEmail email) {
+        return directory.resolve(email.id() + JSON_SUFFIX);
+    }
+}
@@ -0,0 +1,184 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.MailQueueProperties;
+import fr.hoenheimsports.contactservice.model.DeliveryResult;
+import fr.hoenheimsports.contactservice.model.Notification;
+import fr.hoenheimsports.contactservice.model.QueuedEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of workers draining the outgoing mail queue.
+ *
+ * <p>Each worker takes the next due emails from {@link MailQueue}, up to
+ * {@link MailQueueProperties#batchSize()}, routes them to their recipients and delivers them. A failed delivery
+ * is retried with an exponential backoff (with jitter, so that a burst of failures does not retry
+ * all at once) until {@link MailQueueProperties#maxAttempts()} is reached, then the email is
+ * dead-lettered. Only the recipients whose delivery failed are retried.</p>
+ *
+ * <p>The workers are started once the application context is ready and stopped gracefully: an
+ * email being delivered at shutdown is completed, the other ones stay in the spool directory. The
+ * workers are virtual threads when {@code spring.threads.virtual.enabled} is set.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class MailQueueWorker implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final MailQueue mailQueue;
+    private final EmailDeliveryService emailDeliveryService;
+    private final NotificationRouter notificationRouter;
+    private final MailQueueProperties mailQueueProperties;
+
+    private final Timer deliveredTimer;
+    private final Timer failedTimer;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+
+    private final boolean virtualThreads;
+
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    public MailQueueWorker(MailQueue mailQueue, EmailDeliveryService emailDeliveryService,
+                           NotificationRouter notificationRouter, MailQueueProperties mailQueueProperties,
+                           MeterRegistry meterRegistry,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        this.mailQueue = mailQueue;
+        this.emailDeliveryService = emailDeliveryService;
+        this.notificationRouter = notificationRouter;
+        this.mailQueueProperties = mailQueueProperties;
+        this.deliveredTimer = Timer.builder("contact.mail.send")
+                .description("Durée d'envoi des e-mails au serveur SMTP")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failedTimer = Timer.builder("contact.mail.send")
+                .description("Durée d'envoi des e-mails au serveur SMTP")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.retriedCounter = meterRegistry.counter("contact.mail.failures", "outcome", "retry");
+        this.deadLetteredCounter = meterRegistry.counter("contact.mail.failures", "outcome", "dead-letter");
+    }
+
+    @Override
+    public void start() {
+        log.info("Démarrage de {} workers d'envoi d'e-mails", mailQueueProperties.workers());
+        running = true;
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        workers = Executors.newFixedThreadPool(mailQueueProperties.workers(), threads.name("mail-worker-", 0).factory());
+        for (int i = 0; i < mailQueueProperties.workers(); i++) {
+            workers.submit(this::drain);
+        }
+    }
+
+    @Override
+    public void stop() {
+        log.info("Arrêt des workers d'envoi d'e-mails ({} e-mails en attente)", mailQueue.depth());
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                List<QueuedEmail> batch = mailQueue.pollBatch(POLL_TIMEOUT, mailQueueProperties.batchSize());
+                if (!batch.isEmpty()) {
+                    process(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erreur inattendue du worker d'envoi d'e-mails: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void process(List<QueuedEmail> batch) {
+        long start = System.nanoTime();
+        // Routed once, a retried email keeps the recipients which did not get it yet
+        List<QueuedEmail> routed = batch.stream()
+                .map(email -> email.recipients() != null ? email
+                        : email.withRecipients(notificationRouter.route(email.request())))
+                .toList();
+        List<DeliveryResult> results;
+        try {
+            results = emailDeliveryService.deliverAll(routed.stream()
+                    .map(email -> new Notification(email.request(), email.recipients()))
+                    .toList());
+        } catch (RuntimeException e) {
+            routed.forEach(email -> failed(email, e));
+            return;
+        }
+        // Each email of the batch is recorded with its share of the batch duration
+        long elapsed = (System.nanoTime() - start) / routed.size();
+        for (int i = 0; i < routed.size(); i++) {
+            QueuedEmail email = routed.get(i);
+            DeliveryResult result = results.get(i);
+            if (result.isSent()) {
+                deliveredTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                mailQueue.complete(email);
+                log.debug("E-mail {} envoyé après {} échecs", email.id(), email.attempts());
+            } else {
+                failedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                failed(email.withRecipients(result.failedRecipients()), result.error());
+            }
+        }
+    }
+
+    private void failed(QueuedEmail email, RuntimeException e) {
+        int attempts = email.attempts() + 1;
+        if (attempts >= mailQueueProperties.maxAttempts()) {
+            log.error("Abandon de l'e-mail {} après {} tentatives: {}", email.id(), attempts, e.getMessage());
+            deadLetteredCounter.increment();
+            mailQueue.deadLetter(email, e.getMessage());
+            return;
+        }
+        Duration delay = backoff(attempts);
+        log.warn("Échec de l'envoi de l'e-mail {} (tentative {}), nouvel essai dans {}: {}",
+                email.id(), attempts, delay, e.getMessage());
+        retriedCounter.increment();
+        mailQueue.retry(email, delay, e.getMessage());
+    }
+
+    /**
+     * Exponential backoff capped at {@link MailQueueProperties#maxBackoff()}, with a random
+     * reduction of up to 50% to spread the retries.
+     */
+    private Duration backoff(int attempts) {
+        long initial = mailQueueProperties.initialBackoff().toMillis();
+        long exponential = initial << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, mailQueueProperties.maxBackoff().toMillis());
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+}
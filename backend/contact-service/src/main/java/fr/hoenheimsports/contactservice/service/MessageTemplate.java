@@ -0,0 +1,81 @@
+package fr.hoenheimsports.contactservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Message template with {@code {{variable}}} placeholders, compiled once into a list of literal
+ * and variable segments so that rendering is a single pass without any parsing.
+ *
+ * @since 1.0
+ */
+final class MessageTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private record Segment(String text, boolean variable) {
+    }
+
+    private final List<Segment> segments;
+    private final int literalLength;
+
+    private MessageTemplate(List<Segment> segments) {
+        this.segments = List.copyOf(segments);
+        this.literalLength = segments.stream().filter(segment -> !segment.variable())
+                .mapToInt(segment -> segment.text().length()).sum();
+    }
+
+    /**
+     * Compiles a template.
+     *
+     * @param source The template source
+     * @return The compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed
+     */
+    static MessageTemplate compile(String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                segments.add(new Segment(source.substring(position), false));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Variable non fermée à la position " + open);
+            }
+            if (open > position) {
+                segments.add(new Segment(source.substring(position, open), false));
+            }
+            segments.add(new Segment(source.substring(open + OPEN.length(), close).strip(), true));
+            position = close + CLOSE.length();
+        }
+        return new MessageTemplate(segments);
+    }
+
+    /**
+     * Renders the template, the unknown variables being rendered empty.
+     *
+     * @param variables The values of the variables
+     * @param escaper   The escaping applied to the values, not to the template itself
+     * @return The rendered message
+     */
+    String render(Map<String, String> variables, UnaryOperator<String> escaper) {
+        StringBuilder rendered = new StringBuilder(literalLength + 256);
+        for (Segment segment : segments) {
+            if (segment.variable()) {
+                String value = variables.get(segment.text());
+                if (value != null) {
+                    rendered.append(escaper.apply(value));
+                }
+            } else {
+                rendered.append(segment.text());
+            }
+        }
+        return rendered.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+import fr.hoenheimsports.contactservice.model.Recipient;
+
+import java.util.List;
+
+/**
+ * Service interface resolving the recipients of a contact form submission.
+ *
+ * @since 1.0
+ */
+public interface NotificationRouter {
+
+    /**
+     * Resolves the recipients of a submission from the routing rules.
+     *
+     * @param emailRequest The submission
+     * @return The recipients, each address appearing once
+     */
+    List<Recipient> route(EmailRequest emailRequest);
+}
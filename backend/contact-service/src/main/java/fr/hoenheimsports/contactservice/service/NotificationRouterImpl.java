@@ -0,0 +1,77 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.NotificationProperties;
+import fr.hoenheimsports.contactservice.config.RefreshedBy;
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+import fr.hoenheimsports.contactservice.model.Recipient;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementation of the NotificationRouter interface based on {@link NotificationProperties}.
+ *
+ * <p>The topic and team criteria are compared ignoring the case. When an address is the recipient
+ * of several matching routes, the template of the first route is used.</p>
+ *
+ * <p>The router is rebuilt when the routing configuration changes. As the
+ * {@link NotificationProperties} record cannot be rebound, the router binds its own copy from the
+ * current environment. The bean is declared in {@code NotificationConfig}, refresh-scoped unless
+ * the refresh is disabled, as in the native image. The default recipients resolve
+ * {@code custom.contact.email}, so a change of the contact address rebuilds the router too.</p>
+ *
+ * @since 1.0
+ */
+@RefreshedBy({NotificationProperties.PREFIX, NotificationRouterImpl.CONTACT_PREFIX})
+@Slf4j
+public class NotificationRouterImpl implements NotificationRouter {
+
+    /**
+     * Prefix of the contact address the default recipients are resolved from.
+     */
+    static final String CONTACT_PREFIX = "custom.contact";
+
+    private final NotificationProperties notificationProperties;
+    private final List<Recipient> defaultRecipients;
+
+    public NotificationRouterImpl(Environment environment) {
+        this.notificationProperties = Binder.get(environment)
+                .bindOrCreate(NotificationProperties.PREFIX, NotificationProperties.class);
+        this.defaultRecipients = notificationProperties.defaultRecipients().stream()
+                .map(address -> new Recipient(address, notificationProperties.defaultTemplate()))
+                .toList();
+        if (defaultRecipients.isEmpty()) {
+            throw new IllegalStateException("Aucun destinataire par défaut configuré pour les notifications");
+        }
+    }
+
+    @Override
+    public List<Recipient> route(@NonNull EmailRequest emailRequest) {
+        Map<String, Recipient> recipients = new LinkedHashMap<>();
+        for (NotificationProperties.Route route : notificationProperties.routes()) {
+            if (route.recipients() != null && matches(route.topic(), emailRequest.topic())
+                    && matches(route.team(), emailRequest.team())) {
+                String template = route.template() != null ? route.template() : notificationProperties.defaultTemplate();
+                route.recipients().forEach(address ->
+                        recipients.putIfAbsent(address.toLowerCase(Locale.ROOT), new Recipient(address, template)));
+            }
+        }
+        if (recipients.isEmpty()) {
+            log.debug("Aucune règle de routage pour le sujet {} et l'équipe {}, destinataires par défaut",
+                    emailRequest.topic(), emailRequest.team());
+            return defaultRecipients;
+        }
+        log.debug("Notification routée vers {} destinataire(s)", recipients.size());
+        return List.copyOf(recipients.values());
+    }
+
+    private static boolean matches(String criterion, String value) {
+        return criterion == null || criterion.equalsIgnoreCase(value);
+    }
+}
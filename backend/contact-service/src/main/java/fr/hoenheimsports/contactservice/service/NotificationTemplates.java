@@ -0,0 +1,107 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.NotificationProperties;
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Compiled cache of the notification templates.
+ *
+ * <p>A template named {@code name} is made of three classpath resources: {@code mail/name/subject.txt},
+ * {@code mail/name/body.txt} and {@code mail/name/body.html}. The templates referenced by the
+ * configuration are compiled at startup, so that a missing or broken template prevents the service
+ * from starting instead of failing each delivery.</p>
+ *
+ * <p>The available variables are {@code name}, {@code email}, {@code message}, {@code topic} and
+ * {@code team}. The values are HTML-escaped in the HTML body and stripped of line breaks in the
+ * subject.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class NotificationTemplates {
+
+    private static final String LOCATION = "classpath:mail/%s/%s";
+    private static final UnaryOperator<String> SUBJECT_ESCAPER = value -> value.replaceAll("[\\r\\n]+", " ");
+
+    /**
+     * A compiled template.
+     */
+    private record CompiledTemplate(MessageTemplate subject, MessageTemplate text, MessageTemplate html) {
+    }
+
+    /**
+     * A message rendered for a submission.
+     *
+     * @param subject The subject of the message
+     * @param text    The plain text body
+     * @param html    The HTML body
+     */
+    public record RenderedMessage(String subject, String text, String html) {
+    }
+
+    private final ResourceLoader resourceLoader;
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    public NotificationTemplates(ResourceLoader resourceLoader, NotificationProperties notificationProperties) {
+        this.resourceLoader = resourceLoader;
+        Stream.concat(Stream.of(notificationProperties.defaultTemplate()),
+                        notificationProperties.routes().stream().map(NotificationProperties.Route::template))
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(this::compiled);
+        log.info("{} modèle(s) de notification compilé(s)", templates.size());
+    }
+
+    /**
+     * Renders a template for a submission.
+     *
+     * @param template     The name of the template
+     * @param emailRequest The submission
+     * @return The rendered message
+     */
+    public RenderedMessage render(String template, EmailRequest emailRequest) {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("name", emailRequest.name());
+        variables.put("email", emailRequest.email());
+        variables.put("message", emailRequest.message());
+        variables.put("topic", emailRequest.topic());
+        variables.put("team", emailRequest.team());
+        CompiledTemplate compiled = compiled(template);
+        return new RenderedMessage(
+                compiled.subject().render(variables, SUBJECT_ESCAPER).strip(),
+                compiled.text().render(variables, UnaryOperator.identity()),
+                compiled.html().render(variables, HtmlUtils::htmlEscape));
+    }
+
+    private CompiledTemplate compiled(String template) {
+        return templates.computeIfAbsent(template, name -> new CompiledTemplate(
+                MessageTemplate.compile(load(name, "subject.txt")),
+                MessageTemplate.compile(load(name, "body.txt")),
+                MessageTemplate.compile(load(name, "body.html"))));
+    }
+
+    private String load(String template, String part) {
+        Resource resource = resourceLoader.getResource(LOCATION.formatted(template, part));
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Modèle de notification introuvable: " + resource.getDescription(), e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.SmtpPoolProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of connected and authenticated SMTP transports.
+ *
+ * <p>Opening an SMTP connection costs a TCP and a TLS handshake plus the {@code AUTH} exchange,
+ * which is much longer than sending a contact email. The transports are therefore kept open and
+ * reused for several messages, most recently used first so that the surplus connections age out.
+ * A connection is closed instead of being returned when it failed, when it has been idle longer
+ * than {@link SmtpPoolProperties#idleTimeout()} or once it sent
+ * {@link SmtpPoolProperties#maxMessagesPerConnection()} messages, as most servers limit both. A
+ * connection idle for more than {@link SmtpPoolProperties#validationInterval()} is checked first,
+ * and replaced by a new one if the server dropped it.</p>
+ *
+ * <p>The connections are opened with the session and the settings of the auto-configured
+ * {@link JavaMailSenderImpl}, so the usual {@code spring.mail.*} properties apply.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class SmtpConnectionPool {
+
+    /**
+     * A pooled connection, with its usage statistics.
+     */
+    private record PooledTransport(Transport transport, Instant lastUsedAt, int sent) {
+    }
+
+    private final JavaMailSenderImpl javaMailSender;
+    private final SmtpPoolProperties smtpPoolProperties;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final Counter openedCounter;
+
+    public SmtpConnectionPool(JavaMailSenderImpl javaMailSender, SmtpPoolProperties smtpPoolProperties,
+                              MeterRegistry meterRegistry) {
+        this.javaMailSender = javaMailSender;
+        this.smtpPoolProperties = smtpPoolProperties;
+        this.permits = new Semaphore(smtpPoolProperties.maxSize(), true);
+        this.openedCounter = meterRegistry.counter("contact.smtp.connections.opened");
+        meterRegistry.gauge("contact.smtp.pool.idle", idle, BlockingDeque::size);
+        meterRegistry.gauge("contact.smtp.pool.active", permits,
+                semaphore -> smtpPoolProperties.maxSize() - semaphore.availablePermits());
+    }
+
+    /**
+     * Takes a connection from the pool, opening a new one if no idle connection can be reused.
+     *
+     * <p>The returned lease must be either {@linkplain Lease#release() released} or
+     * {@linkplain Lease#invalidate() invalidated}, and must only be used by the calling thread.</p>
+     *
+     * @return A lease on a connected transport
+     * @throws MessagingException if no connection is available in time or the connection fails
+     */
+    public Lease borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(smtpPoolProperties.borrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Aucune connexion SMTP disponible après " + smtpPoolProperties.borrowTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Attente d'une connexion SMTP interrompue", e);
+        }
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isReusable(pooled)) {
+                    return new Lease(pooled);
+                }
+                close(pooled);
+            }
+            return new Lease(open());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the idle connections.
+     */
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private boolean isReusable(PooledTransport pooled) {
+        Duration idleFor = Duration.between(pooled.lastUsedAt(), Instant.now());
+        if (idleFor.compareTo(smtpPoolProperties.idleTimeout()) > 0) {
+            log.debug("Connexion SMTP inactive depuis {}, fermeture", idleFor);
+            return false;
+        }
+        // isConnected() sends a NOOP, only worth it when the server may have dropped the connection
+        return idleFor.compareTo(smtpPoolProperties.validationInterval()) < 0 || pooled.transport().isConnected();
+    }
+
+    private PooledTransport open() throws MessagingException {
+        log.debug("Ouverture d'une connexion SMTP vers {}:{}", javaMailSender.getHost(), javaMailSender.getPort());
+        Transport transport = javaMailSender.getSession().getTransport(
+                javaMailSender.getProtocol() == null ? JavaMailSenderImpl.DEFAULT_PROTOCOL : javaMailSender.getProtocol());
+        transport.connect(javaMailSender.getHost(), javaMailSender.getPort(),
+                javaMailSender.getUsername(), javaMailSender.getPassword());
+        openedCounter.increment();
+        return new PooledTransport(transport, Instant.now(), 0);
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport().close();
+        } catch (MessagingException e) {
+            log.debug("Erreur à la fermeture d'une connexion SMTP: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Exclusive use of a pooled connection by one thread.
+     */
+    public final class Lease {
+
+        private PooledTransport pooled;
+
+        private Lease(PooledTransport pooled) {
+            this.pooled = pooled;
+        }
+
+        /**
+         * Sends a message on the leased connection.
+         *
+         * @param mimeMessage The message to send
+         * @throws MessagingException if the message is rejected or the connection fails
+         */
+        public void send(MimeMessage mimeMessage) throws MessagingException {
+            if (mimeMessage.getSentDate() == null) {
+                mimeMessage.setSentDate(new Date());
+            }
+            mimeMessage.saveChanges();
+            pooled.transport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            pooled = new PooledTransport(pooled.transport(), Instant.now(), pooled.sent() + 1);
+        }
+
+        /**
+         * Returns the connection to the pool, or closes it if it reached its message limit.
+         */
+        public void release() {
+            if (pooled.sent() >= smtpPoolProperties.maxMessagesPerConnection()) {
+                log.debug("Connexion SMTP recyclée après {} messages", pooled.sent());
+                close(pooled);
+            } else {
+                idle.offerFirst(pooled);
+            }
+            permits.release();
+        }
+
+        /**
+         * Closes the connection after a failure, the next borrow opens a fresh one.
+         */
+        public void invalidate() {
+            close(pooled);
+            permits.release();
+        }
+    }
+}
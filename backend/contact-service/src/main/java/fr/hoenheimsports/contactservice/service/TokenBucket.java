@@ -0,0 +1,39 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.ContactThrottleProperties;
+
+/**
+ * Token bucket refilled continuously, the time being given by the caller in nanoseconds.
+ *
+ * @since 1.0
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long updatedAt;
+
+    TokenBucket(ContactThrottleProperties.Bucket bucket, long now) {
+        this.capacity = bucket.capacity();
+        this.tokensPerNano = bucket.capacity() / (double) bucket.period().toNanos();
+        this.tokens = capacity;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now The current time, from {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the time in nanoseconds until the next token
+     */
+    synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+        updatedAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
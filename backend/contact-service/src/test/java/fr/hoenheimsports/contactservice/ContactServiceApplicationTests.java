@@ -0,0 +1,13 @@
+package fr.hoenheimsports.contactservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ContactServiceApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,112 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.ContactThrottleProperties;
+import fr.hoenheimsports.contactservice.dto.EmailRequest;
+import fr.hoenheimsports.contactservice.exception.ContactRateLimitedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContactThrottleServiceImplTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsAnAddressOnceItsBucketIsEmpty() {
+        ContactThrottleServiceImpl contactThrottleService = service(2, 10, Duration.ofMinutes(10), 100);
+
+        contactThrottleService.checkSubmission("10.0.0.1", request("a@example.com", "Premier message"));
+        contactThrottleService.checkSubmission("10.0.0.1", request("b@example.com", "Deuxième message"));
+
+        assertThatThrownBy(() -> contactThrottleService.checkSubmission("10.0.0.1",
+                request("c@example.com", "Troisième message")))
+                .isInstanceOfSatisfying(ContactRateLimitedException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+                });
+        contactThrottleService.checkSubmission("10.0.0.2", request("c@example.com", "Troisième message"));
+        assertThat(rejections("address")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsASenderWhateverTheCaseOfItsAddress() {
+        ContactThrottleServiceImpl contactThrottleService = service(10, 1, Duration.ofMinutes(10), 100);
+
+        contactThrottleService.checkSubmission("10.0.0.1", request("john@example.com", "Premier message"));
+
+        assertThatThrownBy(() -> contactThrottleService.checkSubmission("10.0.0.2",
+                request(" John@Example.COM ", "Deuxième message")))
+                .isInstanceOf(ContactRateLimitedException.class);
+        assertThat(rejections("sender")).isEqualTo(1);
+    }
+
+    @Test
+    void skipsTheAddressBucketWithoutClientAddress() {
+        ContactThrottleServiceImpl contactThrottleService = service(1, 10, Duration.ofMinutes(10), 100);
+
+        contactThrottleService.checkSubmission(null, request("a@example.com", "Premier message"));
+        contactThrottleService.checkSubmission(null, request("b@example.com", "Deuxième message"));
+
+        assertThat(rejections("address")).isZero();
+    }
+
+    @Test
+    void rejectsTheSameMessageIgnoringCaseAccentsAndWhitespaces() {
+        ContactThrottleServiceImpl contactThrottleService = service(10, 10, Duration.ofMinutes(10), 100);
+
+        contactThrottleService.checkSubmission("10.0.0.1", request("a@example.com", "Gagnez un prix élevé"));
+
+        assertThatThrownBy(() -> contactThrottleService.checkSubmission("10.0.0.2",
+                request("b@example.com", "  GAGNEZ un\n prix   eleve ")))
+                .isInstanceOfSatisfying(ContactRateLimitedException.class,
+                        e -> assertThat(e.getBody().getDetail()).isEqualTo("Ce message a déjà été reçu."));
+        assertThat(rejections("duplicate")).isEqualTo(1);
+    }
+
+    @Test
+    void acceptsTheSameMessageAgainAfterTheDuplicateWindow() throws InterruptedException {
+        ContactThrottleServiceImpl contactThrottleService = service(10, 10, Duration.ofMillis(20), 100);
+
+        contactThrottleService.checkSubmission("10.0.0.1", request("a@example.com", "Message répété"));
+        Thread.sleep(100);
+        contactThrottleService.checkSubmission("10.0.0.1", request("a@example.com", "Message répété"));
+
+        assertThat(rejections("duplicate")).isZero();
+    }
+
+    @Test
+    void forgetsTheLeastRecentlySeenKeysBeyondTheBound() {
+        ContactThrottleServiceImpl contactThrottleService = service(1, 10, Duration.ofMinutes(10), 2);
+
+        contactThrottleService.checkSubmission("10.0.0.1", request("a@example.com", "Premier message"));
+        contactThrottleService.checkSubmission("10.0.0.2", request("b@example.com", "Deuxième message"));
+        contactThrottleService.checkSubmission("10.0.0.3", request("c@example.com", "Troisième message"));
+
+        // The bucket of the first address was evicted, it starts full again
+        contactThrottleService.checkSubmission("10.0.0.1", request("d@example.com", "Quatrième message"));
+        assertThat(rejections("address")).isZero();
+    }
+
+    private ContactThrottleServiceImpl service(int perAddress, int perSender, Duration duplicateWindow,
+                                               int maxTrackedKeys) {
+        return new ContactThrottleServiceImpl(new ContactThrottleProperties(
+                new ContactThrottleProperties.Bucket(perAddress, Duration.ofHours(1)),
+                new ContactThrottleProperties.Bucket(perSender, Duration.ofHours(1)),
+                duplicateWindow, maxTrackedKeys, 0), meterRegistry);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.counter("contact.submissions.rejected", "reason", reason).count();
+    }
+
+    private static EmailRequest request(String email, String message) {
+        return new EmailRequest(email, "John Doe", message);
+    }
+}
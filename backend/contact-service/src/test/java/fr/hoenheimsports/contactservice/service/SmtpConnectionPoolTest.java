@@ -0,0 +1,112 @@
+package fr.hoenheimsports.contactservice.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import fr.hoenheimsports.contactservice.config.SmtpPoolProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpConnectionPoolTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JavaMailSenderImpl javaMailSender;
+    private SmtpConnectionPool smtpConnectionPool;
+
+    @BeforeEach
+    void setUp() {
+        javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+        // Every reused connection is checked, so that a dropped connection is detected without waiting
+        smtpConnectionPool = new SmtpConnectionPool(javaMailSender,
+                new SmtpPoolProperties(2, Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ZERO, 100),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtpConnectionPool.close();
+    }
+
+    @Test
+    void reusesTheConnectionForConsecutiveMessages() throws MessagingException {
+        for (int i = 0; i < 3; i++) {
+            SmtpConnectionPool.Lease lease = smtpConnectionPool.borrow();
+            lease.send(message("Message " + i));
+            lease.release();
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(openedConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectsWhenThePooledConnectionIsStale() throws MessagingException {
+        SmtpConnectionPool.Lease first = smtpConnectionPool.borrow();
+        first.send(message("Avant la coupure"));
+        first.release();
+
+        // Restarting the server drops the connection left idle in the pool
+        greenMail.reset();
+
+        SmtpConnectionPool.Lease second = smtpConnectionPool.borrow();
+        second.send(message("Après la coupure"));
+        second.release();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Après la coupure");
+        assertThat(openedConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void opensANewConnectionAfterAnInvalidatedOne() throws MessagingException {
+        SmtpConnectionPool.Lease first = smtpConnectionPool.borrow();
+        first.invalidate();
+
+        SmtpConnectionPool.Lease second = smtpConnectionPool.borrow();
+        second.send(message("Après invalidation"));
+        second.release();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(openedConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void failsWhenNoConnectionIsFreeInTime() throws MessagingException {
+        smtpConnectionPool.borrow();
+        smtpConnectionPool.borrow();
+
+        assertThatThrownBy(smtpConnectionPool::borrow).isInstanceOf(MessagingException.class);
+    }
+
+    private MimeMessage message(String subject) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        message.setFrom(new InternetAddress("contact@localhost"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("club@localhost"));
+        message.setSubject(subject);
+        message.setText("Bonjour");
+        return message;
+    }
+
+    private double openedConnections() {
+        return meterRegistry.counter("contact.smtp.connections.opened").count();
+    }
+}
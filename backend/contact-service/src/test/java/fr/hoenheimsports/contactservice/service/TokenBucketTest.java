@@ -0,0 +1,45 @@
+package fr.hoenheimsports.contactservice.service;
+
+import fr.hoenheimsports.contactservice.config.ContactThrottleProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void allowsABurstOfTheCapacityThenGivesTheWaitForTheNextToken() {
+        TokenBucket bucket = new TokenBucket(new ContactThrottleProperties.Bucket(3, Duration.ofSeconds(3)), 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isCloseTo(SECOND, within(1L));
+        assertThat(bucket.tryConsume(SECOND / 2)).isCloseTo(SECOND / 2, within(1L));
+    }
+
+    @Test
+    void refillsContinuously() {
+        TokenBucket bucket = new TokenBucket(new ContactThrottleProperties.Bucket(2, Duration.ofSeconds(2)), 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND + 1_000)).isZero();
+        assertThat(bucket.tryConsume(SECOND + 1_000)).isPositive();
+    }
+
+    @Test
+    void neverHoldsMoreThanTheCapacity() {
+        TokenBucket bucket = new TokenBucket(new ContactThrottleProperties.Bucket(2, Duration.ofSeconds(2)), 0);
+        long later = Duration.ofHours(1).toNanos();
+
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
 }
 
 group = "fr.hoenheimsports"
@@ -20,6 +21,9 @@ repositories {
 extra["springCloudVersion"] = "2024.0.1"
 
 dependencies {
+    // Bibliothèque partagée (build inclus ../service-common)
+    implementation("fr.hoenheimsports:service-common:0.0.1-SNAPSHOT")
+
     // Spring Boot Core
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
@@ -50,3 +54,6 @@ dependencyManagement {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+apply(from = "../gradle/aot.gradle.kts")
+apply(from = "../gradle/native.gradle.kts")
@@ -1 +1,4 @@
 rootProject.name = "discovery-service"
+
+// Bibliothèque partagée par les services
+includeBuild("../service-common")
@@ -1,10 +1,13 @@
 package fr.hoenheimsports.discoveryservice;
 
+import fr.hoenheimsports.discoveryservice.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.netflix.eureka.server.EnableEurekaServer;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 @EnableEurekaServer
 public class DiscoveryServiceApplication {
 
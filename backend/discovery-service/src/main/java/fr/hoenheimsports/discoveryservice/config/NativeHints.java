@@ -0,0 +1,55 @@
+package fr.hoenheimsports.discoveryservice.config;
+
+import fr.hoenheimsports.common.nativeimage.CommonNativeHints;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.ext.Provider;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reflection and resource hints of the native image, built with {@code -Pnative}.
+ *
+ * <p>The Eureka server registers its Jersey resources and providers by scanning the
+ * {@code com.netflix.discovery} and {@code com.netflix.eureka} packages at startup. The same scan
+ * is done here at build time: each class found is registered for reflection and its class file
+ * included as a resource, so that the scan finds it again in the image. The replication payloads,
+ * serialized by reflection, and the dashboard templates are registered too; the loki4j appender
+ * and the registry payloads common to the Eureka clients are registered by
+ * {@link CommonNativeHints}.</p>
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] EUREKA_PACKAGES = {"com.netflix.discovery", "com.netflix.eureka"};
+    private static final String[] REPLICATION_TYPES = {"ReplicationList", "ReplicationInstance",
+            "ReplicationListResponse", "ReplicationInstanceResponse"};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Path.class));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Provider.class));
+        for (String basePackage : EUREKA_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                String type = candidate.getBeanClassName();
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.resources().registerPattern(ClassUtils.convertClassNameToResourcePath(type) + ClassUtils.CLASS_FILE_SUFFIX);
+            }
+        }
+
+        for (String type : REPLICATION_TYPES) {
+            CommonNativeHints.registerEurekaPayload(hints, TypeReference.of("com.netflix.eureka.cluster.protocol." + type));
+        }
+
+        hints.resources().registerPattern("templates/eureka/*.ftlh");
+        hints.resources().registerPattern("static/eureka/**");
+    }
+}
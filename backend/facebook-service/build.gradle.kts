@@ -28,6 +28,7 @@ repositories {
 extra["springCloudVersion"] = "2025.0.0"
 
 dependencies {
+    implementation("fr.hoenheimsports:service-common:0.0.1-SNAPSHOT") // Bibliothèque partagée (build inclus ../service-common)
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-hateoas")
@@ -39,6 +40,9 @@ dependencies {
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
     implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-resilience4j")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("io.github.resilience4j:resilience4j-spring-boot3") // Version du BOM Spring Cloud, comme le starter
+    implementation("io.github.resilience4j:resilience4j-micrometer")
     implementation("org.springframework.cloud:spring-cloud-starter-config")
     implementation("org.springframework.cloud:spring-cloud-starter-netflix-eureka-client")
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
@@ -81,3 +85,15 @@ dependencyManagement {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Propriétés du démarrage d'entraînement du cache AOT, sans les services dont il dépend
+extra["aotTrainingArgs"] = listOf(
+    "-Dspring.datasource.url=jdbc:postgresql://localhost:5432/aot-training",
+    "-Dspring.flyway.enabled=false",
+    "-Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+    "-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+    "-Dfacebook.api.client-id=aot-training",
+    "-Dfacebook.api.client-secret=aot-training",
+    "-Dfacebook.webhook.verify-token=aot-training",
+)
+apply(from = "../gradle/aot.gradle.kts")
@@ -5,3 +5,6 @@ pluginManagement {
     }
 }
 rootProject.name = "facebook-service"
+
+// Bibliothèque partagée par les services
+includeBuild("../service-common")
@@ -41,7 +41,7 @@ public class FeedAssemblerImpl extends AbstractAssembler<FeedEntity, EntityModel
         EntityModel<FeedDTOResponse> entityModel = EntityModel.of(feedDTOResponse);
         log.debug("Ajout des liens au modèle Feed");
         entityModel.add(
-                linkTo(methodOn(FeedControllerImpl.class).getFeeds(null)).withRel("feeds")
+                linkTo(methodOn(FeedControllerImpl.class).getFeeds(null, null)).withRel("feeds")
         );
         return entityModel;
     }
@@ -60,7 +60,7 @@ public class FeedAssemblerImpl extends AbstractAssembler<FeedEntity, EntityModel
                 .withSelfRel().andAffordances(createAffordance());
 
         collectionModel.add(selfLink);
-        collectionModel.add(getTemplatedAndPagedLink(linkTo(methodOn(FeedControllerImpl.class).getFeeds(null)).toUri().toString()));
+        collectionModel.add(getTemplatedAndPagedLink(linkTo(methodOn(FeedControllerImpl.class).getFeeds(null, null)).toUri().toString()));
         log.debug("Liens ajoutés à la collection de feeds");
 
         return super.toCollectionModel(entities);
@@ -78,10 +78,10 @@ public class FeedAssemblerImpl extends AbstractAssembler<FeedEntity, EntityModel
         // Add affordances and links to the paged model
         if (!pagedModel.hasLink("self")) {
             log.debug("Ajout du lien 'self' au modèle paginé");
-            pagedModel.add(linkTo(methodOn(FeedControllerImpl.class).getFeeds(page.getPageable())).withSelfRel());
+            pagedModel.add(linkTo(methodOn(FeedControllerImpl.class).getFeeds(null, page.getPageable())).withSelfRel());
         }
         pagedModel.mapLink(IanaLinkRelations.SELF, (link) -> link.andAffordances(createAffordance()));
-        pagedModel.add(getTemplatedAndPagedLink(linkTo(methodOn(FeedControllerImpl.class).getFeeds(null)).toUri().toString()));
+        pagedModel.add(getTemplatedAndPagedLink(linkTo(methodOn(FeedControllerImpl.class).getFeeds(null, null)).toUri().toString()));
         pagedModel.add(linkTo(methodOn(FeedControllerImpl.class).getAllFeeds()).withRel("allCoaches"));
         log.debug("Modèle paginé créé avec {} éléments", pagedModel.getContent().size());
         return pagedModel;
@@ -95,7 +95,7 @@ public class FeedAssemblerImpl extends AbstractAssembler<FeedEntity, EntityModel
         }
         log.debug("Utilisateur avec rôle ADMIN_ROLE, création de l'affordance d'échange de token");
         return List.of(
-                afford(methodOn(AccessTokenControllerImpl.class).exchangeToken(new AccessTokenDTORequest("accessToken")))
+                afford(methodOn(AccessTokenControllerImpl.class).exchangeToken(new AccessTokenDTORequest("pageId", "pageName", "accessToken")))
         );
     }
 }
@@ -13,9 +13,19 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Name of the cache holding the feed lists, partitioned by Graph API page id and patched in place by the webhooks.
+     */
+    public static final String FACEBOOK_FEEDS_CACHE = "facebookFeeds";
+
+    /**
+     * Name of the cache holding the enabled Facebook pages.
+     */
+    public static final String FACEBOOK_PAGES_CACHE = "facebookPages";
+
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("facebookFeeds");
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(FACEBOOK_FEEDS_CACHE, FACEBOOK_PAGES_CACHE);
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(24, TimeUnit.HOURS));
         return cacheManager;
@@ -0,0 +1,20 @@
+package fr.hoenheimsports.facebookservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the feed aggregation.
+ *
+ * @param sweepInterval       Interval of the full refresh of every page, catching up with missed webhook notifications
+ * @param refreshParallelism  Maximum number of pages fetched in parallel from the Graph API
+ * @param refreshQueueCapacity Maximum number of page fetches waiting for a thread, the caller fetches itself beyond it
+ * @param defaultPageId       Graph API id of the page of the token exchanges without page id
+ */
+@ConfigurationProperties(prefix = "facebook.feed")
+public record FeedProperties(Duration sweepInterval,
+                             int refreshParallelism,
+                             int refreshQueueCapacity,
+                             String defaultPageId) {
+}
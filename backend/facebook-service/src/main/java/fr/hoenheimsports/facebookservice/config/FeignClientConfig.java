@@ -1,5 +1,6 @@
 package fr.hoenheimsports.facebookservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.codec.ErrorDecoder;
 import fr.hoenheimsports.facebookservice.feignClient.FeignErrorDecoder;
 import org.springframework.context.annotation.Bean;
@@ -10,7 +11,7 @@ public class FeignClientConfig {
 
 
     @Bean
-    public ErrorDecoder errorDecoder() {
-        return new FeignErrorDecoder();
+    public ErrorDecoder errorDecoder(ObjectMapper objectMapper) {
+        return new FeignErrorDecoder(objectMapper);
     }
 }
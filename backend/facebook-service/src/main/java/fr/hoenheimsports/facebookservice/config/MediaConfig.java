@@ -0,0 +1,23 @@
+package fr.hoenheimsports.facebookservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@EnableConfigurationProperties(MediaProperties.class)
+public class MediaConfig {
+
+    /**
+     * Client used to download attachment images from the Facebook CDN.
+     */
+    @Bean
+    public RestClient mediaRestClient(RestClient.Builder builder, MediaProperties mediaProperties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(mediaProperties.downloadTimeout());
+        requestFactory.setReadTimeout(mediaProperties.downloadTimeout());
+        return builder.requestFactory(requestFactory).build();
+    }
+}
@@ -0,0 +1,29 @@
+package fr.hoenheimsports.facebookservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the feed attachment media proxy.
+ *
+ * @param cacheDirectory Directory where downloaded images and their resized variants are stored
+ * @param maxCacheSize   Maximum size of the disk cache, least recently used files are evicted beyond it
+ * @param maxSourceSize  Maximum size of an image downloaded from the Facebook CDN
+ * @param maxSourcePixels Maximum number of pixels (width times height) of an image decoded for resizing
+ * @param widths         Widths (in pixels) of the generated variants, requested widths are snapped to them
+ * @param maxAge         Lifetime advertised in the {@code Cache-Control} header of the served images
+ * @param downloadTimeout Connection and read timeout of the downloads from the Facebook CDN
+ */
+@ConfigurationProperties(prefix = "facebook.media")
+public record MediaProperties(Path cacheDirectory,
+                              DataSize maxCacheSize,
+                              DataSize maxSourceSize,
+                              long maxSourcePixels,
+                              List<Integer> widths,
+                              Duration maxAge,
+                              Duration downloadTimeout) {
+}
@@ -0,0 +1,80 @@
+package fr.hoenheimsports.facebookservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Enables the asynchronous handling of the webhook notifications and the scheduled
+ * full refresh of the feeds.
+ *
+ * <p>With {@code spring.threads.virtual.enabled}, the asynchronous tasks and the feed refreshes
+ * run on virtual threads, the refreshes still being limited to {@code refresh-parallelism}.</p>
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+@EnableConfigurationProperties(FeedProperties.class)
+public class SchedulingConfig {
+
+    /**
+     * Executor of the {@code @Async} methods. Declared explicitly because the feed refresh executor
+     * would otherwise be picked as the only {@link org.springframework.core.task.TaskExecutor}.
+     */
+    @Bean(name = AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor taskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.threadNamePrefix("async-").build();
+    }
+
+    /**
+     * Executor of the {@code @Async} methods, one virtual thread per task.
+     */
+    @Bean(name = AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualTaskExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.threadNamePrefix("async-").build();
+    }
+
+    /**
+     * Bounded executor fetching the feeds of the pages in parallel. When it is saturated, the
+     * calling thread fetches the page itself instead of failing.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor feedRefreshExecutor(FeedProperties feedProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("feed-refresh-");
+        executor.setCorePoolSize(feedProperties.refreshParallelism());
+        executor.setMaxPoolSize(feedProperties.refreshParallelism());
+        executor.setQueueCapacity(feedProperties.refreshQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Virtual-thread executor fetching the feeds of the pages in parallel. Above the parallelism
+     * limit, the submitting thread waits for a running fetch to complete.
+     */
+    @Bean(name = "feedRefreshExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualFeedRefreshExecutor(FeedProperties feedProperties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("feed-refresh-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(feedProperties.refreshParallelism());
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
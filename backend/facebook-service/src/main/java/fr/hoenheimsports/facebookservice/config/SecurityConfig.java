@@ -1,5 +1,9 @@
 package fr.hoenheimsports.facebookservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.hoenheimsports.common.identity.InternalIdentityAuthenticationFilter;
+import fr.hoenheimsports.common.identity.InternalIdentityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,13 +12,27 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableMethodSecurity
 @EnableWebSecurity
+@EnableConfigurationProperties(InternalIdentityProperties.class)
 public class SecurityConfig {
 
+    private final InternalIdentityProperties internalIdentityProperties;
+    private final ObjectMapper objectMapper;
+
+    public SecurityConfig(InternalIdentityProperties internalIdentityProperties, ObjectMapper objectMapper) {
+        this.internalIdentityProperties = internalIdentityProperties;
+        this.objectMapper = objectMapper;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -24,14 +42,39 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() //preflight request
                         .requestMatchers(HttpMethod.GET).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/webhook").permitAll() // notifications signées par Facebook
                         .anyRequest().authenticated() // Autoriser toutes les requêtes sans restriction
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .httpBasic(AbstractHttpConfigurer::disable) // Désactiver l'authentification HTTP Basic
                 .formLogin(AbstractHttpConfigurer::disable)
-                .oauth2ResourceServer(resourceServer -> resourceServer.jwt(jwtDecoder -> jwtDecoder.jwtAuthenticationConverter(new SimpleKeycloakJwtAuthenticationConverter()))); // Désactiver le formulaire de connexion
+                .oauth2ResourceServer(resourceServer -> resourceServer
+                        .bearerTokenResolver(bearerTokenResolver())
+                        .jwt(jwtDecoder -> jwtDecoder.jwtAuthenticationConverter(new SimpleKeycloakJwtAuthenticationConverter()))); // Désactiver le formulaire de connexion
+
+        if (internalIdentityProperties.enabled()) {
+            Assert.isTrue(StringUtils.hasText(internalIdentityProperties.secret()),
+                    "custom.internal-identity.secret est requis quand l'identité interne est activée");
+            // L'identité signée par le gateway remplace la vérification du JWT
+            http.addFilterBefore(new InternalIdentityAuthenticationFilter(internalIdentityProperties.secret(), objectMapper,
+                            new SimpleKeycloakJwtAuthenticationConverter()),
+                    BearerTokenAuthenticationFilter.class);
+        }
 
         return http.build();
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Ignores the JWT of the requests already authenticated by the identity forwarded by the gateway.
+     */
+    private BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver defaultResolver = new DefaultBearerTokenResolver();
+        if (!internalIdentityProperties.enabled()) {
+            return defaultResolver;
+        }
+        return request -> request.getHeader(InternalIdentityAuthenticationFilter.HEADER) != null
+                ? null
+                : defaultResolver.resolve(request);
+    }
+}
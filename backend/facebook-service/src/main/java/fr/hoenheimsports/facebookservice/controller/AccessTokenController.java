@@ -19,7 +19,7 @@ public interface AccessTokenController {
      * 
      * <p>This endpoint accepts a request containing a short-lived token and exchanges it
      * for a long-lived token with extended expiration time. The new token is stored
-     * in the system for future use.</p>
+     * in the system for future use, for the given page. Unknown pages are registered.</p>
      * 
      * @param accessToken The request containing the short-lived token to exchange
      * @return A ResponseEntity with HTTP status 204 (No Content) if the token was exchanged successfully
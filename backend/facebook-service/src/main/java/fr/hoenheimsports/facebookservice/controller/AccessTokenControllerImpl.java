@@ -1,7 +1,9 @@
 package fr.hoenheimsports.facebookservice.controller;
 
+import fr.hoenheimsports.facebookservice.config.FeedProperties;
 import fr.hoenheimsports.facebookservice.controller.dto.AccessTokenDTORequest;
 import fr.hoenheimsports.facebookservice.service.AccessTokenService;
+import fr.hoenheimsports.facebookservice.service.FacebookPageService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,15 +26,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class AccessTokenControllerImpl implements AccessTokenController {
 
     private final AccessTokenService accessTokenService;
+    private final FacebookPageService facebookPageService;
+    private final String defaultPageId;
 
-    public AccessTokenControllerImpl(AccessTokenService accessTokenService) {
+    public AccessTokenControllerImpl(AccessTokenService accessTokenService, FacebookPageService facebookPageService,
+                                     FeedProperties feedProperties) {
         this.accessTokenService = accessTokenService;
+        this.facebookPageService = facebookPageService;
+        this.defaultPageId = feedProperties.defaultPageId();
     }
 
     /**
      * {@inheritDoc}
      * 
-     * <p>This implementation delegates the token exchange to the AccessTokenService.
+     * <p>This implementation delegates the token exchange to the AccessTokenService. A request
+     * without page id, as sent before the aggregation of several pages, exchanges the token of
+     * the {@code facebook.feed.default-page-id} page.
      * It logs the request and response for monitoring purposes and returns a 204 No Content
      * response upon successful token exchange.</p>
      * 
@@ -43,8 +52,16 @@ public class AccessTokenControllerImpl implements AccessTokenController {
     @Override
     public ResponseEntity<Void> exchangeToken(@RequestBody AccessTokenDTORequest accessToken) {
         log.info("Réception d'une requête d'échange de token");
-        log.debug("Échange d'un token court pour un token long");
-        this.accessTokenService.exchangeToken(accessToken.accessToken());
+        String pageId = accessToken.pageId();
+        if (pageId == null || pageId.isBlank()) {
+            log.info("Requête d'échange de token sans identifiant de page, page par défaut {}", defaultPageId);
+            pageId = defaultPageId;
+        }
+        log.debug("Échange d'un token court pour un token long pour la page {}", pageId);
+        if (accessToken.pageName() != null) {
+            this.facebookPageService.registerPage(pageId, accessToken.pageName());
+        }
+        this.accessTokenService.exchangeToken(pageId, accessToken.accessToken());
         log.info("Échange de token effectué avec succès");
         return ResponseEntity.noContent().build();
     }
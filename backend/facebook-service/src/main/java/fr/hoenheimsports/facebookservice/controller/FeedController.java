@@ -1,12 +1,16 @@
 package fr.hoenheimsports.facebookservice.controller;
 
 import fr.hoenheimsports.facebookservice.controller.dto.FeedDTOResponse;
+import fr.hoenheimsports.facebookservice.controller.dto.FeedSearchDTORequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Set;
 
 /**
  * Controller interface defining the REST API endpoints for Facebook feed operations.
@@ -23,12 +27,17 @@ public interface FeedController {
      * <p>This endpoint returns a page of feed posts from the organization's
      * Facebook page based on the provided pagination parameters. The response
      * includes HATEOAS links for navigation.</p>
+     *
+     * <p>The posts can be filtered by creation date, attachment type and full-text search over
+     * their message, and reduced to a selection of fields
+     * (e.g. {@code ?mediaType=video&query=match&fields=message,createdTime}).</p>
      * 
+     * @param search   The optional filters and field selection
      * @param pageable Pagination information including page number, page size, and sorting
      * @return A ResponseEntity containing a paged model of feed posts with HATEOAS links
      */
     @GetMapping()
-    ResponseEntity<PagedModel<EntityModel<FeedDTOResponse>>> getFeeds(Pageable pageable);
+    ResponseEntity<PagedModel<EntityModel<FeedDTOResponse>>> getFeeds(FeedSearchDTORequest search, Pageable pageable);
 
     /**
      * Retrieves all Facebook feed posts.
@@ -40,4 +49,19 @@ public interface FeedController {
      */
     @GetMapping("/all")
     ResponseEntity<CollectionModel<EntityModel<FeedDTOResponse>>> getAllFeeds();
+
+    /**
+     * Retrieves the most recent posts of several Facebook pages as a single timeline.
+     *
+     * <p>This endpoint merges the feeds of the selected pages (sections, partner clubs),
+     * ordered by creation time, newest first.</p>
+     *
+     * @param pageId The Graph API ids of the pages to merge, all the aggregated pages by default
+     * @param limit  The maximum number of posts to return
+     * @return A ResponseEntity containing a collection model of the merged posts with HATEOAS links
+     */
+    @GetMapping("/merged")
+    ResponseEntity<CollectionModel<EntityModel<FeedDTOResponse>>> getMergedFeeds(
+            @RequestParam(required = false) Set<String> pageId,
+            @RequestParam(defaultValue = "20") int limit);
 }
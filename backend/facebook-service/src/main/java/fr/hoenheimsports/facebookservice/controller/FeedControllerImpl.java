@@ -2,6 +2,7 @@ package fr.hoenheimsports.facebookservice.controller;
 
 import fr.hoenheimsports.facebookservice.assembler.FeedAssembler;
 import fr.hoenheimsports.facebookservice.controller.dto.FeedDTOResponse;
+import fr.hoenheimsports.facebookservice.controller.dto.FeedSearchDTORequest;
 import fr.hoenheimsports.facebookservice.service.FeedService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +14,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Set;
+
 /**
  * Implementation of the FeedController interface for handling Facebook feed operations.
  * 
@@ -51,21 +54,23 @@ public class FeedControllerImpl implements FeedController {
     /**
      * {@inheritDoc}
      * 
-     * <p>This implementation delegates to the FeedService to retrieve a paginated list of feeds,
+     * <p>This implementation delegates to the FeedService to search a paginated list of feeds,
      * then uses the FeedAssembler to convert them to a PagedModel with HATEOAS links.
      * It logs the request parameters and response size for monitoring purposes.</p>
      * 
+     * @param search   The optional filters and field selection
      * @param pageable Pagination information including page number, page size, and sorting
      * @return A ResponseEntity containing a paged model of feed posts with HATEOAS links
      */
     @GetMapping()
     @Override
-    public ResponseEntity<PagedModel<EntityModel<FeedDTOResponse>>> getFeeds(Pageable pageable) {
+    public ResponseEntity<PagedModel<EntityModel<FeedDTOResponse>>> getFeeds(FeedSearchDTORequest search, Pageable pageable) {
         log.info("Réception d'une requête pour obtenir les feeds paginés");
         log.debug("Paramètres de pagination: page={}, size={}, sort={}", 
                 pageable.getPageNumber(), pageable.getPageSize(), 
                 pageable.getSort().toString());
-        var result = this.feedAssembler.toPagedModel(this.feedService.getFeeds(pageable));
+        var criteria = search == null ? FeedSearchDTORequest.ALL : search;
+        var result = this.feedAssembler.toPagedModel(this.feedService.searchFeeds(criteria, pageable));
         log.info("Retour de {} feeds paginés", result.getMetadata().getTotalElements());
         return ResponseEntity.ok(result);
     }
@@ -88,4 +93,24 @@ public class FeedControllerImpl implements FeedController {
         log.info("Retour de {} feeds au total", feeds.size());
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation delegates the merge to the FeedService, then uses the FeedAssembler
+     * to convert the merged posts to a CollectionModel with HATEOAS links.</p>
+     *
+     * @param pageId The Graph API ids of the pages to merge, all the aggregated pages by default
+     * @param limit  The maximum number of posts to return
+     * @return A ResponseEntity containing a collection model of the merged posts with HATEOAS links
+     */
+    @GetMapping("/merged")
+    @Override
+    public ResponseEntity<CollectionModel<EntityModel<FeedDTOResponse>>> getMergedFeeds(Set<String> pageId, int limit) {
+        log.info("Réception d'une requête pour obtenir les feeds fusionnés des pages {}", pageId);
+        var feeds = this.feedService.getMergedFeeds(pageId, limit);
+        var result = this.feedAssembler.toCollectionModel(feeds);
+        log.info("Retour de {} feeds fusionnés", feeds.size());
+        return ResponseEntity.ok(result);
+    }
 }
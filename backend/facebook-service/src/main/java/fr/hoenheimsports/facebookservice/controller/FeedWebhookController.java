@@ -0,0 +1,45 @@
+package fr.hoenheimsports.facebookservice.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Controller interface defining the endpoints of the Facebook Graph API webhooks.
+ *
+ * <p>Facebook calls these endpoints when the page feed changes, so that the cached feed list
+ * is updated in near real time instead of waiting for the next full refresh.</p>
+ *
+ * @since 1.0
+ */
+public interface FeedWebhookController {
+    /**
+     * Answers the verification handshake sent by Facebook when subscribing the webhook.
+     *
+     * @param mode        The subscription mode, must be "subscribe"
+     * @param verifyToken The token configured in the Facebook application
+     * @param challenge   The challenge to echo back
+     * @return A ResponseEntity containing the challenge, or 403 if the token does not match
+     */
+    @GetMapping(produces = "text/plain")
+    ResponseEntity<String> verifySubscription(@RequestParam("hub.mode") String mode,
+                                              @RequestParam("hub.verify_token") String verifyToken,
+                                              @RequestParam("hub.challenge") String challenge);
+
+    /**
+     * Receives a change notification of the page feed.
+     *
+     * <p>The raw body is checked against its {@code X-Hub-Signature-256} header before being
+     * parsed. The changes are applied asynchronously.</p>
+     *
+     * @param signature The HMAC-SHA256 signature of the body, computed with the application secret
+     * @param payload   The raw notification body
+     * @return A ResponseEntity with status 200, or 403 if the signature is invalid
+     */
+    @PostMapping
+    ResponseEntity<Void> receiveNotification(@RequestHeader(name = "X-Hub-Signature-256", required = false) String signature,
+                                             @RequestBody byte[] payload);
+}
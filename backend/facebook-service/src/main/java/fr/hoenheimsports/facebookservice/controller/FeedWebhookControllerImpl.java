@@ -0,0 +1,61 @@
+package fr.hoenheimsports.facebookservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.hoenheimsports.facebookservice.controller.dto.FeedWebhookDTORequest;
+import fr.hoenheimsports.facebookservice.service.FeedWebhookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Implementation of the FeedWebhookController interface.
+ *
+ * <p>The notification body is received as raw bytes, the signature being computed on the exact
+ * payload sent by Facebook, then parsed once verified.</p>
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/webhook")
+@Slf4j
+public class FeedWebhookControllerImpl implements FeedWebhookController {
+
+    private final FeedWebhookService feedWebhookService;
+    private final ObjectMapper objectMapper;
+
+    public FeedWebhookControllerImpl(FeedWebhookService feedWebhookService, ObjectMapper objectMapper) {
+        this.feedWebhookService = feedWebhookService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(produces = "text/plain")
+    @Override
+    public ResponseEntity<String> verifySubscription(String mode, String verifyToken, String challenge) {
+        log.info("Réception d'une demande de vérification du webhook");
+        return feedWebhookService.verifySubscription(mode, verifyToken, challenge)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+
+    @PostMapping
+    @Override
+    public ResponseEntity<Void> receiveNotification(String signature, byte[] payload) {
+        log.debug("Réception d'une notification webhook ({} octets)", payload.length);
+        if (!feedWebhookService.isSignatureValid(payload, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            feedWebhookService.handleNotification(objectMapper.readValue(payload, FeedWebhookDTORequest.class));
+        } catch (IOException e) {
+            log.warn("Notification webhook illisible: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
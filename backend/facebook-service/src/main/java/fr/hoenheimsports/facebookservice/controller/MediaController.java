@@ -0,0 +1,35 @@
+package fr.hoenheimsports.facebookservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+
+/**
+ * Controller interface defining the REST API endpoints of the feed attachment media proxy.
+ *
+ * <p>This interface provides an endpoint serving the images of the Facebook feed attachments
+ * from a local cache, resized to the requested width, instead of the expiring Facebook CDN URLs.</p>
+ *
+ * @since 1.0
+ */
+public interface MediaController {
+    /**
+     * Serves a resized variant of a feed attachment image.
+     *
+     * <p>The response carries long-lived, immutable cache headers and an ETag, so that browsers
+     * and intermediate caches download each variant only once.</p>
+     *
+     * @param key      The proxy key of the image, as found in {@code ImageDTOResponse.proxySrc}
+     * @param width    The requested width in pixels, snapped to the configured variant widths
+     * @param request  The current request
+     * @param response The response the image is written to
+     * @throws IOException if the image cannot be written to the response
+     */
+    @GetMapping("/{key}")
+    void getMedia(@PathVariable String key, @RequestParam(required = false) Integer width,
+                  HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,110 @@
+package fr.hoenheimsports.facebookservice.controller;
+
+import fr.hoenheimsports.facebookservice.config.MediaProperties;
+import fr.hoenheimsports.facebookservice.exception.MediaNotFoundException;
+import fr.hoenheimsports.facebookservice.service.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Implementation of the MediaController interface serving the cached feed attachment images.
+ *
+ * <p>Files are sent zero-copy: when the Tomcat connector supports it, the file is handed to
+ * Tomcat's sendfile support and never goes through the JVM heap. Otherwise the file channel is
+ * transferred directly to the response stream.</p>
+ *
+ * <p>The file is opened before its size is read: a file evicted from the disk cache after the
+ * lookup is fetched again instead of failing. Tomcat opens the file again for sendfile, once the
+ * handler has returned; the file has just been marked as most recently used, so it is only
+ * evicted in between if the whole cache is rewritten meanwhile.</p>
+ *
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/media")
+@Slf4j
+public class MediaControllerImpl implements MediaController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MediaService mediaService;
+    private final CacheControl cacheControl;
+
+    public MediaControllerImpl(MediaService mediaService, MediaProperties mediaProperties) {
+        this.mediaService = mediaService;
+        this.cacheControl = CacheControl.maxAge(mediaProperties.maxAge()).cachePublic().immutable();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation answers 304 (Not Modified) when the ETag sent by the client matches,
+     * otherwise it resolves the variant through the MediaService and streams the file.</p>
+     */
+    @GetMapping("/{key}")
+    @Override
+    public void getMedia(@PathVariable String key, @RequestParam(required = false) Integer width,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("Réception d'une requête pour le média {} (largeur {})", key, width);
+        var media = this.mediaService.getMedia(key, width);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(media.etag())) {
+            log.debug("Média {} non modifié, retour 304", key);
+            return;
+        }
+
+        FileChannel opened = open(media);
+        if (opened == null) {
+            // Evicted from the disk cache since the lookup: the variant is fetched again
+            log.debug("Média {} évincé du cache avant sa lecture", key);
+            media = this.mediaService.getMedia(key, width);
+            opened = open(media);
+            if (opened == null) {
+                throw new MediaNotFoundException(key);
+            }
+        }
+        try (FileChannel channel = opened) {
+            long size = channel.size();
+            response.setContentType(media.mediaType().toString());
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, media.path().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            channel.transferTo(0, size, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * Opens the cached file, or returns null if it has been evicted since it was looked up.
+     */
+    private static FileChannel open(MediaService.CachedMedia media) throws IOException {
+        try {
+            return FileChannel.open(media.path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,15 @@ package fr.hoenheimsports.facebookservice.controller.dto;
 
 import lombok.Builder;
 
+/**
+ * Request to exchange a short-lived token for a long-lived token of a Facebook page.
+ *
+ * @param pageId      The identifier of the page in the Facebook Graph API, registered if unknown. Optional,
+ *                    {@code facebook.feed.default-page-id} when missing, as sent by the clients predating
+ *                    the aggregation of several pages
+ * @param pageName    The display name of the page (optional)
+ * @param accessToken The short-lived token to exchange
+ */
 @Builder
-public record AccessTokenDTORequest(String accessToken) {
+public record AccessTokenDTORequest(String pageId, String pageName, String accessToken) {
 }
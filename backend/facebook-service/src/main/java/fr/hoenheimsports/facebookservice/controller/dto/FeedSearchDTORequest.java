@@ -0,0 +1,32 @@
+package fr.hoenheimsports.facebookservice.controller.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+/**
+ * Query parameters filtering and projecting the Facebook feed posts.
+ *
+ * <p>All parameters are optional, the filters are combined with a logical AND.</p>
+ *
+ * @param pageId    Only posts of these pages (Graph API page ids), all the aggregated pages by default
+ * @param from      Only posts created at or after this date (ISO date-time)
+ * @param to        Only posts created at or before this date (ISO date-time)
+ * @param mediaType Only posts with at least one attachment of one of these types (photo, video, album...)
+ * @param query     Full-text search over the post message, every word must match (as a word prefix)
+ * @param fields    Fields to return besides graphApiId (message, createdTime, attachments), all by default
+ */
+public record FeedSearchDTORequest(
+        Set<String> pageId,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+        Set<String> mediaType,
+        String query,
+        Set<String> fields
+) {
+    /**
+     * Search criteria matching every post with all its fields.
+     */
+    public static final FeedSearchDTORequest ALL = new FeedSearchDTORequest(null, null, null, null, null, null);
+}
@@ -0,0 +1,39 @@
+package fr.hoenheimsports.facebookservice.controller.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Notification sent by the Facebook Graph API webhooks for the page subscriptions.
+ *
+ * @param object The subscribed object type (always "page" here)
+ * @param entry  The notified changes, grouped by page
+ */
+public record FeedWebhookDTORequest(String object, List<Entry> entry) {
+
+    /**
+     * @param id      The identifier of the page
+     * @param time    The time of the change (Unix timestamp)
+     * @param changes The changes of the page
+     */
+    public record Entry(String id, long time, List<Change> changes) {
+    }
+
+    /**
+     * @param field The changed field ("feed" for the page posts)
+     * @param value The description of the change
+     */
+    public record Change(String field, Value value) {
+    }
+
+    /**
+     * @param item   The changed item type (status, photo, video, share, comment...)
+     * @param verb   The change type (add, edited, remove, hide...)
+     * @param postId The identifier of the changed post
+     */
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public record Value(String item, String verb, String postId) {
+    }
+}
@@ -6,6 +6,9 @@ import java.io.Serializable;
 
 /**
  * DTO for {@link ImageEmbeddable}
+ *
+ * <p>{@code proxySrc} points to the media proxy, which serves a cached and resized copy of the
+ * image ({@code ?width=} selects the variant) and does not expire like the signed {@code src}.</p>
  */
-public record ImageDTOResponse(int height, String src, int width) implements Serializable {
-}
\ No newline at end of file
+public record ImageDTOResponse(int height, String src, int width, String proxySrc) implements Serializable {
+}
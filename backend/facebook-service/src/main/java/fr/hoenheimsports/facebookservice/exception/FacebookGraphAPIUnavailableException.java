@@ -0,0 +1,20 @@
+package fr.hoenheimsports.facebookservice.exception;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+
+/**
+ * Transient failure of the Facebook Graph API (throttling, 5xx, temporary outage).
+ *
+ * <p>Unlike {@link FacebookGraphAPIException}, this failure is worth retrying and is
+ * recorded by the circuit breaker protecting the Graph API calls.</p>
+ *
+ * @since 1.0
+ */
+public class FacebookGraphAPIUnavailableException extends FacebookGraphAPIException {
+
+    public FacebookGraphAPIUnavailableException(HttpStatusCode status, ProblemDetail body, Throwable cause) {
+        super(status, body, cause);
+    }
+
+}
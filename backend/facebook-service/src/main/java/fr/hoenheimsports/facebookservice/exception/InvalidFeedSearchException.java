@@ -0,0 +1,19 @@
+package fr.hoenheimsports.facebookservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class InvalidFeedSearchException extends ErrorResponseException {
+
+    public InvalidFeedSearchException(String detail) {
+        super(HttpStatus.BAD_REQUEST, problemDetail(detail), null);
+    }
+
+    private static ProblemDetail problemDetail(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setTitle("Recherche de feeds invalide");
+        problemDetail.setDetail(detail);
+        return problemDetail;
+    }
+}
@@ -0,0 +1,19 @@
+package fr.hoenheimsports.facebookservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class MediaNotFoundException extends ErrorResponseException {
+
+    public MediaNotFoundException(String key) {
+        super(HttpStatus.NOT_FOUND, problemDetail(key), null);
+    }
+
+    private static ProblemDetail problemDetail(String key) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+        problemDetail.setTitle("Média introuvable");
+        problemDetail.setDetail("Aucun média connu pour la clé %s.".formatted(key));
+        return problemDetail;
+    }
+}
@@ -1,9 +1,11 @@
 package fr.hoenheimsports.facebookservice.feignClient;
 
 import fr.hoenheimsports.facebookservice.feignClient.dto.AccessTokenDTO;
+import fr.hoenheimsports.facebookservice.feignClient.dto.FeedDTO;
 import fr.hoenheimsports.facebookservice.feignClient.dto.GraphApiResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(name = "facebook-graph-api", url = "${facebook.api.url}")
@@ -12,8 +14,11 @@ public interface FacebookGraphAPIFeignClient {
     @GetMapping("/me")
     String getMe(@RequestParam("access_token") String accessToken);
 
-    @GetMapping("/500999826723464/feed")
-    GraphApiResponse getFeed(@RequestParam("fields") String fields, @RequestParam("limit") int limit, @RequestParam("access_token") String accessToken);
+    @GetMapping("/{pageId}/feed")
+    GraphApiResponse getFeed(@PathVariable("pageId") String pageId, @RequestParam("fields") String fields, @RequestParam("limit") int limit, @RequestParam("access_token") String accessToken);
+
+    @GetMapping("/{postId}")
+    FeedDTO getPost(@PathVariable("postId") String postId, @RequestParam("fields") String fields, @RequestParam("access_token") String accessToken);
 
     @GetMapping("/oauth/access_token")
     AccessTokenDTO exchangeToken(
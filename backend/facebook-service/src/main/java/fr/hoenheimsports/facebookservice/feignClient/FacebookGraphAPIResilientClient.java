@@ -0,0 +1,63 @@
+package fr.hoenheimsports.facebookservice.feignClient;
+
+import fr.hoenheimsports.facebookservice.feignClient.dto.AccessTokenDTO;
+import fr.hoenheimsports.facebookservice.feignClient.dto.FeedDTO;
+import fr.hoenheimsports.facebookservice.feignClient.dto.GraphApiResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resilient facade over {@link FacebookGraphAPIFeignClient}.
+ *
+ * <p>Every call goes through the {@value #GRAPH_API} Resilience4j instances, applied in the
+ * default aspect order: retry with jittered exponential backoff, then the circuit breaker, then
+ * a semaphore bulkhead limiting the number of request threads waiting on Facebook. Connection and
+ * read timeouts are configured on the Feign client itself
+ * ({@code spring.cloud.openfeign.client.config.facebook-graph-api}).</p>
+ *
+ * <p>Services must use this class rather than the raw Feign client.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class FacebookGraphAPIResilientClient {
+
+    /**
+     * Name of the Resilience4j instances protecting the Graph API.
+     */
+    public static final String GRAPH_API = "facebookGraphApi";
+
+    private final FacebookGraphAPIFeignClient facebookGraphAPIFeignClient;
+
+    public FacebookGraphAPIResilientClient(FacebookGraphAPIFeignClient facebookGraphAPIFeignClient) {
+        this.facebookGraphAPIFeignClient = facebookGraphAPIFeignClient;
+    }
+
+    @Retry(name = GRAPH_API)
+    @CircuitBreaker(name = GRAPH_API)
+    @Bulkhead(name = GRAPH_API)
+    public GraphApiResponse getFeed(String pageId, String fields, int limit, String accessToken) {
+        log.debug("Appel protégé à l'API Facebook pour récupérer les feeds de la page {}", pageId);
+        return facebookGraphAPIFeignClient.getFeed(pageId, fields, limit, accessToken);
+    }
+
+    @Retry(name = GRAPH_API)
+    @CircuitBreaker(name = GRAPH_API)
+    @Bulkhead(name = GRAPH_API)
+    public FeedDTO getPost(String postId, String fields, String accessToken) {
+        log.debug("Appel protégé à l'API Facebook pour récupérer la publication {}", postId);
+        return facebookGraphAPIFeignClient.getPost(postId, fields, accessToken);
+    }
+
+    @Retry(name = GRAPH_API)
+    @CircuitBreaker(name = GRAPH_API)
+    @Bulkhead(name = GRAPH_API)
+    public AccessTokenDTO exchangeToken(String grantType, String clientId, String clientSecret, String fbExchangeToken) {
+        log.debug("Appel protégé à l'API Facebook pour échanger le token");
+        return facebookGraphAPIFeignClient.exchangeToken(grantType, clientId, clientSecret, fbExchangeToken);
+    }
+}
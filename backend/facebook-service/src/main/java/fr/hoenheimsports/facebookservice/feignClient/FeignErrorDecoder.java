@@ -1,28 +1,89 @@
 package fr.hoenheimsports.facebookservice.feignClient;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 import fr.hoenheimsports.facebookservice.exception.FacebookGraphAPIException;
+import fr.hoenheimsports.facebookservice.exception.FacebookGraphAPIUnavailableException;
+import fr.hoenheimsports.facebookservice.feignClient.dto.error.FacebookGraphAPIErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Translates Facebook Graph API error responses into {@link FacebookGraphAPIException}s.
+ *
+ * <p>Throttling (HTTP 429, Graph API codes 4, 17, 32, 613), server errors and the Graph API
+ * "temporary" codes (1, 2) are mapped to {@link FacebookGraphAPIUnavailableException} so that
+ * they are retried and recorded by the circuit breaker. Every other error is permanent
+ * (invalid token, bad request...) and is surfaced as a 502.</p>
+ */
 @Slf4j
 public class FeignErrorDecoder implements ErrorDecoder {
 
+    private static final URI GRAPH_API_DOC = URI.create("https://developers.facebook.com/docs/graph-api/");
+    private static final Set<Integer> TRANSIENT_GRAPH_API_CODES = Set.of(1, 2, 4, 17, 32, 613);
+
+    private final ObjectMapper objectMapper;
+
+    public FeignErrorDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     @Override
     public Exception decode(String methodKey, Response response) {
         log.error("Erreur lors de l'appel à l'API Facebook: méthode={}, status={}", methodKey, response.status());
         log.debug("Détails de la réponse en erreur: {}", response.toString());
 
-        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_GATEWAY);
-        problemDetail.setTitle("Erreur Facebook Graph API");
-        problemDetail.setDetail("Erreur inconnue lors de l'appel à l'API Facebook/Instagram.");
-        problemDetail.setType(URI.create("https://developers.facebook.com/docs/graph-api/"));
+        var graphApiError = readError(response);
+        var detail = graphApiError
+                .map(FacebookGraphAPIErrorResponse.Error::message)
+                .orElse("Erreur inconnue lors de l'appel à l'API Facebook/Instagram.");
+
+        if (isTransient(response.status(), graphApiError)) {
+            ProblemDetail problemDetail = problemDetail(HttpStatus.SERVICE_UNAVAILABLE, detail);
+            log.warn("Erreur transitoire de l'API Facebook, création d'une exception FacebookGraphAPIUnavailableException");
+            return new FacebookGraphAPIUnavailableException(HttpStatus.SERVICE_UNAVAILABLE, problemDetail, null);
+        }
 
+        ProblemDetail problemDetail = problemDetail(HttpStatus.BAD_GATEWAY, detail);
         log.error("Création d'une exception FacebookGraphAPIException avec status BAD_GATEWAY");
         return new FacebookGraphAPIException(HttpStatus.BAD_GATEWAY, problemDetail, null);
     }
+
+    private boolean isTransient(int status, Optional<FacebookGraphAPIErrorResponse.Error> graphApiError) {
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500) {
+            return true;
+        }
+        return graphApiError
+                .map(error -> TRANSIENT_GRAPH_API_CODES.contains(error.code()))
+                .orElse(false);
+    }
+
+    private Optional<FacebookGraphAPIErrorResponse.Error> readError(Response response) {
+        if (response.body() == null) {
+            return Optional.empty();
+        }
+        try (InputStream body = response.body().asInputStream()) {
+            var errorResponse = objectMapper.readValue(body, FacebookGraphAPIErrorResponse.class);
+            return Optional.ofNullable(errorResponse.error());
+        } catch (IOException e) {
+            log.debug("Impossible de lire le corps de l'erreur de l'API Facebook: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private ProblemDetail problemDetail(HttpStatus status, String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(status);
+        problemDetail.setTitle("Erreur Facebook Graph API");
+        problemDetail.setDetail(detail);
+        problemDetail.setType(GRAPH_API_DOC);
+        return problemDetail;
+    }
 }
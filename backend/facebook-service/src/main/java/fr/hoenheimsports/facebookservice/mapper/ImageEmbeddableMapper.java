@@ -4,14 +4,16 @@ import fr.hoenheimsports.facebookservice.controller.dto.ImageDTOResponse;
 import fr.hoenheimsports.facebookservice.feignClient.dto.ImageDTO;
 import fr.hoenheimsports.facebookservice.model.ImageEmbeddable;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 
-@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, componentModel = MappingConstants.ComponentModel.SPRING)
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, componentModel = MappingConstants.ComponentModel.SPRING, uses = {MediaProxyUrlMapper.class})
 public interface ImageEmbeddableMapper {
     ImageEmbeddable toEntity(ImageDTO imageDTO);
 
+    @Mapping(target = "proxySrc", source = "src", qualifiedByName = "toProxySrc")
     ImageDTOResponse toDto(ImageEmbeddable imageEmbeddable);
 
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package fr.hoenheimsports.facebookservice.mapper;
+
+import fr.hoenheimsports.facebookservice.controller.MediaControllerImpl;
+import fr.hoenheimsports.facebookservice.service.MediaService;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Builds the media proxy URL of a Facebook CDN image, used by {@link ImageEmbeddableMapper}.
+ */
+@Component
+public class MediaProxyUrlMapper {
+
+    private final MediaService mediaService;
+
+    public MediaProxyUrlMapper(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    @Named("toProxySrc")
+    public String toProxySrc(String src) {
+        if (src == null) {
+            return null;
+        }
+        return linkTo(MediaControllerImpl.class).slash(mediaService.keyOf(src)).toUri().toString();
+    }
+}
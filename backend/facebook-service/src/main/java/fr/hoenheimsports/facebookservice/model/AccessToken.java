@@ -12,8 +12,8 @@ import java.util.Objects;
  * Entity representing an access token for the Facebook Graph API.
  * 
  * <p>This class stores information about the Facebook access token used to authenticate
- * requests to the Facebook Graph API. The application stores only one token at a time,
- * which is why the ID is always set to 1.</p>
+ * requests to the Facebook Graph API. The application stores one token per {@link FacebookPage},
+ * identified by the ID of the page.</p>
  * 
  * @since 1.0
  */
@@ -25,11 +25,10 @@ import java.util.Objects;
 @AllArgsConstructor
 public class AccessToken {
     /**
-     * Unique identifier for the access token.
-     * Always set to 1 as the application only stores one token at a time.
+     * Unique identifier for the access token, the ID of the {@link FacebookPage} it authenticates.
      */
     @Id
-    private Long id = 1L;
+    private Long id;
 
     /**
      * The actual access token string provided by Facebook.
@@ -0,0 +1,82 @@
+package fr.hoenheimsports.facebookservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.*;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.Objects;
+
+/**
+ * Entity representing a Facebook page whose feed is aggregated by the service.
+ *
+ * <p>Each page (club, section or partner club) has its own access token, stored in
+ * {@link AccessToken} with the same identifier, and its own partition in the feed cache.</p>
+ *
+ * @since 1.0
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacebookPage {
+    /**
+     * Unique identifier of the page in the service.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The identifier of the page in the Facebook Graph API.
+     */
+    @Column(nullable = false, unique = true)
+    private String graphPageId;
+
+    /**
+     * The display name of the page.
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Whether the feed of the page is fetched and aggregated.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Compares this page with another object for equality.
+     *
+     * <p>Two pages are considered equal if they have the same non-null ID.</p>
+     *
+     * @param o The object to compare with
+     * @return true if the objects are equal, false otherwise
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        FacebookPage that = (FacebookPage) o;
+        return getId() != null && Objects.equals(getId(), that.getId());
+    }
+
+    /**
+     * Returns a hash code value for this page.
+     *
+     * <p>The hash code is based on the class of the page to ensure compatibility with Hibernate proxies.</p>
+     *
+     * @return a hash code value for this page
+     */
+    @Override
+    public final int hashCode() {
+        return this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode() : getClass().hashCode();
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
  * Repository interface for managing AccessToken entities in the database.
  * 
  * <p>This repository provides CRUD operations for AccessToken entities.
- * The application stores only one token at a time, which is identified by ID 1.</p>
+ * The application stores one token per Facebook page, identified by the ID of the page.</p>
  * 
  * @since 1.0
  */
@@ -0,0 +1,21 @@
+package fr.hoenheimsports.facebookservice.repository;
+
+import fr.hoenheimsports.facebookservice.model.FacebookPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing FacebookPage entities in the database.
+ *
+ * @since 1.0
+ */
+@Repository
+public interface FacebookPageRepository extends JpaRepository<FacebookPage, Long> {
+
+    Optional<FacebookPage> findByGraphPageId(String graphPageId);
+
+    List<FacebookPage> findAllByEnabledTrueOrderById();
+}
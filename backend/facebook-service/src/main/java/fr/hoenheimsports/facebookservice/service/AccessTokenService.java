@@ -8,31 +8,34 @@ import java.util.Optional;
  * Service interface for managing Facebook access tokens.
  *
  * <p>This interface defines the contract for retrieving and exchanging
- * Facebook access tokens used to authenticate requests to the Facebook Graph API.</p>
+ * Facebook access tokens used to authenticate requests to the Facebook Graph API.
+ * Each Facebook page has its own token.</p>
  *
  * @since 1.0
  */
 public interface AccessTokenService {
 
     /**
-     * Retrieves the current Facebook access token.
+     * Retrieves the current Facebook access token of a page.
      *
-     * <p>This method returns the most recent valid access token stored in the system.
+     * <p>This method returns the most recent valid access token stored in the system for the page.
      * The token is used to authenticate requests to the Facebook Graph API.</p>
      *
-     * @return The current access token entity
+     * @param graphPageId The identifier of the page in the Facebook Graph API
+     * @return The current access token entity, or an empty optional if the page is unknown or has no token
      */
-    Optional<AccessToken> getCurrentToken();
+    Optional<AccessToken> getCurrentToken(String graphPageId);
 
     /**
      * Exchanges a short-lived token for a long-lived token.
      *
      * <p>This method takes a short-lived token obtained from Facebook and exchanges it
      * for a long-lived token with extended expiration time. The new token is stored
-     * in the system and returned.</p>
+     * in the system for the page, registered if needed, and returned.</p>
      *
+     * @param graphPageId     The identifier of the page in the Facebook Graph API
      * @param fbExchangeToken The short-lived token to exchange
      * @return The new long-lived access token entity
      */
-    AccessToken exchangeToken(String fbExchangeToken);
+    AccessToken exchangeToken(String graphPageId, String fbExchangeToken);
 }
@@ -1,10 +1,9 @@
 package fr.hoenheimsports.facebookservice.service;
 
-import fr.hoenheimsports.facebookservice.feignClient.FacebookGraphAPIFeignClient;
+import fr.hoenheimsports.facebookservice.feignClient.FacebookGraphAPIResilientClient;
 import fr.hoenheimsports.facebookservice.mapper.AccessTokenMapper;
 import fr.hoenheimsports.facebookservice.model.AccessToken;
 import fr.hoenheimsports.facebookservice.repository.AccessTokenRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -16,7 +15,8 @@ import java.util.Optional;
  *
  * <p>This service is responsible for retrieving and exchanging Facebook access tokens
  * used to authenticate requests to the Facebook Graph API. It interacts with the
- * Facebook Graph API through a Feign client and stores tokens in a repository.</p>
+ * Facebook Graph API through a Feign client and stores one token per Facebook page
+ * in a repository, with the ID of the page.</p>
  *
  * @since 1.0
  */
@@ -30,15 +30,20 @@ public class AccessTokenServiceImpl implements AccessTokenService {
     private final AccessTokenRepository accessTokenRepository;
 
     /**
-     * Feign client for communicating with the Facebook Graph API.
+     * Resilient client (retry, circuit breaker, bulkhead) for communicating with the Facebook Graph API.
      */
-    private final FacebookGraphAPIFeignClient facebookGraphAPIFeignClient;
+    private final FacebookGraphAPIResilientClient facebookGraphAPIClient;
 
     /**
      * Mapper for converting between DTO and entity objects.
      */
     private final AccessTokenMapper accessTokenMapper;
 
+    /**
+     * Service for resolving the Facebook pages.
+     */
+    private final FacebookPageService facebookPageService;
+
     /**
      * The Facebook application client ID from configuration.
      */
@@ -55,46 +60,53 @@ public class AccessTokenServiceImpl implements AccessTokenService {
      * Constructs a new AccessTokenServiceImpl with the specified dependencies.
      *
      * @param accessTokenRepository       Repository for storing and retrieving access tokens
-     * @param facebookGraphAPIFeignClient Feign client for communicating with the Facebook Graph API
+     * @param facebookGraphAPIClient      Resilient client for communicating with the Facebook Graph API
      * @param accessTokenMapper           Mapper for converting between DTO and entity objects
+     * @param facebookPageService         Service for resolving the Facebook pages
      */
     public AccessTokenServiceImpl(AccessTokenRepository accessTokenRepository,
-                                  FacebookGraphAPIFeignClient facebookGraphAPIFeignClient, AccessTokenMapper accessTokenMapper) {
+                                  FacebookGraphAPIResilientClient facebookGraphAPIClient, AccessTokenMapper accessTokenMapper,
+                                  FacebookPageService facebookPageService) {
         this.accessTokenRepository = accessTokenRepository;
-        this.facebookGraphAPIFeignClient = facebookGraphAPIFeignClient;
+        this.facebookGraphAPIClient = facebookGraphAPIClient;
         this.accessTokenMapper = accessTokenMapper;
+        this.facebookPageService = facebookPageService;
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>This implementation retrieves the token with ID 1 from the repository.
-     * If no token is found, an EntityNotFoundException is thrown.</p>
+     * <p>This implementation resolves the page, then retrieves the token with the ID of the page
+     * from the repository.</p>
      *
-     * @return The current access token entity
-     * @throws EntityNotFoundException if no token is found in the repository
+     * @param graphPageId The identifier of the page in the Facebook Graph API
+     * @return The current access token entity, or an empty optional if the page is unknown or has no token
      */
     @Override
-    public Optional<AccessToken> getCurrentToken() {
-        log.debug("Récupération du token d'accès courant");
-        return accessTokenRepository.findById(1L);
+    public Optional<AccessToken> getCurrentToken(String graphPageId) {
+        log.debug("Récupération du token d'accès courant de la page {}", graphPageId);
+        return facebookPageService.getPage(graphPageId)
+                .flatMap(page -> accessTokenRepository.findById(page.getId()));
     }
 
     /**
      * {@inheritDoc}
      *
      * <p>This implementation calls the Facebook Graph API to exchange the token,
-     * converts the response to an entity, and saves it in the repository with ID 1,
-     * replacing any existing token.</p>
+     * converts the response to an entity, and saves it in the repository with the ID
+     * of the page, replacing any existing token of the page.</p>
      *
+     * @param graphPageId     The identifier of the page in the Facebook Graph API
      * @param fbExchangeToken The short-lived token to exchange
      * @return The new long-lived access token entity
      */
     @Override
-    public AccessToken exchangeToken(String fbExchangeToken) {
-        log.info("Échange d'un token court pour un token long");
+    public AccessToken exchangeToken(String graphPageId, String fbExchangeToken) {
+        log.info("Échange d'un token court pour un token long pour la page {}", graphPageId);
+        var page = facebookPageService.getPage(graphPageId)
+                .orElseGet(() -> facebookPageService.registerPage(graphPageId, null));
         log.debug("Appel à l'API Facebook pour échanger le token");
-        var response = facebookGraphAPIFeignClient.exchangeToken(
+        var response = facebookGraphAPIClient.exchangeToken(
                 "fb_exchange_token",
                 clientId,
                 clientSecret,
@@ -102,7 +114,7 @@ public class AccessTokenServiceImpl implements AccessTokenService {
         );
         log.debug("Réponse reçue de l'API Facebook, conversion en entité");
         var accessToken = this.accessTokenMapper.toEntity(response);
-        accessToken.setId(1L);
+        accessToken.setId(page.getId());
         log.debug("Sauvegarde du nouveau token en base de données");
         var savedToken = accessTokenRepository.save(accessToken);
         log.info("Token échangé et sauvegardé avec succès, expiration: {}", savedToken.getExpireIn());
@@ -0,0 +1,57 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream failing once more than a given number of bytes have been read, so that a response
+ * without {@code Content-Length} cannot fill the disk.
+ */
+class BoundedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long readBytes;
+
+    BoundedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read >= 0) {
+            count(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long bytes) throws IOException {
+        readBytes += bytes;
+        if (readBytes > maxBytes) {
+            throw new IOException("Média trop volumineux: plus de " + maxBytes + " octets");
+        }
+    }
+}
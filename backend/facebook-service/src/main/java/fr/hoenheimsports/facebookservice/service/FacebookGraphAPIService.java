@@ -3,24 +3,46 @@ package fr.hoenheimsports.facebookservice.service;
 import fr.hoenheimsports.facebookservice.model.FeedEntity;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service interface for interacting with the Facebook Graph API.
  * 
  * <p>This interface defines the contract for fetching data from the Facebook Graph API,
- * specifically feed posts from the organization's Facebook page.</p>
+ * specifically feed posts from the Facebook pages aggregated by the service.</p>
  * 
  * @since 1.0
  */
 public interface FacebookGraphAPIService {
 
     /**
-     * Fetches the latest feed posts from the organization's Facebook page.
+     * Fetches the latest feed posts from a Facebook page.
      * 
      * <p>This method retrieves feed posts from the Facebook Graph API, including
      * any attachments such as images or videos associated with the posts.</p>
      * 
-     * @return A list of feed entities containing the posts and their attachments
+     * @param pageId The identifier of the page in the Facebook Graph API
+     * @return A list of feed entities containing the posts and their attachments, newest first
      */
-    List<FeedEntity> fetchFacebookFeeds();
+    List<FeedEntity> fetchFacebookFeeds(String pageId);
+
+    /**
+     * Fetches the full feed of a page again and replaces its cached feed list.
+     *
+     * <p>Feed changes are normally applied from the webhook notifications. This method is the
+     * slow consistency sweep catching any missed notification.</p>
+     *
+     * @param pageId The identifier of the page in the Facebook Graph API
+     * @return The refreshed list of feed entities, newest first
+     */
+    List<FeedEntity> refreshFacebookFeeds(String pageId);
+
+    /**
+     * Fetches a single post of a Facebook page.
+     *
+     * @param pageId The identifier of the page in the Facebook Graph API
+     * @param postId The Graph API identifier of the post
+     * @return The post with its attachments, or an empty optional if no access token is available for the page
+     */
+    Optional<FeedEntity> fetchFacebookFeed(String pageId, String postId);
 }
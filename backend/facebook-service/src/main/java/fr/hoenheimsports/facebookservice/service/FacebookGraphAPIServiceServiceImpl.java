@@ -1,27 +1,31 @@
 package fr.hoenheimsports.facebookservice.service;
 
-import fr.hoenheimsports.facebookservice.feignClient.FacebookGraphAPIFeignClient;
+import fr.hoenheimsports.facebookservice.config.CacheConfig;
+import fr.hoenheimsports.facebookservice.feignClient.FacebookGraphAPIResilientClient;
 import fr.hoenheimsports.facebookservice.feignClient.dto.GraphApiResponse;
 import fr.hoenheimsports.facebookservice.mapper.FeedEntityMapper;
 import fr.hoenheimsports.facebookservice.model.AccessToken;
 import fr.hoenheimsports.facebookservice.model.FeedEntity;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of the FacebookGraphAPIService interface for interacting with the Facebook Graph API.
  *
- * <p>This service is responsible for fetching feed posts from the organization's Facebook page
+ * <p>This service is responsible for fetching feed posts from the Facebook pages
  * using the Facebook Graph API. It handles authentication, data retrieval, and conversion
  * of API responses to domain entities.</p>
  *
  * <p>The results of the fetchFacebookFeeds method are cached to improve performance
- * and reduce the number of calls to the Facebook API.</p>
+ * and reduce the number of calls to the Facebook API, with one cache entry per page.
+ * The cached lists are sorted newest first, so that they can be merged without re-sorting.</p>
  *
  * @since 1.0
  */
@@ -29,9 +33,9 @@ import java.util.List;
 @Slf4j
 public class FacebookGraphAPIServiceServiceImpl implements FacebookGraphAPIService {
     /**
-     * Feign client for communicating with the Facebook Graph API.
+     * Resilient client (retry, circuit breaker, bulkhead) for communicating with the Facebook Graph API.
      */
-    private final FacebookGraphAPIFeignClient facebookGraphAPIFeignClient;
+    private final FacebookGraphAPIResilientClient facebookGraphAPIClient;
 
     /**
      * Mapper for converting between API response DTOs and domain entities.
@@ -43,50 +47,99 @@ public class FacebookGraphAPIServiceServiceImpl implements FacebookGraphAPIServi
      */
     private final AccessTokenService accessTokenService;
 
+    /**
+     * Media proxy service, made aware of the image URLs of each fetched feed.
+     */
+    private final MediaService mediaService;
+
     /**
      * Constructs a new FacebookGraphAPIServiceServiceImpl with the specified dependencies.
      *
-     * @param facebookGraphAPIFeignClient Feign client for communicating with the Facebook Graph API
+     * @param facebookGraphAPIClient      Resilient client for communicating with the Facebook Graph API
      * @param feedEntityMapper            Mapper for converting between API response DTOs and domain entities
      * @param accessTokenService          Service for managing Facebook access tokens
+     * @param mediaService                Media proxy service registering the image URLs of the feeds
      */
     public FacebookGraphAPIServiceServiceImpl(
-            FacebookGraphAPIFeignClient facebookGraphAPIFeignClient,
+            FacebookGraphAPIResilientClient facebookGraphAPIClient,
             FeedEntityMapper feedEntityMapper,
-            AccessTokenService accessTokenService) {
-        this.facebookGraphAPIFeignClient = facebookGraphAPIFeignClient;
+            AccessTokenService accessTokenService,
+            MediaService mediaService) {
+        this.facebookGraphAPIClient = facebookGraphAPIClient;
         this.feedEntityMapper = feedEntityMapper;
         this.accessTokenService = accessTokenService;
+        this.mediaService = mediaService;
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>This implementation retrieves the current access token, exchanges it to ensure
+     * <p>This implementation retrieves the current access token of the page, exchanges it to ensure
      * its validity, then calls the Facebook Graph API to fetch feed posts. The results
-     * are cached to improve performance.</p>
+     * are cached per page to improve performance.</p>
      *
      * <p>The method requests specific fields from the API including post ID, creation time,
      * message content, and attachments with their media information.</p>
      *
+     * @param pageId The identifier of the page in the Facebook Graph API
      * @return A list of feed entities containing the posts and their attachments, or an empty list if no data is available
      */
-    @Cacheable(value = "facebookFeeds", unless = "#result.isEmpty()")
+    @Cacheable(value = CacheConfig.FACEBOOK_FEEDS_CACHE, key = "#pageId", unless = "#result.isEmpty()")
     @Override
-    public List<FeedEntity> fetchFacebookFeeds() {
-        log.info("Récupération des feeds Facebook");
+    public List<FeedEntity> fetchFacebookFeeds(String pageId) {
+        log.info("Récupération des feeds Facebook de la page {}", pageId);
         log.debug("Récupération du token d'accès courant");
 
-        return accessTokenService.getCurrentToken()
-                .map(this::fetchAndMapFeeds)
+        return accessTokenService.getCurrentToken(pageId)
+                .map(token -> fetchAndMapFeeds(pageId, token))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation fetches the feeds like {@link #fetchFacebookFeeds(String)} but always
+     * calls the API and puts the result in the cache, replacing the patched list.</p>
+     *
+     * @param pageId The identifier of the page in the Facebook Graph API
+     * @return The refreshed list of feed entities, or an empty list if no data is available
+     */
+    @CachePut(value = CacheConfig.FACEBOOK_FEEDS_CACHE, key = "#pageId", unless = "#result.isEmpty()")
+    @Override
+    public List<FeedEntity> refreshFacebookFeeds(String pageId) {
+        log.info("Rafraîchissement complet des feeds Facebook de la page {}", pageId);
+        return accessTokenService.getCurrentToken(pageId)
+                .map(token -> fetchAndMapFeeds(pageId, token))
                 .orElseGet(List::of);
     }
 
-    private List<FeedEntity> fetchAndMapFeeds(AccessToken token) {
-        exchangeAndValidateToken(token);
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation uses the current access token without exchanging it, the token
+     * being renewed by the full fetches.</p>
+     *
+     * @param pageId The identifier of the page in the Facebook Graph API
+     * @param postId The Graph API identifier of the post
+     * @return The post with its attachments, or an empty optional if no access token is available for the page
+     */
+    @Override
+    public Optional<FeedEntity> fetchFacebookFeed(String pageId, String postId) {
+        log.info("Récupération de la publication Facebook {} de la page {}", postId, pageId);
+        return accessTokenService.getCurrentToken(pageId)
+                .map(token -> this.facebookGraphAPIClient.getPost(postId, encodeRequestedFields(), token.getAccessToken()))
+                .map(this.feedEntityMapper::toEntity)
+                .map(feed -> {
+                    this.mediaService.registerSources(List.of(feed));
+                    return feed;
+                });
+    }
+
+    private List<FeedEntity> fetchAndMapFeeds(String pageId, AccessToken token) {
+        exchangeAndValidateToken(pageId, token);
 
         var fields = encodeRequestedFields();
-        var apiGraph = getFeedsFromFacebook(fields, token.getAccessToken());
+        var apiGraph = getFeedsFromFacebook(pageId, fields, token.getAccessToken());
 
         if (apiGraph == null || apiGraph.data() == null) {
             log.warn("Aucune donnée reçue de l'API Facebook");
@@ -96,9 +149,9 @@ public class FacebookGraphAPIServiceServiceImpl implements FacebookGraphAPIServi
         return mapApiGraphToFeedEntities(apiGraph);
     }
 
-    private void exchangeAndValidateToken(AccessToken token) {
+    private void exchangeAndValidateToken(String pageId, AccessToken token) {
         log.debug("Échange du token pour assurer sa validité");
-        this.accessTokenService.exchangeToken(token.getAccessToken());
+        this.accessTokenService.exchangeToken(pageId, token.getAccessToken());
     }
 
     private String encodeRequestedFields() {
@@ -109,15 +162,19 @@ public class FacebookGraphAPIServiceServiceImpl implements FacebookGraphAPIServi
         );
     }
 
-    private GraphApiResponse getFeedsFromFacebook(String fields, String accessToken) {
+    private GraphApiResponse getFeedsFromFacebook(String pageId, String fields, String accessToken) {
         log.debug("Appel à l'API Facebook pour récupérer les feeds");
-        return this.facebookGraphAPIFeignClient.getFeed(fields, 100, accessToken);
+        return this.facebookGraphAPIClient.getFeed(pageId, fields, 100, accessToken);
     }
 
     private List<FeedEntity> mapApiGraphToFeedEntities(GraphApiResponse apiGraph) {
         log.debug("Conversion des données reçues en entités");
-        var feeds = apiGraph.data().stream().map(this.feedEntityMapper::toEntity).toList();
+        var feeds = apiGraph.data().stream()
+                .map(this.feedEntityMapper::toEntity)
+                .sorted(FeedMerger.NEWEST_FIRST)
+                .toList();
         log.info("{} feeds Facebook récupérés", feeds.size());
+        this.mediaService.registerSources(feeds);
         return feeds;
     }
 
@@ -0,0 +1,38 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.model.FacebookPage;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for managing the Facebook pages aggregated by the service.
+ *
+ * @since 1.0
+ */
+public interface FacebookPageService {
+
+    /**
+     * Retrieves the pages whose feed is fetched and aggregated.
+     *
+     * @return The enabled pages, ordered by registration
+     */
+    List<FacebookPage> getEnabledPages();
+
+    /**
+     * Retrieves a page by its Graph API identifier.
+     *
+     * @param graphPageId The identifier of the page in the Facebook Graph API
+     * @return The page, or an empty optional if the page is not registered
+     */
+    Optional<FacebookPage> getPage(String graphPageId);
+
+    /**
+     * Registers a page, or updates its name if it is already registered.
+     *
+     * @param graphPageId The identifier of the page in the Facebook Graph API
+     * @param name        The display name of the page, keeps the current name if null
+     * @return The registered page
+     */
+    FacebookPage registerPage(String graphPageId, String name);
+}
@@ -0,0 +1,60 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.config.CacheConfig;
+import fr.hoenheimsports.facebookservice.model.FacebookPage;
+import fr.hoenheimsports.facebookservice.repository.FacebookPageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the FacebookPageService interface.
+ *
+ * <p>The list of enabled pages is read on every feed request, so it is cached and evicted
+ * when a page is registered.</p>
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class FacebookPageServiceImpl implements FacebookPageService {
+
+    private final FacebookPageRepository facebookPageRepository;
+
+    public FacebookPageServiceImpl(FacebookPageRepository facebookPageRepository) {
+        this.facebookPageRepository = facebookPageRepository;
+    }
+
+    @Cacheable(CacheConfig.FACEBOOK_PAGES_CACHE)
+    @Override
+    public List<FacebookPage> getEnabledPages() {
+        log.debug("Récupération des pages Facebook actives");
+        return facebookPageRepository.findAllByEnabledTrueOrderById();
+    }
+
+    @Override
+    public Optional<FacebookPage> getPage(String graphPageId) {
+        return facebookPageRepository.findByGraphPageId(graphPageId);
+    }
+
+    @CacheEvict(value = CacheConfig.FACEBOOK_PAGES_CACHE, allEntries = true)
+    @Override
+    public FacebookPage registerPage(String graphPageId, String name) {
+        var page = facebookPageRepository.findByGraphPageId(graphPageId)
+                .orElseGet(() -> {
+                    log.info("Enregistrement de la page Facebook {}", graphPageId);
+                    var newPage = new FacebookPage();
+                    newPage.setGraphPageId(graphPageId);
+                    newPage.setName(graphPageId);
+                    return newPage;
+                });
+        if (name != null && !name.isBlank()) {
+            page.setName(name);
+        }
+        return facebookPageRepository.save(page);
+    }
+}
@@ -0,0 +1,200 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.controller.dto.FeedSearchDTORequest;
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import fr.hoenheimsports.facebookservice.model.SubAttachmentEntity;
+
+import java.text.Normalizer;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Immutable in-memory index of the feed lists of the aggregated pages.
+ *
+ * <p>The per-page lists, already sorted newest first, are k-way merged and the posts are identified
+ * by their position in the merged list. The index holds an inverted index of the normalized message
+ * words (lowercase, without diacritics), the positions of the posts by page and by attachment type,
+ * and the sorted creation times, so that a search only combines bit sets instead of scanning every
+ * post and its attachment tree.</p>
+ *
+ * <p>An index is bound to the list instances it was built from: a cached feed list is replaced,
+ * never mutated, on each refresh or webhook patch.</p>
+ *
+ * @since 1.0
+ */
+final class FeedIndex {
+
+    static final FeedIndex EMPTY = new FeedIndex(Map.of());
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, List<FeedEntity>> sources;
+    private final List<FeedEntity> feeds;
+    private final OffsetDateTime[] createdTimes;
+    private final NavigableMap<String, BitSet> terms = new TreeMap<>();
+    private final Map<String, BitSet> mediaTypes = new HashMap<>();
+    private final Map<String, BitSet> pages = new HashMap<>();
+
+    /**
+     * @param sources The feed list of each page, sorted newest first, by Graph API page id
+     */
+    FeedIndex(Map<String, List<FeedEntity>> sources) {
+        this.sources = new LinkedHashMap<>(sources);
+        this.feeds = FeedMerger.merge(List.copyOf(sources.values()));
+        this.createdTimes = feeds.stream().map(FeedEntity::getCreatedTime).toArray(OffsetDateTime[]::new);
+        Map<FeedEntity, String> pageOf = new IdentityHashMap<>();
+        sources.forEach((pageId, pageFeeds) -> pageFeeds.forEach(feed -> pageOf.put(feed, pageId)));
+        for (int position = 0; position < feeds.size(); position++) {
+            FeedEntity feed = feeds.get(position);
+            pages.computeIfAbsent(pageOf.get(feed), p -> new BitSet()).set(position);
+            for (String token : tokenize(feed.getMessage())) {
+                terms.computeIfAbsent(token, t -> new BitSet()).set(position);
+            }
+            for (String mediaType : mediaTypesOf(feed)) {
+                mediaTypes.computeIfAbsent(mediaType, t -> new BitSet()).set(position);
+            }
+        }
+    }
+
+    /**
+     * @return true if this index was built from the same pages and the same list instances
+     */
+    boolean isBuiltFrom(Map<String, List<FeedEntity>> lists) {
+        if (lists.size() != sources.size()) {
+            return false;
+        }
+        return lists.entrySet().stream().allMatch(entry -> sources.get(entry.getKey()) == entry.getValue());
+    }
+
+    /**
+     * @return All the posts, newest first
+     */
+    List<FeedEntity> feeds() {
+        return feeds;
+    }
+
+    int size() {
+        return feeds.size();
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Returns the posts matching all the criteria of the search, newest first.
+     *
+     * @param search The search criteria, the projected fields are ignored
+     * @return The matching posts
+     */
+    List<FeedEntity> search(FeedSearchDTORequest search) {
+        BitSet matches = new BitSet();
+        matches.set(0, feeds.size());
+        matches.and(dateRange(search.from(), search.to()));
+        if (search.pageId() != null && !search.pageId().isEmpty()) {
+            BitSet byPage = new BitSet();
+            search.pageId().stream()
+                    .map(pages::get)
+                    .filter(Objects::nonNull)
+                    .forEach(byPage::or);
+            matches.and(byPage);
+        }
+        if (search.mediaType() != null && !search.mediaType().isEmpty()) {
+            BitSet byMediaType = new BitSet();
+            search.mediaType().stream()
+                    .map(mediaType -> mediaTypes.get(mediaType.toLowerCase(Locale.ROOT)))
+                    .filter(Objects::nonNull)
+                    .forEach(byMediaType::or);
+            matches.and(byMediaType);
+        }
+        for (String token : tokenize(search.query())) {
+            if (matches.isEmpty()) {
+                break;
+            }
+            matches.and(prefixMatches(token));
+        }
+        return matches.stream().mapToObj(feeds::get).toList();
+    }
+
+    /**
+     * Positions of the posts created in the given range, found by binary search in the
+     * creation times sorted in descending order (posts without date sort last and never match a range).
+     */
+    private BitSet dateRange(OffsetDateTime from, OffsetDateTime to) {
+        int start = to == null ? 0 : firstPosition(time -> time == null || !time.isAfter(to));
+        int end = from != null ? firstPosition(time -> time == null || time.isBefore(from))
+                : to != null ? firstPosition(Objects::isNull) : feeds.size();
+        BitSet range = new BitSet();
+        if (start < end) {
+            range.set(start, end);
+        }
+        return range;
+    }
+
+    /**
+     * Binary search of the first position satisfying a predicate which is monotonic over the positions.
+     */
+    private int firstPosition(Predicate<OffsetDateTime> predicate) {
+        int low = 0;
+        int high = createdTimes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (predicate.test(createdTimes[middle])) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private BitSet prefixMatches(String prefix) {
+        BitSet matches = new BitSet();
+        terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(matches::or);
+        return matches;
+    }
+
+    /**
+     * Splits a text into normalized words: lowercase, without diacritics, letters and digits only.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> mediaTypesOf(FeedEntity feed) {
+        return feed.getAttachments().stream()
+                .flatMap(attachment -> Stream.concat(
+                        Stream.of(attachment.getMediaType(), attachment.getType()),
+                        attachment.getSubAttachments().stream().map(SubAttachmentEntity::getType)))
+                .filter(Objects::nonNull)
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of feed lists already sorted newest first.
+ *
+ * <p>The heads of the k lists are kept in a heap, so merging the first n posts costs
+ * O(n log k) instead of re-sorting the concatenation of every page.</p>
+ *
+ * @since 1.0
+ */
+final class FeedMerger {
+
+    static final Comparator<FeedEntity> NEWEST_FIRST = Comparator.comparing(
+            FeedEntity::getCreatedTime, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private FeedMerger() {
+    }
+
+    /**
+     * Position in one of the merged lists.
+     */
+    private record Cursor(List<FeedEntity> feeds, int position) {
+        FeedEntity head() {
+            return feeds.get(position);
+        }
+    }
+
+    /**
+     * Merges the sorted lists, stopping after {@code limit} posts.
+     *
+     * @param sortedLists The lists to merge, each sorted newest first
+     * @param limit       The maximum number of posts to return
+     * @return The merged posts, newest first
+     */
+    static List<FeedEntity> merge(List<List<FeedEntity>> sortedLists, int limit) {
+        if (sortedLists.size() == 1) {
+            List<FeedEntity> feeds = sortedLists.getFirst();
+            return feeds.size() <= limit ? feeds : feeds.subList(0, limit);
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                Comparator.comparing(Cursor::head, NEWEST_FIRST));
+        int total = 0;
+        for (List<FeedEntity> feeds : sortedLists) {
+            if (!feeds.isEmpty()) {
+                heads.add(new Cursor(feeds, 0));
+                total += feeds.size();
+            }
+        }
+        List<FeedEntity> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.position() + 1 < cursor.feeds().size()) {
+                heads.add(new Cursor(cursor.feeds(), cursor.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Merges all the posts of the sorted lists.
+     */
+    static List<FeedEntity> merge(List<List<FeedEntity>> sortedLists) {
+        return merge(sortedLists, Integer.MAX_VALUE);
+    }
+}
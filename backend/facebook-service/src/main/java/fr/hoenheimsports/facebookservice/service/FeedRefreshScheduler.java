@@ -0,0 +1,56 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Periodic full refresh of the cached feed list.
+ *
+ * <p>The feed changes are pushed by the webhooks, this sweep only catches up with missed or
+ * failed notifications, so it runs at a low frequency ({@code facebook.feed.sweep-interval}).
+ * It also renews the long-lived access token.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class FeedRefreshScheduler {
+
+    private final FacebookGraphAPIService facebookGraphAPIService;
+    private final FacebookPageService facebookPageService;
+    private final TaskExecutor feedRefreshExecutor;
+
+    public FeedRefreshScheduler(FacebookGraphAPIService facebookGraphAPIService,
+                                FacebookPageService facebookPageService,
+                                @Qualifier("feedRefreshExecutor") TaskExecutor feedRefreshExecutor) {
+        this.facebookGraphAPIService = facebookGraphAPIService;
+        this.facebookPageService = facebookPageService;
+        this.feedRefreshExecutor = feedRefreshExecutor;
+    }
+
+    /**
+     * Refreshes every enabled page in parallel on the bounded {@code feedRefreshExecutor}.
+     */
+    @Scheduled(fixedDelayString = "${facebook.feed.sweep-interval}", initialDelayString = "${facebook.feed.sweep-interval}")
+    public void refreshFeeds() {
+        var refreshes = facebookPageService.getEnabledPages().stream()
+                .map(page -> CompletableFuture.runAsync(() -> refreshPage(page.getGraphPageId()), feedRefreshExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(refreshes).join();
+        log.info("Rafraîchissement planifié des feeds terminé pour {} pages", refreshes.length);
+    }
+
+    private void refreshPage(String pageId) {
+        try {
+            int count = facebookGraphAPIService.refreshFacebookFeeds(pageId).size();
+            log.info("Rafraîchissement planifié des feeds de la page {} terminé: {} feeds", pageId, count);
+        } catch (RuntimeException e) {
+            log.error("Échec du rafraîchissement planifié des feeds de la page {}: {}", pageId, e.getMessage());
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package fr.hoenheimsports.facebookservice.service;
 
+import fr.hoenheimsports.facebookservice.controller.dto.FeedSearchDTORequest;
 import fr.hoenheimsports.facebookservice.model.FeedEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service interface for retrieving Facebook feed posts.
  * 
  * <p>This interface defines the contract for accessing Facebook feed posts
- * that have been fetched from the Facebook Graph API. It provides methods
- * for retrieving all feeds or a paginated subset of feeds.</p>
+ * that have been fetched from the Facebook Graph API for every aggregated page.
+ * It provides methods for retrieving all feeds or a searched, paginated subset of
+ * feeds, merged newest first.</p>
  * 
  * @since 1.0
  */
@@ -28,14 +31,25 @@ public interface FeedService {
     List<FeedEntity> getAllFeeds();
 
     /**
-     * Retrieves a paginated subset of Facebook feed posts.
-     * 
-     * <p>This method returns a page of feed posts from the organization's
-     * Facebook page based on the provided pagination parameters.</p>
-     * 
-     * @param pageable Pagination information including page number, page size, and sorting
+     * Retrieves a paginated subset of the Facebook feed posts matching the search criteria.
+     *
+     * <p>The posts are returned newest first. When fields are selected, the returned entities
+     * are projections holding only the graphApiId and the selected fields.</p>
+     *
+     * @param search   The filters (date range, media type, full-text query) and the selected fields
+     * @param pageable Pagination information including page number and page size
      * @return A page of feed entities
+     * @throws fr.hoenheimsports.facebookservice.exception.InvalidFeedSearchException if the criteria are inconsistent
+     */
+    Page<FeedEntity> searchFeeds(FeedSearchDTORequest search, Pageable pageable);
+
+    /**
+     * Retrieves the most recent posts of several Facebook pages as a single timeline.
+     *
+     * @param pageIds The Graph API ids of the pages to merge, all the aggregated pages if null or empty
+     * @param limit   The maximum number of posts to return
+     * @return The merged posts, newest first
      */
-    Page<FeedEntity> getFeeds(Pageable pageable);
+    List<FeedEntity> getMergedFeeds(Set<String> pageIds, int limit);
 
 }
@@ -1,76 +1,321 @@
 package fr.hoenheimsports.facebookservice.service;
 
+import feign.FeignException;
+import fr.hoenheimsports.facebookservice.config.CacheConfig;
+import fr.hoenheimsports.facebookservice.controller.dto.FeedSearchDTORequest;
+import fr.hoenheimsports.facebookservice.exception.FacebookGraphAPIException;
+import fr.hoenheimsports.facebookservice.exception.FacebookGraphAPIUnavailableException;
+import fr.hoenheimsports.facebookservice.exception.InvalidFeedSearchException;
+import fr.hoenheimsports.facebookservice.model.FacebookPage;
 import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of the FeedService interface for retrieving Facebook feed posts.
  * 
  * <p>This service is responsible for retrieving Facebook feed posts from the
  * FacebookGraphAPIService and providing them to clients, either as a complete
- * list or as a paginated subset.</p>
+ * list or as a paginated subset. The feeds of the enabled pages missing from the cache are
+ * fetched in parallel on the bounded {@code feedRefreshExecutor}, then k-way merged newest first.</p>
+ *
+ * <p>The last successfully fetched feed list of each page is kept as a snapshot. When the Graph API is
+ * unavailable (open circuit breaker, full bulkhead, exhausted retries), the snapshot is served
+ * instead of an error. Since the failure is propagated through the cached method, the fallback
+ * is never cached and the next request tries Facebook again.</p>
+ *
+ * <p>Searches go through a {@link FeedIndex} rebuilt only when a feed list instance changes,
+ * i.e. when the cache of a page is refreshed or patched by a webhook.</p>
  * 
  * @since 1.0
  */
 @Service
 @Slf4j
 public class FeedServiceImpl implements FeedService {
+
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("message", "createdTime", "attachments");
+
     /**
      * Service for interacting with the Facebook Graph API.
      */
     private final FacebookGraphAPIService facebookGraphAPIService;
 
+    /**
+     * Service providing the aggregated Facebook pages.
+     */
+    private final FacebookPageService facebookPageService;
+
+    /**
+     * Bounded executor fetching the pages in parallel.
+     */
+    private final TaskExecutor feedRefreshExecutor;
+
+    /**
+     * Cache manager holding the feed lists of the pages, read to serve the hits without the executor.
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Last feed list successfully fetched from the Facebook Graph API, by Graph API page id.
+     */
+    private final Map<String, List<FeedEntity>> lastGoodSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Number of requests served from the snapshot because the Graph API was unavailable.
+     */
+    private final Counter snapshotFallbackCounter;
+
+    /**
+     * Search index of the last served feed lists.
+     */
+    private final AtomicReference<FeedIndex> feedIndex = new AtomicReference<>(FeedIndex.EMPTY);
+
     /**
      * Constructs a new FeedServiceImpl with the specified FacebookGraphAPIService.
      * 
      * @param facebookGraphAPIService Service for interacting with the Facebook Graph API
+     * @param facebookPageService     Service providing the aggregated Facebook pages
+     * @param feedRefreshExecutor     Bounded executor fetching the pages in parallel
+     * @param cacheManager            Cache manager holding the feed lists of the pages
+     * @param meterRegistry           Registry used to export the snapshot fallback metrics
      */
-    public FeedServiceImpl(FacebookGraphAPIService facebookGraphAPIService) {
+    public FeedServiceImpl(FacebookGraphAPIService facebookGraphAPIService,
+                           FacebookPageService facebookPageService,
+                           @Qualifier("feedRefreshExecutor") TaskExecutor feedRefreshExecutor,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry) {
         this.facebookGraphAPIService = facebookGraphAPIService;
+        this.facebookPageService = facebookPageService;
+        this.feedRefreshExecutor = feedRefreshExecutor;
+        this.cacheManager = cacheManager;
+        this.snapshotFallbackCounter = Counter.builder("facebook.feeds.snapshot.fallback")
+                .description("Nombre de requêtes servies depuis le dernier snapshot des feeds")
+                .register(meterRegistry);
+        meterRegistry.gauge("facebook.feeds.snapshot.size", lastGoodSnapshots,
+                snapshots -> snapshots.values().stream().mapToInt(List::size).sum());
     }
 
     /**
      * {@inheritDoc}
      * 
      * <p>This implementation delegates to the FacebookGraphAPIService to fetch
-     * all available feed posts.</p>
+     * all available feed posts of every page, merged newest first.</p>
      * 
      * @return A list of all feed entities
      */
     @Override
     public List<FeedEntity> getAllFeeds() {
         log.debug("Récupération de tous les feeds Facebook");
-        var feeds = this.facebookGraphAPIService.fetchFacebookFeeds();
+        var feeds = indexOf(fetchPagesFeeds()).feeds();
         log.debug("{} feeds récupérés au total", feeds.size());
         return feeds;
     }
 
     /**
      * {@inheritDoc}
-     * 
-     * <p>This implementation fetches all feed posts from the FacebookGraphAPIService
-     * and then applies pagination to the result using the toPage helper method.</p>
-     * 
-     * @param pageable Pagination information including page number, page size, and sorting
+     *
+     * <p>This implementation queries the index of the current feed list, then projects and
+     * paginates the matching posts.</p>
+     *
+     * @param search   The filters and the selected fields
+     * @param pageable Pagination information including page number and page size
      * @return A page of feed entities
      */
     @Override
-    public Page<FeedEntity> getFeeds(Pageable pageable) {
-        log.debug("Récupération des feeds Facebook avec pagination: page={}, size={}", 
-                pageable.getPageNumber(), pageable.getPageSize());
-        var allFeeds = this.facebookGraphAPIService.fetchFacebookFeeds();
-        var pagedFeeds = toPage(allFeeds, pageable);
-        log.debug("{} feeds récupérés sur un total de {}", 
-                pagedFeeds.getContent().size(), pagedFeeds.getTotalElements());
+    public Page<FeedEntity> searchFeeds(FeedSearchDTORequest search, Pageable pageable) {
+        log.debug("Recherche de feeds Facebook: {}", search);
+        validate(search);
+        var matches = indexOf(fetchPagesFeeds()).search(search);
+        var projected = search.fields() == null || search.fields().isEmpty()
+                ? matches
+                : matches.stream().map(feed -> project(feed, search.fields())).toList();
+        var pagedFeeds = toPage(projected, pageable);
+        log.debug("{} feeds correspondent à la recherche", pagedFeeds.getTotalElements());
         return pagedFeeds;
     }
 
+    private static void validate(FeedSearchDTORequest search) {
+        if (search.from() != null && search.to() != null && search.from().isAfter(search.to())) {
+            throw new InvalidFeedSearchException("La date de début doit précéder la date de fin.");
+        }
+        if (search.fields() != null && !SELECTABLE_FIELDS.containsAll(search.fields())) {
+            throw new InvalidFeedSearchException("Champs sélectionnables: %s.".formatted(String.join(", ", SELECTABLE_FIELDS)));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation k-way merges the sorted feed lists of the selected pages and
+     * stops as soon as {@code limit} posts are merged.</p>
+     *
+     * @param pageIds The Graph API ids of the pages to merge, all the enabled pages if null or empty
+     * @param limit   The maximum number of posts to return
+     * @return The merged posts, newest first
+     */
+    @Override
+    public List<FeedEntity> getMergedFeeds(Set<String> pageIds, int limit) {
+        log.debug("Fusion des feeds des pages {} (limite {})", pageIds, limit);
+        if (limit < 1) {
+            throw new InvalidFeedSearchException("La limite doit être strictement positive.");
+        }
+        var pagesFeeds = fetchPagesFeeds();
+        var selected = pageIds == null || pageIds.isEmpty()
+                ? List.copyOf(pagesFeeds.values())
+                : pagesFeeds.entrySet().stream()
+                        .filter(entry -> pageIds.contains(entry.getKey()))
+                        .map(Map.Entry::getValue)
+                        .toList();
+        var merged = FeedMerger.merge(selected, limit);
+        log.debug("{} feeds fusionnés depuis {} pages", merged.size(), selected.size());
+        return merged;
+    }
+
+    private FeedIndex indexOf(Map<String, List<FeedEntity>> feeds) {
+        var current = feedIndex.get();
+        if (current.isBuiltFrom(feeds)) {
+            return current;
+        }
+        long start = System.nanoTime();
+        var rebuilt = new FeedIndex(feeds);
+        feedIndex.set(rebuilt);
+        log.info("Index des feeds reconstruit: {} feeds, {} termes en {} ms",
+                rebuilt.size(), rebuilt.termCount(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+
+    /**
+     * Copies the post with only its identifier and the selected fields, so that the attachment
+     * tree of the post is not mapped nor serialized when it is not requested.
+     */
+    private static FeedEntity project(FeedEntity feed, Set<String> fields) {
+        return new FeedEntity(
+                feed.getGraphApiId(),
+                fields.contains("message") ? feed.getMessage() : null,
+                fields.contains("createdTime") ? feed.getCreatedTime() : null,
+                fields.contains("attachments") ? feed.getAttachments() : null);
+    }
+
+    /**
+     * Fetches the feeds of every enabled page, in parallel on the bounded executor for the pages
+     * missing from the cache.
+     *
+     * <p>The cache hits are served on the caller thread, as is a single miss: only several misses,
+     * that is several calls to the Graph API, are worth the executor, whose few workers would
+     * otherwise be shared by all the concurrent requests.</p>
+     *
+     * <p>A page that cannot be fetched and has no snapshot is left out, so that one failing page
+     * does not hide the others. The request only fails if no page at all could be fetched.</p>
+     *
+     * @return The feed list of each page, newest first, by Graph API page id in page order
+     * @throws FacebookGraphAPIException if no page could be fetched
+     */
+    private Map<String, List<FeedEntity>> fetchPagesFeeds() {
+        var pages = facebookPageService.getEnabledPages();
+        var misses = pages.stream()
+                .map(FacebookPage::getGraphPageId)
+                .filter(pageId -> cachedFeeds(pageId) == null)
+                .toList();
+        var futures = new LinkedHashMap<String, CompletableFuture<List<FeedEntity>>>();
+        for (FacebookPage page : pages) {
+            String pageId = page.getGraphPageId();
+            if (misses.size() > 1 && misses.contains(pageId)) {
+                futures.put(pageId, CompletableFuture.supplyAsync(() -> fetchFeedsOrLastSnapshot(pageId), feedRefreshExecutor));
+            } else {
+                // Cache hit, or a single miss: nothing to wait for in parallel, served on the caller thread
+                futures.put(pageId, fetchOnCallerThread(pageId));
+            }
+        }
+        var pagesFeeds = new LinkedHashMap<String, List<FeedEntity>>();
+        RuntimeException firstFailure = null;
+        for (var entry : futures.entrySet()) {
+            try {
+                pagesFeeds.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                var cause = e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+                log.warn("Feeds de la page {} indisponibles: {}", entry.getKey(), cause.getMessage());
+                firstFailure = firstFailure == null ? cause : firstFailure;
+            }
+        }
+        if (pagesFeeds.isEmpty() && firstFailure != null) {
+            throw firstFailure;
+        }
+        return pagesFeeds;
+    }
+
+    private CompletableFuture<List<FeedEntity>> fetchOnCallerThread(String pageId) {
+        try {
+            return CompletableFuture.completedFuture(fetchFeedsOrLastSnapshot(pageId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FeedEntity> cachedFeeds(String pageId) {
+        Cache cache = cacheManager.getCache(CacheConfig.FACEBOOK_FEEDS_CACHE);
+        return cache == null ? null : (List<FeedEntity>) cache.get(pageId, List.class);
+    }
+
+    /**
+     * Fetches the feeds of a page through the cached FacebookGraphAPIService, falling back to the
+     * last good snapshot of the page when the Graph API is unavailable.
+     *
+     * @param pageId The Graph API id of the page
+     * @return The fresh feed list, or the last good snapshot if Facebook cannot be reached
+     * @throws FacebookGraphAPIException if Facebook cannot be reached and no snapshot is available
+     */
+    private List<FeedEntity> fetchFeedsOrLastSnapshot(String pageId) {
+        try {
+            var feeds = this.facebookGraphAPIService.fetchFacebookFeeds(pageId);
+            if (!feeds.isEmpty()) {
+                lastGoodSnapshots.put(pageId, feeds);
+            }
+            return feeds;
+        } catch (FacebookGraphAPIException | CallNotPermittedException | BulkheadFullException | FeignException e) {
+            var snapshot = lastGoodSnapshots.getOrDefault(pageId, List.of());
+            if (snapshot.isEmpty()) {
+                log.error("API Facebook indisponible et aucun snapshot disponible: {}", e.getMessage());
+                throw toUnavailableException(e);
+            }
+            log.warn("API Facebook indisponible ({}), retour du dernier snapshot de {} feeds de la page {}",
+                    e.getClass().getSimpleName(), snapshot.size(), pageId);
+            snapshotFallbackCounter.increment();
+            return snapshot;
+        }
+    }
+
+    private FacebookGraphAPIException toUnavailableException(RuntimeException e) {
+        if (e instanceof FacebookGraphAPIException facebookGraphAPIException) {
+            return facebookGraphAPIException;
+        }
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setTitle("Erreur Facebook Graph API");
+        problemDetail.setDetail("L'API Facebook est temporairement indisponible.");
+        return new FacebookGraphAPIUnavailableException(HttpStatus.SERVICE_UNAVAILABLE, problemDetail, e);
+    }
 
     /**
      * Converts a list to a paginated result based on the provided pagination parameters.
@@ -0,0 +1,47 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.controller.dto.FeedWebhookDTORequest;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the Facebook Graph API webhooks of the page feed.
+ *
+ * <p>This interface defines the contract for the webhook verification handshake, the
+ * signature check of the notifications and the application of the feed changes to the
+ * cached feed list, so that posts are updated in near real time without polling.</p>
+ *
+ * @since 1.0
+ */
+public interface FeedWebhookService {
+
+    /**
+     * Answers the verification handshake sent by Facebook when subscribing the webhook.
+     *
+     * @param mode        The {@code hub.mode} parameter, must be "subscribe"
+     * @param verifyToken The {@code hub.verify_token} parameter, must match the configured token
+     * @param challenge   The {@code hub.challenge} parameter
+     * @return The challenge to echo back, or an empty optional if the verification fails
+     */
+    Optional<String> verifySubscription(String mode, String verifyToken, String challenge);
+
+    /**
+     * Checks the {@code X-Hub-Signature-256} header of a notification.
+     *
+     * @param payload   The raw body of the notification
+     * @param signature The value of the signature header ({@code sha256=<hex>})
+     * @return true if the payload was signed with the application secret, false otherwise
+     */
+    boolean isSignatureValid(byte[] payload, String signature);
+
+    /**
+     * Applies the feed changes of a notification to the cached feed list.
+     *
+     * <p>Added or edited posts are fetched individually and inserted or replaced in place,
+     * removed or hidden posts are dropped from the list. Other changes (comments, reactions)
+     * are ignored.</p>
+     *
+     * @param notification The verified notification
+     */
+    void handleNotification(FeedWebhookDTORequest notification);
+}
@@ -0,0 +1,168 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.config.CacheConfig;
+import fr.hoenheimsports.facebookservice.controller.dto.FeedWebhookDTORequest;
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementation of the FeedWebhookService interface patching the {@value CacheConfig#FACEBOOK_FEEDS_CACHE} cache.
+ *
+ * <p>The feed lists are cached by Graph API page id, the page being given by the {@code id} of each
+ * notification entry. Patches are serialized and only applied when the list of the page is already
+ * cached: otherwise the next read fetches the full list anyway.</p>
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class FeedWebhookServiceImpl implements FeedWebhookService {
+
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FEED_FIELD = "feed";
+    private static final Set<String> POST_ITEMS = Set.of("status", "post", "photo", "video", "share");
+    private static final Set<String> UPSERT_VERBS = Set.of("add", "edited", "edit", "unhide");
+    private static final Set<String> REMOVE_VERBS = Set.of("remove", "hide");
+
+    private final FacebookGraphAPIService facebookGraphAPIService;
+    private final CacheManager cacheManager;
+
+    /**
+     * The token expected in the subscription handshake, as configured in the Facebook application.
+     */
+    @Value("${facebook.webhook.verify-token}")
+    private String verifyToken;
+
+    /**
+     * The Facebook application client secret, used to sign the notifications.
+     */
+    @Value("${facebook.api.client-secret}")
+    private String clientSecret;
+
+    public FeedWebhookServiceImpl(FacebookGraphAPIService facebookGraphAPIService, CacheManager cacheManager) {
+        this.facebookGraphAPIService = facebookGraphAPIService;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Optional<String> verifySubscription(String mode, String verifyToken, String challenge) {
+        boolean valid = "subscribe".equals(mode)
+                && this.verifyToken != null && !this.verifyToken.isBlank()
+                && MessageDigest.isEqual(this.verifyToken.getBytes(StandardCharsets.UTF_8),
+                Objects.requireNonNullElse(verifyToken, "").getBytes(StandardCharsets.UTF_8));
+        if (!valid) {
+            log.warn("Échec de la vérification de l'abonnement au webhook (mode={})", mode);
+            return Optional.empty();
+        }
+        log.info("Abonnement au webhook Facebook vérifié");
+        return Optional.ofNullable(challenge);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] payload, String signature) {
+        if (signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+            log.warn("Notification webhook reçue sans signature");
+            return false;
+        }
+        try {
+            byte[] expected = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(clientSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            boolean valid = MessageDigest.isEqual(mac.doFinal(payload), expected);
+            if (!valid) {
+                log.warn("Signature invalide pour une notification webhook");
+            }
+            return valid;
+        } catch (IllegalArgumentException e) {
+            log.warn("Signature mal formée pour une notification webhook");
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 non disponible", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation runs asynchronously, so that Facebook gets its acknowledgement
+     * without waiting for the post to be fetched.</p>
+     *
+     * @param notification The verified notification
+     */
+    @Async
+    @Override
+    public void handleNotification(FeedWebhookDTORequest notification) {
+        if (notification.entry() == null) {
+            return;
+        }
+        notification.entry().stream()
+                .filter(entry -> entry.id() != null && entry.changes() != null)
+                .forEach(entry -> entry.changes().stream()
+                        .filter(change -> FEED_FIELD.equals(change.field()) && change.value() != null)
+                        .map(FeedWebhookDTORequest.Change::value)
+                        .filter(value -> value.postId() != null && POST_ITEMS.contains(value.item()))
+                        .forEach(value -> applyChange(entry.id(), value)));
+    }
+
+    private void applyChange(String pageId, FeedWebhookDTORequest.Value value) {
+        log.info("Notification webhook de la page {}: {} {} pour la publication {}", pageId, value.item(), value.verb(), value.postId());
+        try {
+            if (UPSERT_VERBS.contains(value.verb())) {
+                facebookGraphAPIService.fetchFacebookFeed(pageId, value.postId())
+                        .ifPresent(feed -> patchCachedFeeds(pageId, feeds -> upsert(feeds, feed)));
+            } else if (REMOVE_VERBS.contains(value.verb())) {
+                patchCachedFeeds(pageId, feeds -> remove(feeds, value.postId()));
+            } else {
+                log.debug("Verbe {} ignoré pour la publication {}", value.verb(), value.postId());
+            }
+        } catch (RuntimeException e) {
+            // The scheduled full refresh catches up with the missed change
+            log.error("Impossible d'appliquer la notification pour la publication {}: {}", value.postId(), e.getMessage());
+        }
+    }
+
+    private static List<FeedEntity> upsert(List<FeedEntity> feeds, FeedEntity feed) {
+        List<FeedEntity> patched = new ArrayList<>(remove(feeds, feed.getGraphApiId()));
+        patched.add(feed);
+        patched.sort(FeedMerger.NEWEST_FIRST);
+        return List.copyOf(patched);
+    }
+
+    private static List<FeedEntity> remove(List<FeedEntity> feeds, String graphApiId) {
+        return feeds.stream()
+                .filter(feed -> !graphApiId.equals(feed.getGraphApiId()))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void patchCachedFeeds(String pageId, UnaryOperator<List<FeedEntity>> patch) {
+        Cache cache = cacheManager.getCache(CacheConfig.FACEBOOK_FEEDS_CACHE);
+        List<FeedEntity> current = cache == null ? null : (List<FeedEntity>) cache.get(pageId, List.class);
+        if (current == null) {
+            log.debug("Aucun feed en cache, la notification sera prise en compte au prochain chargement");
+            return;
+        }
+        List<FeedEntity> patched = patch.apply(current);
+        cache.put(pageId, patched);
+        log.debug("Cache des feeds de la page {} mis à jour: {} feeds", pageId, patched.size());
+    }
+}
@@ -0,0 +1,178 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.config.MediaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded local disk cache for the proxied media files.
+ *
+ * <p>Files are tracked in an access-ordered map so that the least recently used files are
+ * deleted first once the total size exceeds {@link MediaProperties#maxCacheSize()}. The index is
+ * rebuilt from the directory content (ordered by modification time) at startup, so the cache
+ * survives restarts.</p>
+ *
+ * <p>Files are written to a temporary file and atomically moved in place: a reader never sees a
+ * partially written file. A file is deleted on eviction even if it is being read: a reader that
+ * opened it keeps reading the deleted file through its descriptor, but a path returned by
+ * {@link #get(String)} and not opened yet may no longer exist, the callers handle the
+ * {@link java.nio.file.NoSuchFileException} by fetching the entry again.</p>
+ *
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class MediaDiskCache {
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * Writes the content of a cache entry to the given file.
+     */
+    @FunctionalInterface
+    public interface EntryWriter {
+        void write(Path target) throws IOException;
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * File name to file size, in access order (eldest first).
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    public MediaDiskCache(MediaProperties mediaProperties, MeterRegistry meterRegistry) {
+        this.directory = mediaProperties.cacheDirectory();
+        this.maxBytes = mediaProperties.maxCacheSize().toBytes();
+        loadIndex();
+        meterRegistry.gauge("facebook.media.cache.bytes", this, MediaDiskCache::currentBytes);
+        meterRegistry.gauge("facebook.media.cache.entries", this, MediaDiskCache::entryCount);
+    }
+
+    /**
+     * Returns the cached file with the given name, marking it as recently used.
+     *
+     * @param name The name of the cache entry
+     * @return The path of the cached file, or an empty optional if it is not cached
+     */
+    public Optional<Path> get(String name) {
+        synchronized (entries) {
+            if (entries.get(name) == null) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(directory.resolve(name));
+    }
+
+    /**
+     * Stores a new entry, then evicts the least recently used entries if the cache is full.
+     *
+     * @param name   The name of the cache entry
+     * @param writer The callback writing the entry content
+     * @return The path of the cached file
+     * @throws IOException if the entry cannot be written
+     */
+    public Path put(String name, EntryWriter writer) throws IOException {
+        Path target = directory.resolve(name);
+        Path tmp = Files.createTempFile(directory, name, TMP_SUFFIX);
+        try {
+            writer.write(tmp);
+            long size = Files.size(tmp);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (entries) {
+                Long previous = entries.put(name, size);
+                currentBytes += size - (previous == null ? 0 : previous);
+                evict(name);
+            }
+            log.debug("Média {} ajouté au cache ({} octets, total {} octets)", name, size, currentBytes);
+            return target;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void evict(String protectedName) {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(protectedName)) {
+                continue;
+            }
+            iterator.remove();
+            currentBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(directory.resolve(eldest.getKey()));
+                log.debug("Média {} évincé du cache", eldest.getKey());
+            } catch (IOException e) {
+                log.warn("Impossible de supprimer le média {} du cache: {}", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void loadIndex() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(Files::isRegularFile)
+                        .sorted(Comparator.comparing(MediaDiskCache::lastModified))
+                        .forEach(this::index);
+            }
+            synchronized (entries) {
+                evict(null);
+            }
+            log.info("Cache des médias chargé depuis {}: {} fichiers, {} octets", directory, entries.size(), currentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'initialiser le cache des médias dans " + directory, e);
+        }
+    }
+
+    private void index(Path file) {
+        try {
+            if (file.getFileName().toString().endsWith(TMP_SUFFIX)) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            long size = Files.size(file);
+            entries.put(file.getFileName().toString(), size);
+            currentBytes += size;
+        } catch (IOException e) {
+            log.warn("Fichier {} ignoré lors du chargement du cache: {}", file, e.getMessage());
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private long currentBytes() {
+        synchronized (entries) {
+            return currentBytes;
+        }
+    }
+
+    private int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
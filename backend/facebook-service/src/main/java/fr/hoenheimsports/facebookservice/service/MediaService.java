@@ -0,0 +1,57 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Service interface for the feed attachment media proxy.
+ *
+ * <p>This interface defines the contract for serving the images of the Facebook feed
+ * attachments from a local cache instead of the Facebook CDN, whose signed URLs expire.
+ * Images are downloaded once and resized to a bounded set of widths.</p>
+ *
+ * @since 1.0
+ */
+public interface MediaService {
+
+    /**
+     * Computes the stable proxy key of an image source URL.
+     *
+     * <p>The key ignores the query string, which only carries the CDN signature,
+     * so it stays the same when Facebook renews the signed URL.</p>
+     *
+     * @param src The Facebook CDN URL of the image
+     * @return The proxy key of the image
+     */
+    String keyOf(String src);
+
+    /**
+     * Registers the image URLs of the given feeds so that they can be served by the proxy.
+     *
+     * @param feeds The freshly fetched feeds
+     */
+    void registerSources(List<FeedEntity> feeds);
+
+    /**
+     * Returns a resized variant of an image, downloading and resizing it on first access.
+     *
+     * @param key   The proxy key of the image
+     * @param width The requested width in pixels, or null for the largest variant
+     * @return The cached variant file
+     * @throws fr.hoenheimsports.facebookservice.exception.MediaNotFoundException if the key is unknown
+     */
+    CachedMedia getMedia(String key, Integer width);
+
+    /**
+     * A variant of an image stored in the local cache.
+     *
+     * @param path      The cached file
+     * @param mediaType The content type of the file
+     * @param etag      The entity tag of the variant
+     */
+    record CachedMedia(Path path, MediaType mediaType, String etag) {
+    }
+}
@@ -0,0 +1,312 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.hoenheimsports.facebookservice.config.MediaProperties;
+import fr.hoenheimsports.facebookservice.exception.FacebookGraphAPIException;
+import fr.hoenheimsports.facebookservice.exception.MediaNotFoundException;
+import fr.hoenheimsports.facebookservice.model.AttachmentEntity;
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import fr.hoenheimsports.facebookservice.model.MediaEmbeddable;
+import fr.hoenheimsports.facebookservice.model.SubAttachmentEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the MediaService interface backed by {@link MediaDiskCache}.
+ *
+ * <p>The image is downloaded once from the Facebook CDN and stored as {@code <key>.src}. Variants are
+ * generated with pure Java scaling (successive bilinear halvings, which keeps the quality close to an
+ * area-averaging filter) and stored as {@code <key>-<width>.jpg}, or {@code .png} for images with
+ * transparency. Requested widths are snapped to {@link MediaProperties#widths()} to bound the number
+ * of variants per image, and images are never upscaled.</p>
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class MediaServiceImpl implements MediaService {
+
+    private static final String SOURCE_SUFFIX = ".src";
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final int LOCK_STRIPES = 64;
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{32}");
+
+    private final MediaDiskCache mediaDiskCache;
+    private final RestClient mediaRestClient;
+    private final MediaProperties mediaProperties;
+    private final List<Integer> widths;
+
+    /**
+     * Proxy key to the latest signed CDN URL of the image.
+     */
+    private final Cache<String, String> sources = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    /**
+     * Striped locks so that concurrent requests for the same file only resize or download it once.
+     * Variant locks are always taken before source locks, the two sets are distinct to avoid deadlocks.
+     */
+    private final Object[] variantLocks = Stream.generate(Object::new).limit(LOCK_STRIPES).toArray();
+    private final Object[] sourceLocks = Stream.generate(Object::new).limit(LOCK_STRIPES).toArray();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public MediaServiceImpl(MediaDiskCache mediaDiskCache, RestClient mediaRestClient, MediaProperties mediaProperties, MeterRegistry meterRegistry) {
+        this.mediaDiskCache = mediaDiskCache;
+        this.mediaRestClient = mediaRestClient;
+        this.mediaProperties = mediaProperties;
+        this.widths = mediaProperties.widths().stream().sorted().toList();
+        this.hitCounter = meterRegistry.counter("facebook.media.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("facebook.media.requests", "result", "miss");
+    }
+
+    @Override
+    public String keyOf(String src) {
+        int queryIndex = src.indexOf('?');
+        String withoutSignature = queryIndex < 0 ? src : src.substring(0, queryIndex);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(withoutSignature.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+
+    @Override
+    public void registerSources(List<FeedEntity> feeds) {
+        log.debug("Enregistrement des médias de {} feeds dans le proxy", feeds.size());
+        feeds.stream()
+                .flatMap(feed -> feed.getAttachments().stream())
+                .flatMap(MediaServiceImpl::mediaOf)
+                .map(MediaEmbeddable::image)
+                .filter(image -> image != null && image.src() != null)
+                .forEach(image -> sources.put(keyOf(image.src()), image.src()));
+        log.debug("{} médias connus par le proxy", sources.estimatedSize());
+    }
+
+    private static Stream<MediaEmbeddable> mediaOf(AttachmentEntity attachment) {
+        Stream<MediaEmbeddable> subAttachmentMedia = attachment.getSubAttachments().stream()
+                .map(SubAttachmentEntity::getMedia);
+        return Stream.concat(Stream.ofNullable(attachment.getMedia()), subAttachmentMedia)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public CachedMedia getMedia(String key, Integer width) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new MediaNotFoundException(key);
+        }
+        int variantWidth = snapWidth(width);
+        String baseName = key + "-" + variantWidth;
+        log.debug("Demande du média {} en largeur {} (variante {})", key, width, variantWidth);
+
+        Optional<CachedMedia> cached = findVariant(baseName);
+        if (cached.isPresent()) {
+            hitCounter.increment();
+            return cached.get();
+        }
+        missCounter.increment();
+        synchronized (lockFor(variantLocks, baseName)) {
+            return findVariant(baseName).orElseGet(() -> createVariant(key, baseName, variantWidth));
+        }
+    }
+
+    private int snapWidth(Integer width) {
+        int largest = widths.getLast();
+        if (width == null) {
+            return largest;
+        }
+        return widths.stream()
+                .filter(candidate -> candidate >= width)
+                .findFirst()
+                .orElse(largest);
+    }
+
+    private Optional<CachedMedia> findVariant(String baseName) {
+        return mediaDiskCache.get(baseName + ".jpg")
+                .map(path -> new CachedMedia(path, MediaType.IMAGE_JPEG, etagOf(baseName)))
+                .or(() -> mediaDiskCache.get(baseName + ".png")
+                        .map(path -> new CachedMedia(path, MediaType.IMAGE_PNG, etagOf(baseName))));
+    }
+
+    private CachedMedia createVariant(String key, String baseName, int variantWidth) {
+        try {
+            BufferedImage image;
+            try {
+                image = decode(key, getOrDownloadSource(key));
+            } catch (NoSuchFileException e) {
+                // Source evicted between its lookup and its reading: downloaded again
+                log.debug("Source du média {} évincée du cache pendant sa lecture", key);
+                image = decode(key, getOrDownloadSource(key));
+            }
+            boolean transparent = image.getColorModel().hasAlpha();
+            BufferedImage scaled = scale(image, variantWidth, transparent);
+            String fileName = baseName + (transparent ? ".png" : ".jpg");
+            Path path = mediaDiskCache.put(fileName, target -> write(scaled, transparent, target));
+            log.info("Variante {} du média {} générée ({}x{})", variantWidth, key, scaled.getWidth(), scaled.getHeight());
+            return new CachedMedia(path, transparent ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG, etagOf(baseName));
+        } catch (IOException e) {
+            log.error("Erreur lors du redimensionnement du média {}: {}", key, e.getMessage(), e);
+            throw new MediaNotFoundException(key);
+        }
+    }
+
+    private Path getOrDownloadSource(String key) {
+        String fileName = key + SOURCE_SUFFIX;
+        Optional<Path> cached = mediaDiskCache.get(fileName);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        synchronized (lockFor(sourceLocks, fileName)) {
+            return mediaDiskCache.get(fileName).orElseGet(() -> download(key, fileName));
+        }
+    }
+
+    private Path download(String key, String fileName) {
+        String src = sources.getIfPresent(key);
+        if (src == null) {
+            throw new MediaNotFoundException(key);
+        }
+        log.info("Téléchargement du média {} depuis le CDN Facebook", key);
+        try {
+            return mediaDiskCache.put(fileName, target -> mediaRestClient.get()
+                    .uri(URI.create(src))
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IOException("Statut " + response.getStatusCode().value() + " du CDN Facebook");
+                        }
+                        long maxBytes = mediaProperties.maxSourceSize().toBytes();
+                        long contentLength = response.getHeaders().getContentLength();
+                        if (contentLength > maxBytes) {
+                            throw new IOException("Média trop volumineux: " + contentLength + " octets");
+                        }
+                        // Without Content-Length (chunked response) the bound is enforced while copying
+                        try (InputStream body = new BoundedInputStream(response.getBody(), maxBytes)) {
+                            Files.copy(body, target, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                        return target;
+                    }));
+        } catch (IOException | RuntimeException e) {
+            log.error("Erreur lors du téléchargement du média {}: {}", key, e.getMessage());
+            ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_GATEWAY);
+            problemDetail.setTitle("Erreur CDN Facebook");
+            problemDetail.setDetail("Impossible de télécharger le média depuis le CDN Facebook.");
+            throw new FacebookGraphAPIException(HttpStatus.BAD_GATEWAY, problemDetail, e);
+        }
+    }
+
+    /**
+     * Decodes an image, after checking its dimensions from its header: a small compressed file can
+     * decode to a huge bitmap.
+     */
+    private BufferedImage decode(String key, Path source) throws IOException {
+        try (InputStream file = Files.newInputStream(source);
+             ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new MediaNotFoundException(key);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > mediaProperties.maxSourcePixels()) {
+                    throw new IOException("Média trop grand: " + reader.getWidth(0) + "x" + reader.getHeight(0) + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image down to the target width by successive halvings, keeping the aspect ratio.
+     */
+    private static BufferedImage scale(BufferedImage image, int targetWidth, boolean transparent) {
+        if (image.getWidth() <= targetWidth) {
+            targetWidth = image.getWidth();
+        }
+        int targetHeight = Math.max(1, Math.round(image.getHeight() * (targetWidth / (float) image.getWidth())));
+        int type = transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(height / 2, targetHeight);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static void write(BufferedImage image, boolean transparent, Path target) throws IOException {
+        if (transparent) {
+            ImageIO.write(image, "png", target.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static Object lockFor(Object[] locks, String name) {
+        return locks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static String etagOf(String baseName) {
+        return "\"" + baseName + "\"";
+    }
+}
@@ -0,0 +1,26 @@
+-- Migration pour agréger plusieurs pages Facebook (sections et clubs partenaires)
+
+-- Pages Facebook suivies, identifiées par leur id Graph API
+CREATE TABLE facebook_page
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    graph_page_id VARCHAR(64)  NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    enabled       BOOLEAN      NOT NULL DEFAULT TRUE,
+    CONSTRAINT pk_facebookpage PRIMARY KEY (id),
+    CONSTRAINT uc_facebookpage_graph_page_id UNIQUE (graph_page_id)
+);
+
+-- Reprise de la page historique, jusqu'ici codée en dur dans le client Feign
+INSERT INTO facebook_page (id, graph_page_id, name)
+VALUES (1, '500999826723464', 'Hoenheim Sports');
+
+ALTER TABLE facebook_page
+    ALTER COLUMN id RESTART WITH 2;
+
+-- Le token n'est plus un singleton : son id est celui de la page qu'il authentifie
+DELETE FROM access_token
+WHERE id <> 1;
+
+ALTER TABLE access_token
+    ADD CONSTRAINT fk_accesstoken_facebook_page FOREIGN KEY (id) REFERENCES facebook_page (id) ON DELETE CASCADE;
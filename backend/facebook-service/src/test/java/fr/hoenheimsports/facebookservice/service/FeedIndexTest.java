@@ -0,0 +1,107 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.controller.dto.FeedSearchDTORequest;
+import fr.hoenheimsports.facebookservice.model.AttachmentEntity;
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedIndexTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-01T12:00:00Z");
+
+    private Map<String, List<FeedEntity>> sources;
+    private FeedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        sources = new LinkedHashMap<>();
+        sources.put("page-1", List.of(
+                feed("a", "Victoire de l'équipe première", NOW.minusDays(1), "photo"),
+                feed("c", "Entraînement annulé", NOW.minusDays(3))));
+        sources.put("page-2", List.of(
+                feed("b", "Résumé vidéo du match", NOW.minusDays(2), "VIDEO"),
+                feed("d", "Sans date", null)));
+        index = new FeedIndex(sources);
+    }
+
+    @Test
+    void tokenizesToLowercaseWordsWithoutDiacritics() {
+        assertThat(FeedIndex.tokenize("Équipe PREMIÈRE, l'entraînement 2025 !"))
+                .containsExactly("equipe", "premiere", "l", "entrainement", "2025");
+        assertThat(FeedIndex.tokenize(null)).isEmpty();
+        assertThat(FeedIndex.tokenize("  ")).isEmpty();
+    }
+
+    @Test
+    void mergesThePagesNewestFirstWithTheUndatedPostsLast() {
+        assertThat(index.feeds()).extracting(FeedEntity::getGraphApiId).containsExactly("a", "b", "c", "d");
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.search(FeedSearchDTORequest.ALL)).isEqualTo(index.feeds());
+    }
+
+    @Test
+    void matchesEveryQueryWordAsAPrefixIgnoringCaseAndDiacritics() {
+        assertThat(ids(search(null, null, null, null, "equipe"))).containsExactly("a");
+        assertThat(ids(search(null, null, null, null, "ENTRAIN"))).containsExactly("c");
+        assertThat(ids(search(null, null, null, null, "victoire prem"))).containsExactly("a");
+        assertThat(ids(search(null, null, null, null, "victoire match"))).isEmpty();
+        assertThat(ids(search(null, null, null, null, "inconnu"))).isEmpty();
+    }
+
+    @Test
+    void filtersByPageAndMediaType() {
+        assertThat(ids(search(Set.of("page-2"), null, null, null, null))).containsExactly("b", "d");
+        assertThat(ids(search(Set.of("unknown"), null, null, null, null))).isEmpty();
+        assertThat(ids(search(null, null, null, Set.of("Video"), null))).containsExactly("b");
+        assertThat(ids(search(null, null, null, Set.of("photo", "video"), null))).containsExactly("a", "b");
+        assertThat(ids(search(Set.of("page-1"), null, null, Set.of("video"), null))).isEmpty();
+    }
+
+    @Test
+    void filtersByAnInclusiveDateRangeExcludingTheUndatedPosts() {
+        assertThat(ids(search(null, NOW.minusDays(2), null, null, null))).containsExactly("a", "b");
+        assertThat(ids(search(null, null, NOW.minusDays(2), null, null))).containsExactly("b", "c");
+        assertThat(ids(search(null, NOW.minusDays(3), NOW.minusDays(2), null, null))).containsExactly("b", "c");
+        assertThat(ids(search(null, NOW, null, null, null))).isEmpty();
+    }
+
+    @Test
+    void isBoundToTheListInstancesItWasBuiltFrom() {
+        assertThat(index.isBuiltFrom(new LinkedHashMap<>(sources))).isTrue();
+
+        Map<String, List<FeedEntity>> refreshed = new LinkedHashMap<>(sources);
+        refreshed.put("page-1", new ArrayList<>(sources.get("page-1")));
+        assertThat(index.isBuiltFrom(refreshed)).isFalse();
+
+        assertThat(index.isBuiltFrom(Map.of("page-1", sources.get("page-1")))).isFalse();
+    }
+
+    private List<FeedEntity> search(Set<String> pageId, OffsetDateTime from, OffsetDateTime to,
+                                    Set<String> mediaType, String query) {
+        return index.search(new FeedSearchDTORequest(pageId, from, to, mediaType, query, null));
+    }
+
+    private static List<String> ids(List<FeedEntity> feeds) {
+        return feeds.stream().map(FeedEntity::getGraphApiId).toList();
+    }
+
+    private static FeedEntity feed(String graphApiId, String message, OffsetDateTime createdTime, String... mediaTypes) {
+        List<AttachmentEntity> attachments = new ArrayList<>();
+        for (String mediaType : mediaTypes) {
+            AttachmentEntity attachment = new AttachmentEntity();
+            attachment.setMediaType(mediaType);
+            attachments.add(attachment);
+        }
+        return new FeedEntity(graphApiId, message, createdTime, attachments);
+    }
+}
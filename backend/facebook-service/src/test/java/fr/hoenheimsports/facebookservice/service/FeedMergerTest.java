@@ -0,0 +1,71 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedMergerTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-01T12:00:00Z");
+
+    @Test
+    void mergesTheSortedListsNewestFirst() {
+        List<FeedEntity> page1 = List.of(feed("a", 1), feed("c", 3), feed("e", 5));
+        List<FeedEntity> page2 = List.of(feed("b", 2), feed("d", 4));
+        List<FeedEntity> page3 = List.of(feed("f", 6));
+
+        assertThat(ids(FeedMerger.merge(List.of(page1, page2, page3))))
+                .containsExactly("a", "b", "c", "d", "e", "f");
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        List<FeedEntity> page1 = List.of(feed("a", 1), feed("c", 3), feed("e", 5));
+        List<FeedEntity> page2 = List.of(feed("b", 2), feed("d", 4));
+
+        assertThat(ids(FeedMerger.merge(List.of(page1, page2), 3))).containsExactly("a", "b", "c");
+        assertThat(FeedMerger.merge(List.of(page1, page2), 0)).isEmpty();
+    }
+
+    @Test
+    void returnsASingleListWithoutCopyingIt() {
+        List<FeedEntity> page = List.of(feed("a", 1), feed("b", 2), feed("c", 3));
+
+        assertThat(FeedMerger.merge(List.of(page))).isSameAs(page);
+        assertThat(ids(FeedMerger.merge(List.of(page), 2))).containsExactly("a", "b");
+    }
+
+    @Test
+    void skipsTheEmptyLists() {
+        List<FeedEntity> page = List.of(feed("a", 1), feed("b", 2));
+
+        assertThat(FeedMerger.merge(List.of())).isEmpty();
+        assertThat(FeedMerger.merge(List.of(List.of(), List.of()))).isEmpty();
+        assertThat(ids(FeedMerger.merge(List.of(List.of(), page, List.of())))).containsExactly("a", "b");
+    }
+
+    @Test
+    void sortsTheUndatedPostsLast() {
+        List<FeedEntity> page1 = List.of(feed("a", 1), undated("x"));
+        List<FeedEntity> page2 = List.of(feed("b", 2));
+
+        assertThat(ids(FeedMerger.merge(List.of(page1, page2)))).containsExactly("a", "b", "x");
+    }
+
+    private static List<String> ids(List<FeedEntity> feeds) {
+        return feeds.stream().map(FeedEntity::getGraphApiId).toList();
+    }
+
+    private static FeedEntity feed(String graphApiId, int daysAgo) {
+        return new FeedEntity(graphApiId, null, NOW.minusDays(daysAgo), new ArrayList<>());
+    }
+
+    private static FeedEntity undated(String graphApiId) {
+        return new FeedEntity(graphApiId, null, null, new ArrayList<>());
+    }
+}
@@ -0,0 +1,153 @@
+package fr.hoenheimsports.facebookservice.service;
+
+import fr.hoenheimsports.facebookservice.config.CacheConfig;
+import fr.hoenheimsports.facebookservice.controller.dto.FeedWebhookDTORequest;
+import fr.hoenheimsports.facebookservice.model.FeedEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FeedWebhookServiceImplTest {
+
+    private static final String CLIENT_SECRET = "client-secret";
+    private static final String VERIFY_TOKEN = "verify-token";
+    private static final String PAGE_ID = "page-1";
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-03-01T12:00:00Z");
+
+    private final FacebookGraphAPIService facebookGraphAPIService = mock(FacebookGraphAPIService.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.FACEBOOK_FEEDS_CACHE);
+    private FeedWebhookServiceImpl feedWebhookService;
+
+    @BeforeEach
+    void setUp() {
+        feedWebhookService = new FeedWebhookServiceImpl(facebookGraphAPIService, cacheManager);
+        ReflectionTestUtils.setField(feedWebhookService, "clientSecret", CLIENT_SECRET);
+        ReflectionTestUtils.setField(feedWebhookService, "verifyToken", VERIFY_TOKEN);
+    }
+
+    @Test
+    void acceptsThePayloadSignedWithTheClientSecret() throws Exception {
+        byte[] payload = "{\"object\":\"page\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(feedWebhookService.isSignatureValid(payload, "sha256=" + hmac(CLIENT_SECRET, payload))).isTrue();
+    }
+
+    @Test
+    void rejectsAPayloadSignedWithAnotherSecret() throws Exception {
+        byte[] payload = "{\"object\":\"page\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(feedWebhookService.isSignatureValid(payload, "sha256=" + hmac("other-secret", payload))).isFalse();
+    }
+
+    @Test
+    void rejectsAModifiedPayload() throws Exception {
+        byte[] payload = "{\"object\":\"page\"}".getBytes(StandardCharsets.UTF_8);
+        String signature = "sha256=" + hmac(CLIENT_SECRET, payload);
+
+        assertThat(feedWebhookService.isSignatureValid("{\"object\":\"user\"}".getBytes(StandardCharsets.UTF_8), signature))
+                .isFalse();
+    }
+
+    @Test
+    void rejectsAMissingOrMalformedSignature() {
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(feedWebhookService.isSignatureValid(payload, null)).isFalse();
+        assertThat(feedWebhookService.isSignatureValid(payload, "sha1=abcd")).isFalse();
+        assertThat(feedWebhookService.isSignatureValid(payload, "sha256=not-hex")).isFalse();
+    }
+
+    @Test
+    void answersTheChallengeOnlyWithTheVerifyToken() {
+        assertThat(feedWebhookService.verifySubscription("subscribe", VERIFY_TOKEN, "challenge")).contains("challenge");
+        assertThat(feedWebhookService.verifySubscription("subscribe", "wrong-token", "challenge")).isEmpty();
+        assertThat(feedWebhookService.verifySubscription("subscribe", null, "challenge")).isEmpty();
+        assertThat(feedWebhookService.verifySubscription("unsubscribe", VERIFY_TOKEN, "challenge")).isEmpty();
+    }
+
+    @Test
+    void insertsAnAddedPostInTheCachedFeedsNewestFirst() {
+        FeedEntity older = feed("post-1", NOW.minusDays(2));
+        FeedEntity newer = feed("post-2", NOW.minusDays(1));
+        cache().put(PAGE_ID, List.of(newer, older));
+        FeedEntity added = feed("post-3", NOW);
+        when(facebookGraphAPIService.fetchFacebookFeed(PAGE_ID, "post-3")).thenReturn(Optional.of(added));
+
+        feedWebhookService.handleNotification(notification("status", "add", "post-3"));
+
+        assertThat(cachedFeeds()).extracting(FeedEntity::getGraphApiId).containsExactly("post-3", "post-2", "post-1");
+    }
+
+    @Test
+    void replacesAnEditedPost() {
+        cache().put(PAGE_ID, List.of(feed("post-2", NOW.minusDays(1)), feed("post-1", NOW.minusDays(2))));
+        FeedEntity edited = feed("post-1", NOW.minusDays(2));
+        edited.setMessage("edited");
+        when(facebookGraphAPIService.fetchFacebookFeed(PAGE_ID, "post-1")).thenReturn(Optional.of(edited));
+
+        feedWebhookService.handleNotification(notification("status", "edited", "post-1"));
+
+        assertThat(cachedFeeds()).extracting(FeedEntity::getGraphApiId).containsExactly("post-2", "post-1");
+        assertThat(cachedFeeds().get(1).getMessage()).isEqualTo("edited");
+    }
+
+    @Test
+    void removesARemovedPostWithoutCallingTheGraphApi() {
+        cache().put(PAGE_ID, List.of(feed("post-2", NOW.minusDays(1)), feed("post-1", NOW.minusDays(2))));
+
+        feedWebhookService.handleNotification(notification("photo", "remove", "post-2"));
+
+        assertThat(cachedFeeds()).extracting(FeedEntity::getGraphApiId).containsExactly("post-1");
+        verifyNoInteractions(facebookGraphAPIService);
+    }
+
+    @Test
+    void ignoresTheCommentsAndTheUncachedPages() {
+        feedWebhookService.handleNotification(notification("comment", "add", "post-1"));
+        feedWebhookService.handleNotification(notification("status", "remove", "post-1"));
+
+        assertThat(cache().get(PAGE_ID)).isNull();
+        verifyNoInteractions(facebookGraphAPIService);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.FACEBOOK_FEEDS_CACHE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FeedEntity> cachedFeeds() {
+        return (List<FeedEntity>) cache().get(PAGE_ID, List.class);
+    }
+
+    private static FeedWebhookDTORequest notification(String item, String verb, String postId) {
+        FeedWebhookDTORequest.Change change = new FeedWebhookDTORequest.Change("feed",
+                new FeedWebhookDTORequest.Value(item, verb, postId));
+        return new FeedWebhookDTORequest("page", List.of(new FeedWebhookDTORequest.Entry(PAGE_ID, 0, List.of(change))));
+    }
+
+    private static FeedEntity feed(String graphApiId, OffsetDateTime createdTime) {
+        return new FeedEntity(graphApiId, "message " + graphApiId, createdTime, new ArrayList<>());
+    }
+
+    private static String hmac(String secret, byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload));
+    }
+}
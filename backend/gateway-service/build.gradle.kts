@@ -2,8 +2,10 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.4"
     id("io.spring.dependency-management") version "1.1.7"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
 }
 val springCloudVersion by extra("2024.0.1")
+val brotli4jVersion = "1.16.0"
 
 group = "fr.hoenheimsports"
 version = "0.0.1-SNAPSHOT"
@@ -19,6 +21,9 @@ repositories {
 }
 
 dependencies {
+    // Bibliothèque partagée (build inclus ../service-common)
+    implementation("fr.hoenheimsports:service-common:0.0.1-SNAPSHOT")
+
     // Spring Boot Core
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.hateoas:spring-hateoas")
@@ -30,6 +35,19 @@ dependencies {
     implementation("org.springframework.cloud:spring-cloud-starter-config")
     implementation("org.springframework.cloud:spring-cloud-starter-netflix-eureka-client")
 
+    // Validation des JWT (décodeur Nimbus seul, sans la chaîne de filtres Spring Security)
+    implementation("org.springframework.security:spring-security-oauth2-jose")
+
+    // Cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    // Compression Brotli, négociée par Netty quand la bibliothèque native est chargée.
+    // Une bibliothèque native par plateforme (production et postes de développement) ; ailleurs, gzip.
+    runtimeOnly("com.aayushatharva.brotli4j:brotli4j:$brotli4jVersion")
+    listOf("linux-x86_64", "linux-aarch64", "osx-x86_64", "osx-aarch64", "windows-x86_64").forEach { platform ->
+        runtimeOnly("com.aayushatharva.brotli4j:native-$platform:$brotli4jVersion")
+    }
+
     // Monitoring & Observability
     implementation("io.micrometer:micrometer-tracing-bridge-brave")
     implementation("io.zipkin.reporter2:zipkin-reporter-brave")
@@ -55,3 +73,6 @@ dependencyManagement {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+apply(from = "../gradle/aot.gradle.kts")
+apply(from = "../gradle/native.gradle.kts")
@@ -1 +1,4 @@
 rootProject.name = "gateway-service"
+
+// Bibliothèque partagée par les services
+includeBuild("../service-common")
@@ -30,6 +30,7 @@ public class APiRootController {
         root.add(Link.of(baseUrl + "/training-service" + "/api/training-sessions").withRel("training-sessions"));
         root.add(Link.of(baseUrl + "/contact-service" + "/api").withRel("contact"));
         root.add(Link.of(baseUrl + "/facebook-service" + "/api/feeds").withRel("facebook"));
+        root.add(Link.of(baseUrl + "/api/home").withRel("home"));
 
         logger.debug("Modèle racine créé avec {} liens", root.getLinks().toList().size());
         logger.info("Retour du modèle racine de l'API");
@@ -1,11 +1,14 @@
 package fr.hoenheimsports.gatewayservice;
 
+import fr.hoenheimsports.gatewayservice.config.NativeHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class GatewayServiceApplication {
     private static final Logger logger = LoggerFactory.getLogger(GatewayServiceApplication.class);
 
@@ -0,0 +1,123 @@
+package fr.hoenheimsports.gatewayservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.hoenheimsports.gatewayservice.config.HomeProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Composite endpoint of the public home page.
+ *
+ * <p>The sections configured in {@link HomeProperties} are fetched in parallel through the
+ * load-balanced WebClient and merged into one document, so that the home page costs the browser
+ * a single round trip. A section which fails or exceeds {@link HomeProperties#timeout()} is left
+ * out and listed in {@code missing}: the page is rendered with what is available instead of
+ * waiting for the slowest service.</p>
+ *
+ * <p>The endpoint is not a gateway route, so neither the rate limiter nor the response cache
+ * applies to it: a complete document is kept in memory for {@link HomeProperties#maxAge()}, the
+ * {@code max-age} sent to the browsers, and the requests arriving while it is composed share it.
+ * A partial document is not kept, the next request fetches the sections again.</p>
+ */
+@RestController
+@EnableConfigurationProperties(HomeProperties.class)
+public class HomeController {
+    private static final Logger logger = LoggerFactory.getLogger(HomeController.class);
+
+    private static final String MISSING = "missing";
+
+    private final WebClient webClient;
+    private final HomeProperties homeProperties;
+    private final Mono<Document> document;
+
+    /**
+     * A fetched section, empty if it is missing.
+     */
+    private record Section(String name, Optional<JsonNode> content) {
+    }
+
+    /**
+     * A composed document.
+     *
+     * @param content    The sections by name, with the list of the missing ones
+     * @param complete   Whether every section is present
+     * @param composedAt When the document was composed, from {@link System#nanoTime()}
+     */
+    private record Document(Map<String, Object> content, boolean complete, long composedAt) {
+    }
+
+    public HomeController(WebClient.Builder loadBalancedWebClientBuilder, HomeProperties homeProperties) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.homeProperties = homeProperties;
+        this.document = Mono.defer(this::compose)
+                .cache(composed -> composed.complete() ? homeProperties.maxAge() : Duration.ZERO,
+                        e -> Duration.ZERO,
+                        () -> Duration.ZERO);
+    }
+
+    @GetMapping(value = "/api/home", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Map<String, Object>>> home() {
+        logger.info("Réception d'une requête pour la page d'accueil composite");
+        return document.map(composed -> {
+            // A partial document must not be kept by the browser, a complete one no longer than in memory
+            Duration remaining = homeProperties.maxAge().minusNanos(System.nanoTime() - composed.composedAt());
+            CacheControl cacheControl = composed.complete()
+                    ? CacheControl.maxAge(remaining.isNegative() ? Duration.ZERO : remaining)
+                    : CacheControl.noStore();
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .body(composed.content());
+        });
+    }
+
+    private Mono<Document> compose() {
+        long start = System.nanoTime();
+        return Flux.fromIterable(homeProperties.sections().entrySet())
+                .flatMapSequential(section -> fetch(section.getKey(), section.getValue()))
+                .collectList()
+                .map(sections -> {
+                    Map<String, Object> document = new LinkedHashMap<>();
+                    List<String> missing = new ArrayList<>();
+                    sections.forEach(section -> section.content().ifPresentOrElse(
+                            content -> document.put(section.name(), content),
+                            () -> missing.add(section.name())));
+                    document.put(MISSING, missing);
+                    logger.info("Page d'accueil composée en {} ms, sections manquantes: {}",
+                            Duration.ofNanos(System.nanoTime() - start).toMillis(), missing);
+                    return new Document(document, missing.isEmpty(), System.nanoTime());
+                });
+    }
+
+    private Mono<Section> fetch(String name, URI uri) {
+        return webClient.get()
+                .uri(uri)
+                .accept(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(homeProperties.timeout())
+                .map(content -> new Section(name, Optional.of(content)))
+                .onErrorResume(e -> {
+                    logger.warn("Section {} de la page d'accueil indisponible ({}): {}", name, uri, e.toString());
+                    return Mono.just(new Section(name, Optional.empty()));
+                })
+                .defaultIfEmpty(new Section(name, Optional.empty()));
+    }
+}
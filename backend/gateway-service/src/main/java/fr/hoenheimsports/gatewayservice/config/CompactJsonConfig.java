@@ -0,0 +1,22 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.hoenheimsports.gatewayservice.filter.CompactJsonGlobalFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CompactJsonConfig {
+    private static final Logger logger = LoggerFactory.getLogger(CompactJsonConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.compact-json", name = "enabled", matchIfMissing = true)
+    public CompactJsonGlobalFilter compactJsonGlobalFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        logger.debug("Création du filtre du profil JSON compact");
+        return new CompactJsonGlobalFilter(objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the composite home page endpoint.
+ *
+ * @param timeout  Maximum time to wait for each section, a late section is left out of the document
+ * @param maxAge   Time a complete document is kept in memory and by the browsers
+ * @param sections Sections of the document by name, with the load-balanced URI they are fetched from
+ *                 (for example {@code lb://training-service/api/teams}), in display order
+ */
+@ConfigurationProperties(prefix = "custom.home")
+public record HomeProperties(@DefaultValue("2s") Duration timeout,
+                             @DefaultValue("30s") Duration maxAge,
+                             @DefaultValue Map<String, URI> sections) {
+}
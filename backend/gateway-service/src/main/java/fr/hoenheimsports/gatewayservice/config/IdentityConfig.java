@@ -0,0 +1,64 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.hoenheimsports.gatewayservice.filter.JwtIdentityGlobalFilter;
+import fr.hoenheimsports.gatewayservice.identity.InternalIdentitySigner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+
+/**
+ * Validation of the JWTs at the gateway, the identity being forwarded signed to the backends.
+ */
+@Configuration
+@EnableConfigurationProperties(IdentityProperties.class)
+@ConditionalOnProperty(prefix = "custom.identity", name = "enabled")
+public class IdentityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(IdentityConfig.class);
+
+    private final IdentityProperties identityProperties;
+
+    public IdentityConfig(IdentityProperties identityProperties) {
+        Assert.isTrue(StringUtils.hasText(identityProperties.jwkSetUri()),
+                "custom.identity.jwk-set-uri est requis quand la validation des JWT est activée");
+        Assert.isTrue(StringUtils.hasText(identityProperties.internalSecret()),
+                "custom.identity.internal-secret est requis quand la validation des JWT est activée");
+        this.identityProperties = identityProperties;
+    }
+
+    @Bean
+    public ReactiveJwtDecoder gatewayJwtDecoder() {
+        logger.debug("Création du décodeur JWT avec le JWK Set {}", identityProperties.jwkSetUri());
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSetUri(identityProperties.jwkSetUri()).build();
+        if (StringUtils.hasText(identityProperties.issuerUri())) {
+            decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(identityProperties.issuerUri()));
+        }
+        return decoder;
+    }
+
+    @Bean
+    public InternalIdentitySigner internalIdentitySigner(ObjectMapper objectMapper) {
+        return new InternalIdentitySigner(identityProperties.internalSecret(), identityProperties.internalTokenTtl(),
+                objectMapper, Clock.systemUTC());
+    }
+
+    @Bean
+    public JwtIdentityGlobalFilter jwtIdentityGlobalFilter(ReactiveJwtDecoder gatewayJwtDecoder,
+                                                           InternalIdentitySigner internalIdentitySigner,
+                                                           MeterRegistry meterRegistry) {
+        logger.info("Validation des JWT au gateway activée, identité transmise signée aux backends");
+        return new JwtIdentityGlobalFilter(gatewayJwtDecoder, internalIdentitySigner,
+                identityProperties.maxCachedTokens(), Clock.systemUTC(), meterRegistry);
+    }
+}
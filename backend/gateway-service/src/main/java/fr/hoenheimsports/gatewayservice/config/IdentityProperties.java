@@ -0,0 +1,25 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the validation of the JWTs at the gateway.
+ *
+ * @param enabled          Whether the bearer tokens are validated by the gateway
+ * @param jwkSetUri        URI of the JSON Web Key Set of Keycloak
+ * @param issuerUri        Expected issuer of the tokens, not checked when empty
+ * @param maxCachedTokens  Maximum number of verified tokens kept with their claims
+ * @param internalTokenTtl Lifetime of the identity forwarded to the backends
+ * @param internalSecret   Secret shared with the backends to sign the forwarded identity
+ */
+@ConfigurationProperties(prefix = "custom.identity")
+public record IdentityProperties(@DefaultValue("false") boolean enabled,
+                                 String jwkSetUri,
+                                 String issuerUri,
+                                 @DefaultValue("10000") int maxCachedTokens,
+                                 @DefaultValue("30s") Duration internalTokenTtl,
+                                 String internalSecret) {
+}
@@ -0,0 +1,67 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import fr.hoenheimsports.gatewayservice.filter.HedgingGlobalFilter;
+import fr.hoenheimsports.gatewayservice.filter.LoadTrackingGlobalFilter;
+import fr.hoenheimsports.gatewayservice.loadbalancer.InstanceLoadTracker;
+import fr.hoenheimsports.gatewayservice.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+/**
+ * Load balancing of the backend instances by latency and load, and hedged requests.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class LoadBalancerConfig {
+    private static final Logger logger = LoggerFactory.getLogger(LoadBalancerConfig.class);
+
+    @Bean
+    public InstanceLoadTracker instanceLoadTracker(LoadBalancerProperties loadBalancerProperties) {
+        return new InstanceLoadTracker(loadBalancerProperties);
+    }
+
+    @Bean
+    public LoadTrackingGlobalFilter loadTrackingGlobalFilter(InstanceLoadTracker instanceLoadTracker) {
+        return new LoadTrackingGlobalFilter(instanceLoadTracker);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "custom.load-balancer", name = "latency-aware", matchIfMissing = true)
+    @LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+    static class LatencyAwareConfig {
+
+        LatencyAwareConfig() {
+            logger.debug("Répartition de charge par latence (peak EWMA, deux choix aléatoires) activée");
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.load-balancer.hedging", name = "enabled")
+    public HedgingGlobalFilter hedgingGlobalFilter(LoadBalancerProperties loadBalancerProperties,
+                                                   LoadBalancerClientFactory loadBalancerClientFactory,
+                                                   InstanceLoadTracker instanceLoadTracker,
+                                                   ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                                   ObjectProvider<WebClientCustomizer> customizers,
+                                                   MeterRegistry meterRegistry) {
+        // The instances are addressed directly, without the load-balanced builder
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        builder.codecs(codecs -> codecs.defaultCodecs()
+                .maxInMemorySize((int) loadBalancerProperties.hedging().maxResponseSize().toBytes()));
+        return new HedgingGlobalFilter(loadBalancerProperties.hedging(), loadBalancerClientFactory, instanceLoadTracker,
+                headersFiltersProvider, builder.build(), meterRegistry);
+    }
+}
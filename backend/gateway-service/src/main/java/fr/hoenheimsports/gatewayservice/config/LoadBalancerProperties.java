@@ -0,0 +1,48 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the latency-aware load balancing towards the backend instances.
+ *
+ * @param latencyAware   Whether the instances are chosen by latency and load instead of round robin
+ * @param decayTime      Time after which a latency sample weighs about a third of its initial weight
+ * @param defaultLatency Latency assumed for an instance which did not serve any request yet
+ * @param failurePenalty Latency recorded for a request which failed or got a 5xx response
+ * @param hedging        Hedged requests for the idempotent GETs
+ */
+@ConfigurationProperties(prefix = "custom.load-balancer")
+public record LoadBalancerProperties(@DefaultValue("true") boolean latencyAware,
+                                     @DefaultValue("10s") Duration decayTime,
+                                     @DefaultValue("100ms") Duration defaultLatency,
+                                     @DefaultValue("2s") Duration failurePenalty,
+                                     @DefaultValue Hedging hedging) {
+
+    /**
+     * Hedged requests: when the first instance did not answer a GET after the given percentile of
+     * the recent latencies of the service, the request is also sent to a second instance and the
+     * first response is used.
+     *
+     * @param enabled         Whether the GETs are hedged
+     * @param services        Services whose GETs are hedged
+     * @param percentile      Percentile of the recent latencies after which the hedge is sent
+     * @param minDelay        Minimum delay before the hedge, also used while there are too few samples
+     * @param maxDelay        Maximum delay before the hedge
+     * @param timeout         Maximum time of a hedged request
+     * @param maxResponseSize Maximum size of a buffered response, the larger ones are routed
+     *                        without hedging
+     */
+    public record Hedging(@DefaultValue("false") boolean enabled,
+                          @DefaultValue List<String> services,
+                          @DefaultValue("0.95") double percentile,
+                          @DefaultValue("50ms") Duration minDelay,
+                          @DefaultValue("1s") Duration maxDelay,
+                          @DefaultValue("10s") Duration timeout,
+                          @DefaultValue("4MB") DataSize maxResponseSize) {
+    }
+}
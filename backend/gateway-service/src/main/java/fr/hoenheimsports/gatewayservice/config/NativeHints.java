@@ -0,0 +1,35 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import fr.hoenheimsports.gatewayservice.ratelimit.Consumption;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection and resource hints of the native image, built with {@code -Pnative}.
+ *
+ * <p>Spring HATEOAS, springdoc, Spring Cloud Gateway and the Eureka client ship their own hints,
+ * only what they cannot infer is registered here: the payloads exchanged by the rate limiter
+ * instances and the Brotli native library loaded by Netty. The loki4j appender and the Eureka
+ * registry payloads are registered by {@code CommonNativeHints} of service-common.</p>
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String BROTLI4J_PACKAGE = "com.aayushatharva.brotli4j";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Consumption.class);
+
+        // Netty checks the availability of Brotli by reflection, the library is extracted from the jar
+        hints.reflection().registerType(TypeReference.of(BROTLI4J_PACKAGE + ".Brotli4jLoader"),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        for (String type : new String[]{"encoder.EncoderJNI", "decoder.DecoderJNI"}) {
+            hints.jni().registerType(TypeReference.of(BROTLI4J_PACKAGE + "." + type),
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        hints.resources().registerPattern("lib/linux-*/libbrotli.so"); // Linux native image, x86_64 or aarch64
+    }
+}
@@ -0,0 +1,73 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import fr.hoenheimsports.gatewayservice.ratelimit.ClientKeyResolver;
+import fr.hoenheimsports.gatewayservice.ratelimit.LocalRateLimiter;
+import fr.hoenheimsports.gatewayservice.ratelimit.RateLimitSyncController;
+import fr.hoenheimsports.gatewayservice.ratelimit.RateLimitSyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Rate limiting of the routes without Redis.
+ *
+ * <p>The {@link LocalRateLimiter} and the {@link ClientKeyResolver} are the defaults of the
+ * {@code RequestRateLimiter} filter, which the routes enable in their {@code filters} or in
+ * {@code spring.cloud.gateway.default-filters}.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "custom.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    @Bean
+    public LocalRateLimiter localRateLimiter(RateLimitProperties rateLimitProperties,
+                                             ConfigurationService configurationService,
+                                             MeterRegistry meterRegistry) {
+        logger.debug("Création du limiteur de débit local");
+        return new LocalRateLimiter(rateLimitProperties, configurationService, meterRegistry);
+    }
+
+    @Bean
+    public ClientKeyResolver clientKeyResolver(RateLimitProperties rateLimitProperties) {
+        logger.debug("Création du résolveur de clé client avec {} proxies de confiance", rateLimitProperties.trustedProxies());
+        return new ClientKeyResolver(rateLimitProperties.trustedProxies());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "custom.rate-limit.sync", name = "enabled")
+    static class SyncConfig {
+
+        SyncConfig(RateLimitProperties rateLimitProperties) {
+            Assert.isTrue(StringUtils.hasText(rateLimitProperties.sync().secret()),
+                    "custom.rate-limit.sync.secret est requis quand la synchronisation est activée");
+            logger.debug("Synchronisation du limiteur de débit activée toutes les {}", rateLimitProperties.sync().interval());
+        }
+
+        @Bean
+        public RateLimitSyncService rateLimitSyncService(LocalRateLimiter localRateLimiter,
+                                                         ReactiveDiscoveryClient discoveryClient,
+                                                         Registration registration,
+                                                         RateLimitProperties rateLimitProperties,
+                                                         MeterRegistry meterRegistry) {
+            return new RateLimitSyncService(localRateLimiter, discoveryClient, registration, rateLimitProperties, meterRegistry);
+        }
+
+        @Bean
+        public RateLimitSyncController rateLimitSyncController(LocalRateLimiter localRateLimiter,
+                                                               RateLimitProperties rateLimitProperties,
+                                                               MeterRegistry meterRegistry) {
+            return new RateLimitSyncController(localRateLimiter, rateLimitProperties.sync().secret(), meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process rate limiter of the gateway.
+ *
+ * @param enabled         Whether the {@code local-rate-limiter} and its key resolver are created
+ * @param replenishRate   Default number of requests per second allowed to a client on a route
+ * @param burstCapacity   Default number of requests a client can send at once on a route
+ * @param requestedTokens Default number of tokens taken by a request
+ * @param maxTrackedKeys  Maximum number of buckets kept in memory, the least recently used ones are dropped
+ * @param trustedProxies  Number of proxies in front of the gateway whose {@code X-Forwarded-For} entry is trusted,
+ *                        1 for the nginx of the deployment, 0 to use the address of the TCP connection
+ * @param sync            Synchronisation of the buckets between the instances of the gateway
+ */
+@ConfigurationProperties(prefix = "custom.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10") int replenishRate,
+                                  @DefaultValue("20") int burstCapacity,
+                                  @DefaultValue("1") int requestedTokens,
+                                  @DefaultValue("100000") int maxTrackedKeys,
+                                  @DefaultValue("1") int trustedProxies,
+                                  @DefaultValue Sync sync) {
+
+    /**
+     * Synchronisation of the buckets between the instances of the gateway.
+     *
+     * <p>Every {@code interval}, each instance sends the tokens it consumed to the other instances
+     * registered in Eureka, which take them from their own buckets. The limits are then global,
+     * give or take the requests of one interval.</p>
+     *
+     * @param enabled  Whether the consumption is exchanged with the other instances
+     * @param interval Time between two exchanges
+     * @param timeout  Maximum time to deliver the consumption to an instance
+     * @param secret   Shared secret authenticating the exchanges, required when enabled
+     */
+    public record Sync(@DefaultValue("false") boolean enabled,
+                       @DefaultValue("1s") Duration interval,
+                       @DefaultValue("500ms") Duration timeout,
+                       String secret) {
+    }
+}
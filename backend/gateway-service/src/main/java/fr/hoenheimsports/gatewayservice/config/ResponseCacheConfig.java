@@ -0,0 +1,26 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import fr.hoenheimsports.gatewayservice.filter.ResponseCacheGlobalFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.response-cache", name = "enabled", matchIfMissing = true)
+    public ResponseCacheGlobalFilter responseCacheGlobalFilter(ResponseCacheProperties responseCacheProperties,
+                                                               ServerProperties serverProperties,
+                                                               MeterRegistry meterRegistry) {
+        logger.debug("Création du filtre de cache des réponses pour {} routes", responseCacheProperties.routes().size());
+        return new ResponseCacheGlobalFilter(responseCacheProperties, serverProperties.getCompression(), meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the response cache of the public GET routes.
+ *
+ * @param enabled           Whether the cache is enabled
+ * @param maxSize           Maximum total size of the cached bodies, the least used entries are evicted first
+ * @param maxEntrySize      Maximum size of a cached body, larger responses are not cached
+ * @param staleRetention    Time an expired entry with an ETag is kept to be revalidated with a conditional request
+ * @param coalescingTimeout Maximum time a request waits for an identical request in flight before going to the backend
+ * @param routes            Cached paths with their time to live
+ */
+@ConfigurationProperties(prefix = "custom.response-cache")
+public record ResponseCacheProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("64MB") DataSize maxSize,
+                                      @DefaultValue("2MB") DataSize maxEntrySize,
+                                      @DefaultValue("1h") Duration staleRetention,
+                                      @DefaultValue("5s") Duration coalescingTimeout,
+                                      @DefaultValue List<Route> routes) {
+
+    /**
+     * A cached path.
+     *
+     * @param path Path pattern, as matched by the gateway routes (for example {@code /training-service/api/**})
+     * @param ttl  Maximum time a response is served without contacting the backend, shortened by the
+     *             {@code max-age} of the backend
+     */
+    public record Route(String path, Duration ttl) {
+    }
+}
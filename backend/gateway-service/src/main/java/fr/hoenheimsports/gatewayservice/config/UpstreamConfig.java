@@ -0,0 +1,52 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import fr.hoenheimsports.gatewayservice.filter.UpstreamRoutingFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Connections from the gateway to the backends: protocol and connection pools.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamProperties.class)
+public class UpstreamConfig {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamConfig.class);
+
+    @Bean
+    public HttpClientCustomizer upstreamProtocolCustomizer(UpstreamProperties upstreamProperties) {
+        HttpProtocol[] protocols = upstreamProperties.protocols().toArray(HttpProtocol[]::new);
+        logger.debug("Protocoles des connexions vers les backends: {}", upstreamProperties.protocols());
+        return httpClient -> httpClient.protocol(protocols);
+    }
+
+    /**
+     * Replaces the routing filter of Spring Cloud Gateway, which must be disabled with
+     * {@code spring.cloud.gateway.global-filter.netty-routing.enabled: false}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cloud.gateway.global-filter.netty-routing.enabled", havingValue = "false")
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+                                                       ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                                       HttpClientProperties httpClientProperties,
+                                                       ServerProperties serverProperties,
+                                                       HttpClientSslConfigurer sslConfigurer,
+                                                       UpstreamProperties upstreamProperties,
+                                                       List<HttpClientCustomizer> customizers) {
+        return new UpstreamRoutingFilter(httpClient, headersFiltersProvider, httpClientProperties, serverProperties,
+                sslConfigurer, upstreamProperties, customizers);
+    }
+}
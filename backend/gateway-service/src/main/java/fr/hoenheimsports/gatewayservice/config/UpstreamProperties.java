@@ -0,0 +1,41 @@
+package fr.hoenheimsports.gatewayservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of the connections from the gateway to the backends.
+ *
+ * @param protocols Protocols of the connections: {@code HTTP11}, or {@code H2C} to multiplex the
+ *                  requests over HTTP/2 cleartext connections ({@code H2C, HTTP11} upgrades a
+ *                  HTTP/1.1 connection instead of requiring HTTP/2 from the start)
+ * @param routes    Connection pools dedicated to some routes, by route id, the other routes
+ *                  sharing the pool of {@code spring.cloud.gateway.httpclient.pool}
+ */
+@ConfigurationProperties(prefix = "custom.upstream")
+public record UpstreamProperties(@DefaultValue("HTTP11") List<HttpProtocol> protocols,
+                                 @DefaultValue Map<String, Pool> routes) {
+
+    /**
+     * Connection pool of a route, the limits applying to each backend instance.
+     *
+     * @param maxConnections          Maximum number of connections to an instance
+     * @param pendingAcquireMaxCount  Maximum number of requests waiting for a connection, beyond it they fail at once
+     * @param pendingAcquireTimeout   Maximum time a request waits for a connection
+     * @param maxIdleTime             Time after which an idle connection is closed
+     * @param maxLifeTime             Time after which a connection is closed once released
+     * @param evictionInterval        Interval of the background eviction of the idle and expired connections
+     */
+    public record Pool(@DefaultValue("50") int maxConnections,
+                       @DefaultValue("200") int pendingAcquireMaxCount,
+                       @DefaultValue("2s") Duration pendingAcquireTimeout,
+                       @DefaultValue("30s") Duration maxIdleTime,
+                       @DefaultValue("5m") Duration maxLifeTime,
+                       @DefaultValue("10s") Duration evictionInterval) {
+    }
+}
@@ -0,0 +1,169 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the compact JSON profile of the HAL responses to the clients asking for
+ * {@code Accept: application/json;profile=compact}.
+ *
+ * <p>The backend is asked for HAL, then the document is rewritten by {@link HalCompactor}: the
+ * per-item links are collapsed into URI templates and the HAL-FORMS templates are dropped, which
+ * removes most of the weight of the collections served to the public site.</p>
+ *
+ * <p>The request reaches the other filters without {@code Accept-Encoding}, so that the body is
+ * compacted before being compressed by the server. The {@code ETag} of the backend is suffixed
+ * with {@code -compact} and the suffix removed from {@code If-None-Match}, so that conditional
+ * requests keep working. The filter runs before {@link ResponseCacheGlobalFilter}, the cached HAL
+ * body being compacted on each hit.</p>
+ */
+public class CompactJsonGlobalFilter implements GlobalFilter, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(CompactJsonGlobalFilter.class);
+
+    public static final MediaType COMPACT_JSON = new MediaType(MediaType.APPLICATION_JSON, Map.of("profile", "compact"));
+
+    private static final String ETAG_SUFFIX = "-compact";
+
+    private final ObjectMapper objectMapper;
+    private final Counter compacted;
+    private final Counter bytesSaved;
+
+    public CompactJsonGlobalFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.compacted = meterRegistry.counter("gateway.compact.json.responses");
+        this.bytesSaved = meterRegistry.counter("gateway.compact.json.saved.bytes");
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!acceptsCompact(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.setAccept(List.of(MediaTypes.HAL_JSON));
+                    headers.remove(HttpHeaders.ACCEPT_ENCODING);
+                    List<String> ifNoneMatch = headers.getIfNoneMatch();
+                    if (!ifNoneMatch.isEmpty()) {
+                        headers.setIfNoneMatch(ifNoneMatch.stream().map(CompactJsonGlobalFilter::halEtag).toList());
+                    }
+                })
+                .build();
+        return chain.filter(exchange.mutate()
+                .request(request)
+                .response(new CompactingResponse(exchange.getResponse()))
+                .build());
+    }
+
+    private static boolean acceptsCompact(ServerHttpRequest request) {
+        try {
+            return request.getHeaders().getAccept().stream()
+                    .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)
+                            && "compact".equals(type.getParameter("profile")));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static String halEtag(String etag) {
+        return etag.endsWith(ETAG_SUFFIX + "\"")
+                ? etag.substring(0, etag.length() - ETAG_SUFFIX.length() - 1) + "\""
+                : etag;
+    }
+
+    private static String compactEtag(String etag) {
+        return etag.endsWith("\"") ? etag.substring(0, etag.length() - 1) + ETAG_SUFFIX + "\"" : etag;
+    }
+
+    /**
+     * Response decorator compacting the HAL body written by the backend.
+     */
+    private class CompactingResponse extends ServerHttpResponseDecorator {
+
+        CompactingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+            // Also applies to the 304 completed without a body
+            beforeCommit(() -> {
+                HttpHeaders headers = getHeaders();
+                if (headers.getETag() != null) {
+                    headers.setETag(compactEtag(headers.getETag()));
+                }
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return Mono.empty();
+            });
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            MediaType contentType = headers.getContentType();
+            if (status == null || status.value() != HttpStatus.OK.value() || contentType == null
+                    || headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                    || !(MediaTypes.HAL_JSON.isCompatibleWith(contentType) || MediaType.APPLICATION_JSON.isCompatibleWith(contentType))) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                byte[] written = compact(bytes);
+                if (written != bytes) {
+                    headers.setContentType(COMPACT_JSON);
+                    headers.setContentLength(written.length);
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(written)));
+            });
+        }
+
+        private byte[] compact(byte[] hal) {
+            try {
+                JsonNode document = objectMapper.readTree(hal);
+                HalCompactor.compact(document);
+                byte[] compactJson = objectMapper.writeValueAsBytes(document);
+                compacted.increment();
+                bytesSaved.increment(hal.length - compactJson.length);
+                return compactJson;
+            } catch (JsonProcessingException e) {
+                logger.warn("Réponse JSON invalide, transmise sans compaction: {}", e.getOriginalMessage());
+                return hal;
+            } catch (IOException e) {
+                logger.warn("Impossible de compacter la réponse: {}", e.getMessage());
+                return hal;
+            }
+        }
+    }
+}
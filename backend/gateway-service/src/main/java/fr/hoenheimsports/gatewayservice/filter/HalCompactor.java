@@ -0,0 +1,155 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites a HAL document into the compact JSON profile, in place.
+ *
+ * <ul>
+ *     <li>The HAL-FORMS {@code _templates} are removed, the public site never submits forms.</li>
+ *     <li>A link of every item of an embedded collection which only differs by the {@code id} of
+ *     the item is replaced by a URI template in the {@code _linkTemplates} of the collection, for
+ *     example {@code "_linkTemplates": {"teams": {"self": "https://host/api/teams/{id}"}}}.</li>
+ *     <li>The remaining links are reduced to their URI, {@code {"href": "..."}} becoming
+ *     {@code "..."}.</li>
+ * </ul>
+ */
+final class HalCompactor {
+
+    private static final String LINKS = "_links";
+    private static final String EMBEDDED = "_embedded";
+    private static final String TEMPLATES = "_templates";
+    private static final String LINK_TEMPLATES = "_linkTemplates";
+    private static final String HREF = "href";
+    private static final String ID = "id";
+
+    private HalCompactor() {
+    }
+
+    static void compact(JsonNode node) {
+        if (node.isArray()) {
+            node.forEach(HalCompactor::compact);
+            return;
+        }
+        if (!(node instanceof ObjectNode object)) {
+            return;
+        }
+        object.remove(TEMPLATES);
+        if (object.get(EMBEDDED) instanceof ObjectNode embedded) {
+            ObjectNode linkTemplates = object.objectNode();
+            embedded.properties().forEach(collection -> {
+                if (collection.getValue() instanceof ArrayNode items) {
+                    ObjectNode hoisted = hoistLinks(items);
+                    if (!hoisted.isEmpty()) {
+                        linkTemplates.set(collection.getKey(), hoisted);
+                    }
+                }
+            });
+            if (!linkTemplates.isEmpty()) {
+                object.set(LINK_TEMPLATES, linkTemplates);
+            }
+        }
+        object.properties().forEach(property -> {
+            if (!property.getKey().equals(LINKS)) {
+                compact(property.getValue());
+            }
+        });
+        if (object.get(LINKS) instanceof ObjectNode links) {
+            flatten(links);
+            if (links.isEmpty()) {
+                object.remove(LINKS);
+            }
+        }
+    }
+
+    /**
+     * Replaces the links shared by all the items of a collection with URI templates.
+     *
+     * @return The URI template of each hoisted link relation
+     */
+    private static ObjectNode hoistLinks(ArrayNode items) {
+        ObjectNode hoisted = items.objectNode();
+        Map<String, String> shared = null;
+        for (JsonNode item : items) {
+            JsonNode id = item.get(ID);
+            if (id == null || !id.isValueNode() || !(item.get(LINKS) instanceof ObjectNode links)) {
+                return hoisted;
+            }
+            Map<String, String> templates = new LinkedHashMap<>();
+            links.properties().forEach(link -> {
+                String template = templateOf(link.getValue(), id.asText());
+                if (template != null) {
+                    templates.put(link.getKey(), template);
+                }
+            });
+            if (shared == null) {
+                shared = templates;
+            } else {
+                shared.entrySet().retainAll(templates.entrySet());
+            }
+            if (shared.isEmpty()) {
+                return hoisted;
+            }
+        }
+        if (shared == null) {
+            return hoisted;
+        }
+        shared.forEach(hoisted::put);
+        List<String> rels = new ArrayList<>(shared.keySet());
+        for (JsonNode item : items) {
+            ObjectNode links = (ObjectNode) item.get(LINKS);
+            links.remove(rels);
+            if (links.isEmpty()) {
+                ((ObjectNode) item).remove(LINKS);
+            }
+        }
+        return hoisted;
+    }
+
+    /**
+     * @return The URI template of a plain link whose path contains the id as a segment, otherwise null
+     */
+    private static String templateOf(JsonNode link, String id) {
+        if (!link.isObject() || link.size() != 1 || !link.path(HREF).isTextual()) {
+            return null;
+        }
+        String href = link.get(HREF).asText();
+        String segment = "/" + id;
+        int from = 0;
+        int at;
+        while ((at = href.indexOf(segment, from)) >= 0) {
+            int end = at + segment.length();
+            if (end == href.length() || "/?#".indexOf(href.charAt(end)) >= 0) {
+                return href.substring(0, at) + "/{id}" + href.substring(end);
+            }
+            from = end;
+        }
+        return null;
+    }
+
+    private static void flatten(ObjectNode links) {
+        for (String rel : links.properties().stream().map(Map.Entry::getKey).toList()) {
+            JsonNode value = links.get(rel);
+            if (isPlain(value)) {
+                links.set(rel, value.get(HREF));
+            } else if (value instanceof ArrayNode array) {
+                for (int i = 0; i < array.size(); i++) {
+                    if (isPlain(array.get(i))) {
+                        array.set(i, array.get(i).get(HREF));
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isPlain(JsonNode link) {
+        return link.isObject() && link.size() == 1 && link.path(HREF).isTextual();
+    }
+}
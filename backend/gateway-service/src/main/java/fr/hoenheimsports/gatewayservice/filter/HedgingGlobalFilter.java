@@ -0,0 +1,248 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import fr.hoenheimsports.gatewayservice.config.LoadBalancerProperties;
+import fr.hoenheimsports.gatewayservice.loadbalancer.InstanceLoadTracker;
+import fr.hoenheimsports.gatewayservice.loadbalancer.LatencyWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.DelegatingServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Hedged requests for the GETs routed to the configured services.
+ *
+ * <p>The request is sent to the instance chosen by {@link InstanceLoadTracker}. If it did not
+ * answer after the configured percentile of the recent latencies of the service, the request is
+ * also sent to a second instance, and the first complete response is written to the client while
+ * the other request is cancelled. A single slow instance then only delays the requests by the
+ * hedging delay instead of its whole pause. The hedge is sent at once when the first instance
+ * fails before the delay, with an error or a 5xx response; when both fail, the last 5xx response
+ * is written, or a 502 without any.</p>
+ *
+ * <p>The filter routes these requests itself, before the load balancer filter, and buffers the
+ * responses: it is meant for the idempotent JSON responses of the APIs. A response larger than
+ * {@code max-response-size} is not hedged: the request goes through the routing chain instead.
+ * The hedged requests go through their own {@link WebClient}, without the per-route connection
+ * pools nor the h2c of the {@link UpstreamRoutingFilter}. The metrics
+ * {@code gateway.hedge.requests}, {@code gateway.hedge.sent} and {@code gateway.hedge.wins} give
+ * the hedge rate and how often the hedge won.</p>
+ */
+public class HedgingGlobalFilter implements GlobalFilter, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(HedgingGlobalFilter.class);
+
+    /**
+     * Number of latencies of a service required before using their percentile as delay.
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    private final LoadBalancerProperties.Hedging hedging;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final InstanceLoadTracker instanceLoadTracker;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final WebClient webClient;
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final Counter requests;
+    private final Counter sent;
+    private final Counter wins;
+
+    public HedgingGlobalFilter(LoadBalancerProperties.Hedging hedging, LoadBalancerClientFactory loadBalancerClientFactory,
+                               InstanceLoadTracker instanceLoadTracker,
+                               ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                               WebClient webClient, MeterRegistry meterRegistry) {
+        this.hedging = hedging;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.instanceLoadTracker = instanceLoadTracker;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.webClient = webClient;
+        this.requests = meterRegistry.counter("gateway.hedge.requests");
+        this.sent = meterRegistry.counter("gateway.hedge.sent");
+        this.wins = meterRegistry.counter("gateway.hedge.wins");
+        logger.info("Requêtes GET doublées après le p{} des latences pour {}", Math.round(hedging.percentile() * 100), hedging.services());
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        String schemePrefix = exchange.getAttribute(GATEWAY_SCHEME_PREFIX_ATTR);
+        if (url == null || !"lb".equals(url.getScheme()) || schemePrefix != null || isAlreadyRouted(exchange)
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !hedging.services().contains(url.getHost())) {
+            return chain.filter(exchange);
+        }
+        String serviceId = url.getHost();
+        ServiceInstanceListSupplier supplier = loadBalancerClientFactory
+                .getLazyProvider(serviceId, ServiceInstanceListSupplier.class).getIfAvailable();
+        if (supplier == null) {
+            return chain.filter(exchange);
+        }
+        return supplier.get().next()
+                .defaultIfEmpty(List.of())
+                .flatMap(instances -> instances.size() < 2
+                        ? chain.filter(exchange)
+                        : hedge(exchange, chain, serviceId, url, instances));
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, GatewayFilterChain chain, String serviceId, URI url,
+                             List<ServiceInstance> instances) {
+        ServiceInstance primary = instanceLoadTracker.choose(instances, null);
+        ServiceInstance secondary = instanceLoadTracker.choose(instances, primary);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(HttpHeadersFilter.filterRequest(headersFiltersProvider.getIfAvailable(List::of), exchange));
+        headers.remove(HttpHeaders.HOST);
+        LatencyWindow window = latencies.computeIfAbsent(serviceId, id -> new LatencyWindow());
+        Duration delay = delayOf(window);
+        requests.increment();
+
+        AtomicReference<ResponseEntity<byte[]>> serverError = new AtomicReference<>();
+        // Completes when the first instance fails, to send the hedge without waiting for the delay; fails
+        // when its response is too large, the hedge would be too
+        Sinks.Empty<Void> primaryFailed = Sinks.empty();
+        Mono<ResponseEntity<byte[]>> first = succeeded(send(primary, url, headers, window), serverError)
+                .doOnError(e -> {
+                    if (isTooLarge(e)) {
+                        primaryFailed.tryEmitError(e);
+                    } else {
+                        primaryFailed.tryEmitEmpty();
+                    }
+                });
+        Mono<ResponseEntity<byte[]>> hedge = Mono.firstWithSignal(Mono.delay(delay).then(), primaryFailed.asMono())
+                .then(Mono.defer(() -> {
+                    sent.increment();
+                    logger.debug("Pas de réponse valide de {} après {} ms, envoi de la requête à {}",
+                            primary.getInstanceId(), delay.toMillis(), secondary.getInstanceId());
+                    return succeeded(send(secondary, url, headers, window), serverError)
+                            .doOnNext(response -> wins.increment());
+                }));
+        return Mono.firstWithValue(first, hedge)
+                .onErrorResume(e -> !isTooLarge(e), e -> serverError.get() != null
+                        ? Mono.just(serverError.get())
+                        : Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                                "Aucune instance de " + serviceId + " n'a répondu", e)))
+                .flatMap(response -> write(exchange, response))
+                .onErrorResume(HedgingGlobalFilter::isTooLarge, e -> {
+                    logger.debug("Réponse de {} trop grande pour être doublée, routage habituel", serviceId);
+                    return chain.filter(exchange);
+                });
+    }
+
+    /**
+     * Turns a 5xx response into a failure, so that the other instance may answer, keeping it to be
+     * written when none does.
+     */
+    private static Mono<ResponseEntity<byte[]>> succeeded(Mono<ResponseEntity<byte[]>> call,
+                                                          AtomicReference<ResponseEntity<byte[]>> serverError) {
+        return call.flatMap(response -> {
+            if (!response.getStatusCode().is5xxServerError()) {
+                return Mono.just(response);
+            }
+            serverError.set(response);
+            return Mono.error(new ResponseStatusException(response.getStatusCode()));
+        });
+    }
+
+    /**
+     * Whether a response exceeded {@code max-response-size}, possibly among the failures of both
+     * instances.
+     */
+    private static boolean isTooLarge(Throwable error) {
+        if (error instanceof DataBufferLimitException) {
+            return true;
+        }
+        for (Throwable suppressed : error.getSuppressed()) {
+            if (isTooLarge(suppressed)) {
+                return true;
+            }
+        }
+        return error.getCause() != null && error.getCause() != error && isTooLarge(error.getCause());
+    }
+
+    private Duration delayOf(LatencyWindow window) {
+        long percentile = window.percentile(hedging.percentile(), MIN_SAMPLES);
+        if (percentile < 0) {
+            return hedging.minDelay();
+        }
+        Duration delay = Duration.ofNanos(percentile);
+        if (delay.compareTo(hedging.minDelay()) < 0) {
+            return hedging.minDelay();
+        }
+        return delay.compareTo(hedging.maxDelay()) > 0 ? hedging.maxDelay() : delay;
+    }
+
+    private Mono<ResponseEntity<byte[]>> send(ServiceInstance instance, URI url, HttpHeaders headers, LatencyWindow window) {
+        URI target = LoadBalancerUriTools.reconstructURI(
+                new DelegatingServiceInstance(instance, instance.isSecure() ? "https" : "http"), url);
+        return Mono.defer(() -> {
+            long startedAt = instanceLoadTracker.start(instance);
+            // A request which gets no response failed, unless it is cancelled because the other one won
+            AtomicBoolean failed = new AtomicBoolean(true);
+            return webClient.get()
+                    .uri(target)
+                    .headers(requestHeaders -> requestHeaders.addAll(headers))
+                    .exchangeToMono(response -> response.toEntity(byte[].class))
+                    .timeout(hedging.timeout())
+                    .doOnNext(response -> failed.set(response.getStatusCode().is5xxServerError()))
+                    .doFinally(signal -> {
+                        long latency = instanceLoadTracker.finish(instance, startedAt, signal != SignalType.CANCEL && failed.get());
+                        if (signal == SignalType.ON_COMPLETE) {
+                            window.record(latency);
+                        }
+                    });
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<byte[]> entity) {
+        setAlreadyRouted(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(entity.getStatusCode());
+        response.getHeaders().putAll(HttpHeadersFilter.filter(headersFiltersProvider.getIfAvailable(List::of),
+                entity.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE));
+        byte[] body = entity.getBody();
+        if (body == null) {
+            return response.setComplete();
+        }
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,152 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import fr.hoenheimsports.gatewayservice.identity.InternalIdentitySigner;
+import fr.hoenheimsports.gatewayservice.identity.VerifiedIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Validates the bearer tokens once at the gateway and forwards the identity to the backends.
+ *
+ * <p>A token is verified against the JWK Set of Keycloak, which the decoder keeps in memory and
+ * only fetches again for an unknown key id. The claims of a verified token are then kept until its
+ * expiry in a bounded cache, so that the following requests of the user cost no signature
+ * verification at all. A request with an invalid token is rejected with {@code 401}.</p>
+ *
+ * <p>The identity is forwarded in the {@value InternalIdentitySigner#HEADER} header signed by
+ * {@link InternalIdentitySigner}, which the backends verify with a single HMAC instead of decoding
+ * the JWT again. The header is always removed from the incoming requests, a client cannot forge
+ * it. The {@code Authorization} header is kept for the backends which still validate the JWT.</p>
+ *
+ * <p>The identity also becomes the principal of the exchange, used as key by the rate limiter.</p>
+ */
+public class JwtIdentityGlobalFilter implements GlobalFilter, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(JwtIdentityGlobalFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Time a verified token without expiry is kept.
+     */
+    private static final Duration DEFAULT_TOKEN_RETENTION = Duration.ofMinutes(5);
+
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final InternalIdentitySigner internalIdentitySigner;
+    private final Clock clock;
+    private final Cache<String, VerifiedIdentity> verifiedTokens;
+    private final Counter cached;
+    private final Counter verified;
+    private final Counter rejected;
+
+    public JwtIdentityGlobalFilter(ReactiveJwtDecoder jwtDecoder, InternalIdentitySigner internalIdentitySigner,
+                                   int maxCachedTokens, Clock clock, MeterRegistry meterRegistry) {
+        this.jwtDecoder = jwtDecoder;
+        this.internalIdentitySigner = internalIdentitySigner;
+        this.clock = clock;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new Expiry<String, VerifiedIdentity>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedIdentity identity, long currentTime) {
+                        return Math.max(0, Duration.between(clock.instant(), identity.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedIdentity identity, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedIdentity identity, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.cached = meterRegistry.counter("gateway.identity.tokens", "result", "cached");
+        this.verified = meterRegistry.counter("gateway.identity.tokens", "result", "verified");
+        this.rejected = meterRegistry.counter("gateway.identity.tokens", "result", "rejected");
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return chain.filter(exchange.mutate()
+                    .request(request -> request.headers(headers -> headers.remove(InternalIdentitySigner.HEADER)))
+                    .build());
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return verify(token).flatMap(identity -> identity.isPresent()
+                ? chain.filter(exchange.mutate()
+                        .request(request -> request.headers(headers ->
+                                headers.set(InternalIdentitySigner.HEADER, internalIdentitySigner.sign(identity.get()))))
+                        .principal(Mono.just(identity.get()))
+                        .build())
+                : unauthorized(exchange.getResponse()));
+    }
+
+    private Mono<Optional<VerifiedIdentity>> verify(String token) {
+        VerifiedIdentity identity = verifiedTokens.getIfPresent(token);
+        if (identity != null && identity.expiresAt().isAfter(clock.instant())) {
+            cached.increment();
+            return Mono.just(Optional.of(identity));
+        }
+        return jwtDecoder.decode(token)
+                .map(jwt -> {
+                    VerifiedIdentity verifiedIdentity = identityOf(jwt);
+                    verifiedTokens.put(token, verifiedIdentity);
+                    verified.increment();
+                    logger.debug("JWT vérifié pour l'utilisateur {}", verifiedIdentity.subject());
+                    return Optional.of(verifiedIdentity);
+                })
+                .onErrorResume(JwtException.class, e -> {
+                    rejected.increment();
+                    logger.debug("JWT refusé: {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private VerifiedIdentity identityOf(Jwt jwt) {
+        List<String> roles = List.of();
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess != null && realmAccess.get("roles") instanceof List<?> realmRoles) {
+            roles = realmRoles.stream().map(String::valueOf).toList();
+        }
+        Instant expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt() : clock.instant().plus(DEFAULT_TOKEN_RETENTION);
+        return new VerifiedIdentity(jwt.getSubject(), jwt.getClaimAsString("preferred_username"), roles, expiresAt);
+    }
+
+    private static Mono<Void> unauthorized(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        return response.setComplete();
+    }
+}
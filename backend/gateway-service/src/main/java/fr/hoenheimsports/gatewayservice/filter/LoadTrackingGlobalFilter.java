@@ -0,0 +1,51 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import fr.hoenheimsports.gatewayservice.loadbalancer.InstanceLoadTracker;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Feeds {@link InstanceLoadTracker} with the requests routed to the instance chosen by the load
+ * balancer.
+ *
+ * <p>The latency is measured until the response headers are received from the instance. A
+ * request cancelled by the client still ends its outstanding count.</p>
+ */
+public class LoadTrackingGlobalFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLoadTracker instanceLoadTracker;
+
+    public LoadTrackingGlobalFilter(InstanceLoadTracker instanceLoadTracker) {
+        this.instanceLoadTracker = instanceLoadTracker;
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> loadBalancerResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (loadBalancerResponse == null || !loadBalancerResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = loadBalancerResponse.getServer();
+        long startedAt = instanceLoadTracker.start(instance);
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+            instanceLoadTracker.finish(instance, startedAt, failed);
+        });
+    }
+}
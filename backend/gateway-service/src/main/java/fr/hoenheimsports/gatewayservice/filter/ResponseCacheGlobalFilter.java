@@ -0,0 +1,424 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import fr.hoenheimsports.gatewayservice.config.ResponseCacheProperties;
+import fr.hoenheimsports.gatewayservice.identity.InternalIdentitySigner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Shared cache of the responses of the public GET routes.
+ *
+ * <p>Only anonymous requests are cached: a request with an {@code Authorization} header always
+ * reaches the backend. A response is stored when it is a {@code 200} without {@code Set-Cookie},
+ * {@code no-store} nor {@code private}, for the TTL of its route shortened by the {@code max-age}
+ * of the backend. Once expired, an entry with an {@code ETag} is kept for
+ * {@link ResponseCacheProperties#staleRetention()} and revalidated with a conditional request, a
+ * {@code 304} from the backend renewing it without transferring the body again.</p>
+ *
+ * <p>Concurrent misses on the same key are coalesced: the first request goes to the backend while
+ * the other ones wait for its response to be cached.</p>
+ *
+ * <p>A compressible body is also stored gzipped once, with the highest compression level, when
+ * the server compression is enabled: the hits of clients accepting gzip are then served without
+ * compressing the body again on each request. The compression runs on the bounded elastic
+ * scheduler, off the event loop; the hits served meanwhile are compressed by the server. The key
+ * only tells apart the clients accepting gzip from the other ones, whatever their
+ * {@code Accept-Encoding}.</p>
+ *
+ * <p>The filter runs before {@link NettyWriteResponseFilter}, so that it can capture the body
+ * written to the client.</p>
+ */
+public class ResponseCacheGlobalFilter implements GlobalFilter, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheGlobalFilter.class);
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(?:s-maxage|max-age)\\s*=\\s*(\\d+)");
+    private static final Set<String> NOT_STORED_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            "keep-alive",
+            HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+            CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+
+    /**
+     * A cached path with its time to live.
+     */
+    private record Rule(PathPattern pattern, Duration ttl) {
+    }
+
+    /**
+     * A stored response.
+     *
+     * @param status    The status of the response
+     * @param headers   The end-to-end headers of the response
+     * @param body      The body of the response
+     * @param gzipBody  The body compressed with gzip, null if it is not worth compressing
+     * @param storedAt  When the response was stored or last revalidated, from {@link System#nanoTime()}
+     * @param ttl       The time the response is served without contacting the backend
+     */
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, byte[] gzipBody,
+                                  long storedAt, Duration ttl) {
+
+        boolean isFresh() {
+            return System.nanoTime() - storedAt < ttl.toNanos();
+        }
+
+        String etag() {
+            return headers.getETag();
+        }
+
+        Duration age() {
+            return Duration.ofNanos(System.nanoTime() - storedAt);
+        }
+
+        CachedResponse withGzipBody(byte[] gzipBody) {
+            return new CachedResponse(status, headers, body, gzipBody, storedAt, ttl);
+        }
+    }
+
+    private final ResponseCacheProperties responseCacheProperties;
+    private final Compression compression;
+    private final List<MediaType> compressibleTypes;
+    private final List<Rule> rules;
+    private final Cache<String, CachedResponse> cache;
+    private final ConcurrentMap<String, Sinks.Empty<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidations;
+    private final Counter coalesced;
+
+    public ResponseCacheGlobalFilter(ResponseCacheProperties responseCacheProperties, Compression compression,
+                                     MeterRegistry meterRegistry) {
+        this.responseCacheProperties = responseCacheProperties;
+        this.compression = compression;
+        this.compressibleTypes = MediaType.parseMediaTypes(List.of(compression.getMimeTypes()));
+        this.rules = responseCacheProperties.routes().stream()
+                .map(route -> new Rule(PathPatternParser.defaultInstance.parse(route.path()), route.ttl()))
+                .toList();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(responseCacheProperties.maxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length
+                        + (response.gzipBody() != null ? response.gzipBody().length : 0))
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return retention(response).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return retention(response).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = meterRegistry.counter("gateway.response.cache", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.response.cache", "result", "miss");
+        this.revalidations = meterRegistry.counter("gateway.response.cache", "result", "revalidated");
+        this.coalesced = meterRegistry.counter("gateway.response.cache", "result", "coalesced");
+        logger.info("Cache des réponses activé pour {}", responseCacheProperties.routes());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                || request.getHeaders().containsKey(InternalIdentitySigner.HEADER)) {
+            return chain.filter(exchange);
+        }
+        Optional<Duration> ttl = rules.stream()
+                .filter(rule -> rule.pattern().matches(request.getPath().pathWithinApplication()))
+                .map(Rule::ttl)
+                .findFirst();
+        if (ttl.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        return lookup(exchange, chain, keyOf(request), ttl.get(), true);
+    }
+
+    private Mono<Void> lookup(ServerWebExchange exchange, GatewayFilterChain chain, String key, Duration ttl, boolean coalesce) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh()) {
+            hits.increment();
+            logger.debug("Réponse servie depuis le cache: {}", key);
+            return write(exchange, cached);
+        }
+        if (!coalesce) {
+            return forward(exchange, chain, key, ttl, cached);
+        }
+        Sinks.Empty<Void> completion = Sinks.empty();
+        Sinks.Empty<Void> leader = inFlight.putIfAbsent(key, completion);
+        if (leader != null) {
+            coalesced.increment();
+            logger.debug("Requête identique en cours, attente de sa réponse: {}", key);
+            return leader.asMono()
+                    .timeout(responseCacheProperties.coalescingTimeout(), Mono.empty())
+                    .then(Mono.defer(() -> lookup(exchange, chain, key, ttl, false)));
+        }
+        return forward(exchange, chain, key, ttl, cached)
+                .doFinally(signal -> {
+                    inFlight.remove(key, completion);
+                    completion.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, String key, Duration ttl, CachedResponse stale) {
+        boolean revalidating = stale != null && stale.etag() != null
+                && !exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH);
+        ServerWebExchange forwarded = revalidating
+                ? exchange.mutate().request(request -> request.headers(headers -> headers.setIfNoneMatch(stale.etag()))).build()
+                : exchange;
+        if (!revalidating) {
+            misses.increment();
+        }
+        CachingResponse response = new CachingResponse(forwarded.getResponse(), key, ttl, revalidating ? stale : null);
+        return chain.filter(forwarded.mutate().response(response).build());
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        boolean notModified = cached.etag() != null && (ifNoneMatch.contains(cached.etag()) || ifNoneMatch.contains("*"));
+        response.setStatusCode(notModified ? HttpStatus.NOT_MODIFIED : cached.status());
+        cached.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        response.getHeaders().set(HttpHeaders.AGE, Long.toString(cached.age().toSeconds()));
+        if (notModified) {
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(exchange.getRequest())) {
+                // The server compression leaves the responses which already have a Content-Encoding alone
+                body = cached.gzipBody();
+                response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.getHeaders().setContentLength(body.length);
+            }
+        }
+        byte[] written = body;
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(written)));
+    }
+
+    /**
+     * Compresses the body of a stored entry in the background and adds it to the entry, if the
+     * server would compress it anyway and the entry was not replaced meanwhile.
+     */
+    private void precompress(String key, CachedResponse entry) {
+        MediaType contentType = entry.headers().getContentType();
+        if (!Boolean.TRUE.equals(compression.getEnabled())
+                || entry.headers().containsKey(HttpHeaders.CONTENT_ENCODING)
+                || entry.body().length < compression.getMinResponseSize().toBytes()
+                || contentType == null
+                || compressibleTypes.stream().noneMatch(type -> type.isCompatibleWith(contentType))) {
+            return;
+        }
+        Mono.fromCallable(() -> gzip(entry.body()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(gzipBody -> cache.asMap().replace(key, entry, entry.withGzipBody(gzipBody)),
+                        e -> logger.warn("Compression de la réponse en cache impossible pour {}", key, e));
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new BestCompressionGzipOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        for (String value : request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+                if ((parts[0].trim().equals("gzip") || parts[0].trim().equals("*"))
+                        && (parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Duration retention(CachedResponse response) {
+        return response.etag() != null ? response.ttl().plus(responseCacheProperties.staleRetention()) : response.ttl();
+    }
+
+    private static String keyOf(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "")
+                + "|" + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT))
+                + "|" + (acceptsGzip(request) ? "gzip" : "identity");
+    }
+
+    /**
+     * Time to live of a backend response, empty if it must not be stored.
+     */
+    private static Optional<Duration> ttlOf(HttpHeaders headers, Duration routeTtl) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+            return Optional.empty();
+        }
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return Optional.empty();
+        }
+        if (cacheControl.contains("no-cache")) {
+            // Stored only to be revalidated on each request
+            return headers.getETag() != null ? Optional.of(Duration.ZERO) : Optional.empty();
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (maxAge.find()) {
+            Duration backendTtl = Duration.ofSeconds(Long.parseLong(maxAge.group(1)));
+            return Optional.of(backendTtl.compareTo(routeTtl) < 0 ? backendTtl : routeTtl);
+        }
+        return Optional.of(routeTtl);
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            // The CORS headers depend on the origin of each request
+            if (!NOT_STORED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(stored);
+    }
+
+    /**
+     * Gzip stream with the highest compression level, affordable as a body is compressed once.
+     */
+    private static final class BestCompressionGzipOutputStream extends GZIPOutputStream {
+
+        BestCompressionGzipOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+
+    /**
+     * Response decorator storing the body written to the client, or replaying the stale body when
+     * the backend confirmed it with a {@code 304}.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Duration routeTtl;
+        private final CachedResponse stale;
+
+        CachingResponse(ServerHttpResponse delegate, String key, Duration routeTtl, CachedResponse stale) {
+            super(delegate);
+            this.key = key;
+            this.routeTtl = routeTtl;
+            this.stale = stale;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (stale != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then(Mono.defer(this::replayStale));
+            }
+            if (status == null || status.value() != HttpStatus.OK.value()) {
+                return super.writeWith(body);
+            }
+            Optional<Duration> ttl = ttlOf(getHeaders(), routeTtl);
+            if (ttl.isEmpty()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                if (bytes.length <= responseCacheProperties.maxEntrySize().toBytes()) {
+                    CachedResponse entry = new CachedResponse(status, storedHeaders(getHeaders()), bytes, null,
+                            System.nanoTime(), ttl.get());
+                    cache.put(key, entry);
+                    precompress(key, entry);
+                    logger.debug("Réponse mise en cache pour {}: {} octets, TTL {}", key, bytes.length, ttl.get());
+                }
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private Mono<Void> replayStale() {
+            revalidations.increment();
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(stale.headers());
+            // The 304 carries the up-to-date caching headers
+            storedHeaders(getHeaders()).forEach((name, values) -> {
+                if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                    headers.put(name, values);
+                }
+            });
+            Duration ttl = ttlOf(headers, routeTtl).orElse(Duration.ZERO);
+            CachedResponse renewed = new CachedResponse(stale.status(), HttpHeaders.readOnlyHttpHeaders(headers),
+                    stale.body(), stale.gzipBody(), System.nanoTime(), ttl);
+            cache.put(key, renewed);
+            logger.debug("Réponse en cache revalidée par le backend: {}", key);
+            setStatusCode(renewed.status());
+            renewed.headers().forEach((name, values) -> getHeaders().put(name, values));
+            getHeaders().set(CACHE_STATUS_HEADER, "REVALIDATED");
+            return super.writeWith(Mono.just(bufferFactory().wrap(renewed.body())));
+        }
+    }
+}
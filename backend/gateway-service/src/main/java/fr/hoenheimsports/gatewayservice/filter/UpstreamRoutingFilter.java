@@ -0,0 +1,108 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import fr.hoenheimsports.gatewayservice.config.UpstreamProperties;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+/**
+ * Routing filter giving their own connection pool to the routes configured in
+ * {@link UpstreamProperties#routes()}, the other routes using the shared HTTP client of the gateway.
+ *
+ * <p>A route with a dedicated pool cannot exhaust the connections of the other routes during a
+ * burst, and its limits can match the capacity of its backend. The pools export their metrics
+ * ({@code reactor.netty.connection.provider.*}: active, idle and pending connections) under the
+ * name {@code route-<id>}.</p>
+ *
+ * <p>The clients of these routes are built by the {@link HttpClientFactory} of Spring Cloud Gateway
+ * with the pool of the route instead of the shared one, so they keep every other
+ * {@code spring.cloud.gateway.httpclient.*} setting (SSL, proxy, wiretap, header sizes,
+ * compression, connect timeout) and the {@link HttpClientCustomizer}s.</p>
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRoutingFilter.class);
+
+    private final UpstreamProperties upstreamProperties;
+    private final HttpClientProperties httpClientProperties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final List<HttpClientCustomizer> customizers;
+    private final ConcurrentMap<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HttpClient> routeClients = new ConcurrentHashMap<>();
+
+    public UpstreamRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                 HttpClientProperties httpClientProperties, ServerProperties serverProperties,
+                                 HttpClientSslConfigurer sslConfigurer, UpstreamProperties upstreamProperties,
+                                 List<HttpClientCustomizer> customizers) {
+        super(httpClient, headersFiltersProvider, httpClientProperties);
+        this.upstreamProperties = upstreamProperties;
+        this.httpClientProperties = httpClientProperties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        UpstreamProperties.Pool pool = upstreamProperties.routes().get(route.getId());
+        if (pool == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        HttpClient routeClient = routeClients.computeIfAbsent(route.getId(), id -> create(id, pool));
+        Object connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return routeClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return routeClient;
+    }
+
+    @Override
+    public void destroy() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private HttpClient create(String routeId, UpstreamProperties.Pool pool) {
+        logger.info("Pool de connexions dédié à la route {}: {} connexions par instance", routeId, pool.maxConnections());
+        ConnectionProvider provider = ConnectionProvider.builder("route-" + routeId)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(true)
+                .build();
+        providers.put(routeId, provider);
+        HttpClientFactory factory = new HttpClientFactory(httpClientProperties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                return provider;
+            }
+        };
+        factory.setSingleton(false);
+        try {
+            return factory.getObject();
+        } catch (Exception e) {
+            throw new IllegalStateException("Création du client HTTP de la route " + routeId + " impossible", e);
+        }
+    }
+}
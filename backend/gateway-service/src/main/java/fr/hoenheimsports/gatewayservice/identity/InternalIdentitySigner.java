@@ -0,0 +1,64 @@
+package fr.hoenheimsports.gatewayservice.identity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signs the identity forwarded to the backends in the {@value #HEADER} header.
+ *
+ * <p>The credential is {@code base64url(claims).base64url(HMAC-SHA256(secret, base64url(claims)))},
+ * the claims using the names of Keycloak ({@code sub}, {@code preferred_username},
+ * {@code realm_access.roles}) so that the backends convert them as they convert a JWT. It expires
+ * after the configured lifetime, or with the token if sooner, which limits its replay.</p>
+ */
+public class InternalIdentitySigner {
+
+    public static final String HEADER = "X-Internal-Identity";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public InternalIdentitySigner(String secret, Duration ttl, ObjectMapper objectMapper, Clock clock) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public String sign(VerifiedIdentity identity) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl).isBefore(identity.expiresAt()) ? now.plus(ttl) : identity.expiresAt();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", identity.subject());
+        if (identity.preferredUsername() != null) {
+            claims.put("preferred_username", identity.preferredUsername());
+        }
+        claims.put("realm_access", Map.of("roles", identity.roles()));
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        try {
+            String payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return payload + "." + ENCODER.encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Impossible de signer l'identité transmise aux backends", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package fr.hoenheimsports.gatewayservice.identity;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identity carried by a JWT verified by the gateway.
+ *
+ * @param subject           The subject of the token
+ * @param preferredUsername The username of the user, may be null
+ * @param roles             The realm roles of the user
+ * @param expiresAt         The expiry of the token
+ */
+public record VerifiedIdentity(String subject, String preferredUsername, List<String> roles, Instant expiresAt)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+}
@@ -0,0 +1,154 @@
+package fr.hoenheimsports.gatewayservice.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.hoenheimsports.gatewayservice.config.LoadBalancerProperties;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency and load of each backend instance, shared by the load balancers of all the services.
+ *
+ * <p>The latency is a peak EWMA: a sample higher than the average replaces it at once, a lower
+ * sample only pulls it down with a weight decaying with the time elapsed since the previous
+ * sample. A slow instance (GC pause, cold JIT after a deployment) is thus avoided immediately and
+ * only trusted again progressively, as its latency also decays while it has no outstanding
+ * request. While requests are outstanding the latency does not decay, and it is at least the time
+ * the instance has been busy without answering, so a hung instance gets more expensive instead of
+ * cheaper. The cost of an instance is its latency multiplied by its outstanding requests plus one,
+ * and {@link #choose(List, ServiceInstance)} picks the cheaper of two random instances (power of
+ * two choices), which avoids sending every request to the same instance between two samples.</p>
+ */
+public class InstanceLoadTracker {
+
+    /**
+     * Time after which the statistics of an instance which no longer serves requests are dropped.
+     */
+    private static final Duration IDLE_INSTANCE_EXPIRY = Duration.ofMinutes(10);
+
+    private final double decayNanos;
+    private final long defaultLatencyNanos;
+    private final long failurePenaltyNanos;
+    private final Cache<String, InstanceLoad> loads;
+
+    public InstanceLoadTracker(LoadBalancerProperties loadBalancerProperties) {
+        this.decayNanos = loadBalancerProperties.decayTime().toNanos();
+        this.defaultLatencyNanos = loadBalancerProperties.defaultLatency().toNanos();
+        this.failurePenaltyNanos = loadBalancerProperties.failurePenalty().toNanos();
+        this.loads = Caffeine.newBuilder().expireAfterAccess(IDLE_INSTANCE_EXPIRY).build();
+    }
+
+    /**
+     * Picks an instance with the power of two choices.
+     *
+     * @param instances The available instances
+     * @param excluded  An instance not to pick, unless it is the only one, may be null
+     * @return The chosen instance, null if there is none
+     */
+    public ServiceInstance choose(List<ServiceInstance> instances, ServiceInstance excluded) {
+        List<ServiceInstance> candidates = excluded == null || instances.size() < 2
+                ? instances
+                : instances.stream().filter(instance -> !keyOf(instance).equals(keyOf(excluded))).toList();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return loadOf(a).cost(System.nanoTime()) <= loadOf(b).cost(System.nanoTime()) ? a : b;
+    }
+
+    /**
+     * Records the start of a request to an instance.
+     *
+     * @return The start time, to give to {@link #finish(ServiceInstance, long, boolean)}
+     */
+    public long start(ServiceInstance instance) {
+        long now = System.nanoTime();
+        loadOf(instance).begin(now);
+        return now;
+    }
+
+    /**
+     * Records the end of a request to an instance.
+     *
+     * @param instance  The instance
+     * @param startedAt The value returned by {@link #start(ServiceInstance)}
+     * @param failed    Whether the request failed or got a 5xx response
+     * @return The latency of the request in nanoseconds
+     */
+    public long finish(ServiceInstance instance, long startedAt, boolean failed) {
+        long now = System.nanoTime();
+        long latency = now - startedAt;
+        InstanceLoad load = loadOf(instance);
+        load.outstanding.decrementAndGet();
+        load.record(failed ? Math.max(latency, failurePenaltyNanos) : latency, now);
+        return latency;
+    }
+
+    private InstanceLoad loadOf(ServiceInstance instance) {
+        return loads.get(keyOf(instance), key -> new InstanceLoad(defaultLatencyNanos));
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * Latency and outstanding requests of an instance.
+     */
+    private final class InstanceLoad {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double ewma;
+        private long updatedAt;
+        private long busySince;
+
+        InstanceLoad(long initialLatency) {
+            this.ewma = initialLatency;
+            this.updatedAt = System.nanoTime();
+        }
+
+        synchronized void begin(long now) {
+            if (outstanding.incrementAndGet() == 1) {
+                busySince = now;
+            }
+        }
+
+        synchronized void record(long latency, long now) {
+            if (latency > ewma) {
+                ewma = latency;
+            } else {
+                double weight = Math.exp(-(now - updatedAt) / decayNanos);
+                ewma = ewma * weight + latency * (1 - weight);
+            }
+            updatedAt = now;
+        }
+
+        /**
+         * The latency decays while the instance has no outstanding request, so that an instance
+         * avoided after a slow response is tried again once the decay time has passed. With
+         * outstanding requests, the time elapsed since the last response, or since the instance
+         * became busy, is a lower bound of the latency of the pending ones.
+         */
+        synchronized double cost(long now) {
+            int pending = Math.max(outstanding.get(), 0);
+            double latency = pending == 0
+                    ? ewma * Math.exp(-(now - updatedAt) / decayNanos)
+                    : Math.max(ewma, now - Math.max(updatedAt, busySince));
+            return latency * (pending + 1);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package fr.hoenheimsports.gatewayservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration of the load balancer context of each service.
+ *
+ * <p>Not annotated with {@code @Configuration}: it is only registered in the child contexts
+ * created by Spring Cloud LoadBalancer, the {@link InstanceLoadTracker} coming from the
+ * application context.</p>
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                         InstanceLoadTracker instanceLoadTracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, instanceLoadTracker);
+    }
+}
@@ -0,0 +1,39 @@
+package fr.hoenheimsports.gatewayservice.loadbalancer;
+
+import java.util.Arrays;
+
+/**
+ * The latest latencies of a service, to compute the delay of the hedged requests.
+ */
+public final class LatencyWindow {
+
+    private static final int SIZE = 256;
+
+    private final long[] samples = new long[SIZE];
+    private int next;
+    private int count;
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % SIZE;
+        count = Math.min(count + 1, SIZE);
+    }
+
+    /**
+     * @param percentile  The percentile, between 0 and 1
+     * @param minSamples  The number of samples required
+     * @return The percentile of the latest latencies in nanoseconds, -1 if there are too few samples
+     */
+    public long percentile(double percentile, int minSamples) {
+        long[] sorted;
+        synchronized (this) {
+            if (count < minSamples) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+}
@@ -0,0 +1,47 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+/**
+ * Key of the client of a request for the rate limiter: the name of the authenticated user (the
+ * subject of its JWT), otherwise the IP address of the client.
+ *
+ * <p>The address is taken from the {@code X-Forwarded-For} header only as far as the trusted
+ * proxies go, so a client cannot choose its own key.</p>
+ */
+public class ClientKeyResolver implements KeyResolver {
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    public ClientKeyResolver(int trustedProxies) {
+        this.remoteAddressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .map(name -> "user:" + name)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + addressOf(exchange)));
+    }
+
+    private String addressOf(ServerWebExchange exchange) {
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        if (address == null) {
+            return UNKNOWN_CLIENT;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
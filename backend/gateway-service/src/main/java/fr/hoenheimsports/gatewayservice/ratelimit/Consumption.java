@@ -0,0 +1,11 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+/**
+ * Tokens consumed by a client on a route, exchanged between the instances of the gateway.
+ *
+ * @param route  The id of the route
+ * @param key    The key of the client
+ * @param tokens The number of tokens consumed
+ */
+public record Consumption(String route, String key, long tokens) {
+}
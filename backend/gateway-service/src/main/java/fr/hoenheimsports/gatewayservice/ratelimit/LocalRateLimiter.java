@@ -0,0 +1,190 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.hoenheimsports.gatewayservice.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code RequestRateLimiter} implementation keeping a token bucket per route and per client in
+ * the memory of the gateway, so that no Redis is needed.
+ *
+ * <p>A route uses the limits given to its {@code RequestRateLimiter} filter with the
+ * {@code local-rate-limiter.*} arguments, or the defaults of {@link RateLimitProperties}. Each
+ * decision is counted in {@code gateway.ratelimit.decisions}, tagged by route and result.</p>
+ *
+ * <p>On their own, the buckets only limit the requests seen by this instance. The consumption is
+ * shared with the other instances by {@link RateLimitSyncService} when the synchronisation is
+ * enabled.</p>
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+    private static final Logger logger = LoggerFactory.getLogger(LocalRateLimiter.class);
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    private static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    /**
+     * Time after which an unused bucket is dropped, it would be full again anyway.
+     */
+    private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(10);
+
+    /**
+     * The bucket of a client on a route.
+     */
+    private record BucketKey(String route, String client) {
+    }
+
+    /**
+     * The decision counters of a route, registered once instead of on every request.
+     */
+    private record DecisionCounters(Counter allowed, Counter denied) {
+    }
+
+    private final Config defaultConfig;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DecisionCounters> decisionCounters = new ConcurrentHashMap<>();
+
+    public LocalRateLimiter(RateLimitProperties rateLimitProperties, ConfigurationService configurationService,
+                            MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config()
+                .setReplenishRate(rateLimitProperties.replenishRate())
+                .setBurstCapacity(rateLimitProperties.burstCapacity())
+                .setRequestedTokens(rateLimitProperties.requestedTokens());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitProperties.maxTrackedKeys())
+                .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+                .build();
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("gateway.ratelimit.buckets", buckets, Cache::estimatedSize);
+        logger.debug("Limiteur de débit local initialisé: {} req/s, rafale de {}",
+                defaultConfig.getReplenishRate(), defaultConfig.getBurstCapacity());
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = configOf(routeId);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new BucketKey(routeId, id), key -> new TokenBucket(config, now));
+        long remaining = bucket.tryConsume(config.getRequestedTokens(), now);
+        boolean allowed = remaining >= 0;
+        DecisionCounters counters = decisionCounters.computeIfAbsent(routeId, this::registerDecisionCounters);
+        (allowed ? counters.allowed() : counters.denied()).increment();
+        if (!allowed) {
+            logger.debug("Requête refusée par le limiteur de débit: route={}, client={}", routeId, id);
+        }
+        return Mono.just(new Response(allowed, Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()))));
+    }
+
+    /**
+     * Collects the tokens consumed on this instance since the previous call.
+     *
+     * @return The consumption of each bucket which served requests
+     */
+    public List<Consumption> drainUnsynced() {
+        List<Consumption> consumptions = new ArrayList<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            long tokens = bucket.drainUnsynced();
+            if (tokens > 0) {
+                consumptions.add(new Consumption(key.route(), key.client(), tokens));
+            }
+        });
+        return consumptions;
+    }
+
+    /**
+     * Takes the tokens consumed on another instance from the local buckets.
+     *
+     * @param consumptions The consumption reported by the other instance
+     */
+    public void absorb(List<Consumption> consumptions) {
+        long now = System.nanoTime();
+        for (Consumption consumption : consumptions) {
+            Config config = configOf(consumption.route());
+            buckets.get(new BucketKey(consumption.route(), consumption.key()), key -> new TokenBucket(config, now))
+                    .absorb(consumption.tokens(), now);
+        }
+    }
+
+    private DecisionCounters registerDecisionCounters(String routeId) {
+        return new DecisionCounters(
+                meterRegistry.counter("gateway.ratelimit.decisions", "route", routeId, "result", "allowed"),
+                meterRegistry.counter("gateway.ratelimit.decisions", "route", routeId, "result", "denied"));
+    }
+
+    private Config configOf(String routeId) {
+        return getConfig().getOrDefault(routeId, defaultConfig);
+    }
+
+    /**
+     * Limits of a route, bound from the {@code local-rate-limiter.*} arguments of its filter.
+     */
+    @Validated
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate;
+
+        @Min(1)
+        private int burstCapacity = 1;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Config{replenishRate=" + replenishRate + ", burstCapacity=" + burstCapacity
+                    + ", requestedTokens=" + requestedTokens + '}';
+        }
+    }
+}
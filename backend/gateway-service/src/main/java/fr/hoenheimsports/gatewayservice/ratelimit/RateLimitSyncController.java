@@ -0,0 +1,53 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Receives the consumption reported by the other instances of the gateway.
+ *
+ * <p>The reports are authenticated by the shared secret of the synchronisation, since the endpoint
+ * is served on the public port of the gateway.</p>
+ */
+@RestController
+public class RateLimitSyncController {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitSyncController.class);
+
+    static final String SYNC_PATH = "/internal/rate-limit/sync";
+    static final String SECRET_HEADER = "X-Rate-Limit-Sync-Secret";
+
+    private final LocalRateLimiter localRateLimiter;
+    private final byte[] secret;
+    private final Counter receivedCounter;
+
+    public RateLimitSyncController(LocalRateLimiter localRateLimiter, String secret, MeterRegistry meterRegistry) {
+        this.localRateLimiter = localRateLimiter;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.receivedCounter = meterRegistry.counter("gateway.ratelimit.sync", "result", "received");
+    }
+
+    @PostMapping(SYNC_PATH)
+    public ResponseEntity<Void> receive(@RequestHeader(value = SECRET_HEADER, required = false) String providedSecret,
+                                        @RequestBody List<Consumption> consumptions) {
+        if (providedSecret == null || !MessageDigest.isEqual(secret, providedSecret.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("Synchronisation du limiteur de débit refusée: secret invalide");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        logger.debug("Réception de la consommation de {} buckets d'une autre instance", consumptions.size());
+        localRateLimiter.absorb(consumptions);
+        receivedCounter.increment();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,110 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+import fr.hoenheimsports.gatewayservice.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Shares the consumption of the rate limiter buckets with the other instances of the gateway.
+ *
+ * <p>Every {@link RateLimitProperties.Sync#interval()}, the tokens consumed locally are sent to
+ * the instances of the same service registered in Eureka, which take them from their own buckets
+ * through {@link RateLimitSyncController}. An instance which cannot be reached in time simply
+ * misses this report: the limits are approximate by design, and a lost exchange only lets a few
+ * more requests through.</p>
+ */
+public class RateLimitSyncService implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitSyncService.class);
+
+    private final LocalRateLimiter localRateLimiter;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final Registration registration;
+    private final RateLimitProperties.Sync sync;
+    private final WebClient webClient;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private volatile Disposable subscription;
+
+    public RateLimitSyncService(LocalRateLimiter localRateLimiter, ReactiveDiscoveryClient discoveryClient,
+                                Registration registration, RateLimitProperties rateLimitProperties,
+                                MeterRegistry meterRegistry) {
+        this.localRateLimiter = localRateLimiter;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.sync = rateLimitProperties.sync();
+        // Peers are addressed directly by their registered URI, not through the load balancer
+        this.webClient = WebClient.create();
+        this.sentCounter = meterRegistry.counter("gateway.ratelimit.sync", "result", "sent");
+        this.failedCounter = meterRegistry.counter("gateway.ratelimit.sync", "result", "failed");
+    }
+
+    @Override
+    public void start() {
+        logger.info("Démarrage de la synchronisation du limiteur de débit toutes les {}", sync.interval());
+        subscription = Flux.interval(sync.interval())
+                .onBackpressureDrop()
+                .concatMap(tick -> exchange())
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        logger.info("Arrêt de la synchronisation du limiteur de débit");
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        subscription = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+
+    private Mono<Void> exchange() {
+        List<Consumption> consumptions = localRateLimiter.drainUnsynced();
+        if (consumptions.isEmpty()) {
+            return Mono.empty();
+        }
+        return discoveryClient.getInstances(registration.getServiceId())
+                .filter(instance -> !Objects.equals(instance.getInstanceId(), registration.getInstanceId()))
+                .flatMap(peer -> send(peer, consumptions))
+                .onErrorResume(e -> {
+                    logger.warn("Impossible de lister les instances du gateway: {}", e.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> send(ServiceInstance peer, List<Consumption> consumptions) {
+        return webClient.post()
+                .uri(UriComponentsBuilder.fromUri(peer.getUri()).path(RateLimitSyncController.SYNC_PATH).build().toUri())
+                .header(RateLimitSyncController.SECRET_HEADER, sync.secret())
+                .bodyValue(consumptions)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(sync.timeout())
+                .doOnSuccess(response -> sentCounter.increment())
+                .onErrorResume(e -> {
+                    failedCounter.increment();
+                    logger.debug("Échec de la synchronisation avec {}: {}", peer.getInstanceId(), e.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,65 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+/**
+ * Token bucket refilled continuously, the time being given by the caller in nanoseconds.
+ *
+ * <p>The tokens taken locally are also counted until they are {@linkplain #drainUnsynced()
+ * collected} to be sent to the other instances of the gateway.</p>
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long updatedAt;
+    private long unsynced;
+
+    TokenBucket(LocalRateLimiter.Config config, long now) {
+        this.capacity = config.getBurstCapacity();
+        this.tokensPerNano = config.getReplenishRate() / 1_000_000_000d;
+        this.tokens = capacity;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Takes tokens if enough are available.
+     *
+     * @param requested The number of tokens to take
+     * @param now       The current time, from {@link System#nanoTime()}
+     * @return The number of tokens left, negative if the tokens were not taken
+     */
+    synchronized long tryConsume(int requested, long now) {
+        refill(now);
+        if (tokens >= requested) {
+            tokens -= requested;
+            unsynced += requested;
+            return (long) tokens;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the tokens consumed on another instance, without going below zero.
+     *
+     * @param consumed The number of tokens consumed
+     * @param now      The current time, from {@link System#nanoTime()}
+     */
+    synchronized void absorb(long consumed, long now) {
+        refill(now);
+        tokens = Math.max(0, tokens - consumed);
+    }
+
+    /**
+     * @return The number of tokens taken locally since the previous call
+     */
+    synchronized long drainUnsynced() {
+        long drained = unsynced;
+        unsynced = 0;
+        return drained;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+        updatedAt = now;
+    }
+}
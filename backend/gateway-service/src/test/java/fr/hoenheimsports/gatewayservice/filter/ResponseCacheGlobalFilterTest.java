@@ -0,0 +1,187 @@
+package fr.hoenheimsports.gatewayservice.filter;
+
+import fr.hoenheimsports.gatewayservice.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGlobalFilterTest {
+
+    private static final String PATH = "/training-service/api/teams";
+
+    private final List<ServerHttpRequest> backendRequests = new ArrayList<>();
+    private HttpStatus backendStatus;
+    private HttpHeaders backendHeaders;
+    private String backendBody;
+    private Duration backendDelay = Duration.ZERO;
+    private ResponseCacheGlobalFilter responseCacheGlobalFilter;
+
+    /**
+     * Backend answering with the configured response and recording the requests it received.
+     */
+    private final GatewayFilterChain backend = exchange -> {
+        backendRequests.add(exchange.getRequest());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(backendStatus);
+        response.getHeaders().putAll(backendHeaders);
+        byte[] body = backendBody.getBytes(StandardCharsets.UTF_8);
+        Mono<Void> write = Mono.defer(() -> response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body))));
+        return backendDelay.isZero() ? write : Mono.delay(backendDelay).then(write);
+    };
+
+    @BeforeEach
+    void setUp() {
+        responseCacheGlobalFilter = new ResponseCacheGlobalFilter(new ResponseCacheProperties(true,
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofHours(1), Duration.ofSeconds(5),
+                List.of(new ResponseCacheProperties.Route("/training-service/api/**", Duration.ofMinutes(5)))),
+                new Compression(), new SimpleMeterRegistry());
+        respond(HttpStatus.OK, new HttpHeaders(), "[\"U13\"]");
+    }
+
+    @Test
+    void servesTheSecondRequestFromTheCache() {
+        MockServerHttpResponse first = get(MockServerHttpRequest.get(PATH));
+        MockServerHttpResponse second = get(MockServerHttpRequest.get(PATH));
+
+        assertThat(first.getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(second.getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getBodyAsString().block()).isEqualTo("[\"U13\"]");
+        assertThat(backendRequests).hasSize(1);
+    }
+
+    @Test
+    void bypassesTheCacheForAuthenticatedRequestsAndUncachedPaths() {
+        get(MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+        get(MockServerHttpRequest.get(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+        get(MockServerHttpRequest.get("/contact-service/api/contact"));
+        get(MockServerHttpRequest.get("/contact-service/api/contact"));
+
+        assertThat(backendRequests).hasSize(4);
+    }
+
+    @Test
+    void doesNotStorePrivateResponsesNorResponsesSettingACookie() {
+        HttpHeaders privateHeaders = new HttpHeaders();
+        privateHeaders.setCacheControl("private, max-age=60");
+        respond(HttpStatus.OK, privateHeaders, "{}");
+        get(MockServerHttpRequest.get(PATH));
+        get(MockServerHttpRequest.get(PATH));
+
+        HttpHeaders cookieHeaders = new HttpHeaders();
+        cookieHeaders.add(HttpHeaders.SET_COOKIE, "session=1");
+        respond(HttpStatus.OK, cookieHeaders, "{}");
+        get(MockServerHttpRequest.get(PATH + "/1"));
+        get(MockServerHttpRequest.get(PATH + "/1"));
+
+        assertThat(backendRequests).hasSize(4);
+    }
+
+    @Test
+    void doesNotStoreTheErrors() {
+        respond(HttpStatus.INTERNAL_SERVER_ERROR, new HttpHeaders(), "{}");
+
+        get(MockServerHttpRequest.get(PATH));
+        get(MockServerHttpRequest.get(PATH));
+
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    @Test
+    void shortensTheRouteTtlToTheMaxAgeOfTheBackend() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=0");
+        respond(HttpStatus.OK, headers, "{}");
+
+        get(MockServerHttpRequest.get(PATH));
+        get(MockServerHttpRequest.get(PATH));
+
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    @Test
+    void revalidatesAnExpiredEntryWithItsETag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-cache");
+        headers.setETag("\"v1\"");
+        respond(HttpStatus.OK, headers, "[\"U13\"]");
+        get(MockServerHttpRequest.get(PATH));
+
+        respond(HttpStatus.NOT_MODIFIED, headers, "");
+        MockServerHttpResponse revalidated = get(MockServerHttpRequest.get(PATH));
+
+        assertThat(backendRequests).hasSize(2);
+        assertThat(backendRequests.get(1).getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidated.getHeaders().getFirst("X-Cache")).isEqualTo("REVALIDATED");
+        assertThat(revalidated.getBodyAsString().block()).isEqualTo("[\"U13\"]");
+    }
+
+    @Test
+    void answersNotModifiedToAClientHoldingTheCachedETag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        respond(HttpStatus.OK, headers, "[\"U13\"]");
+        get(MockServerHttpRequest.get(PATH));
+
+        MockServerHttpResponse hit = get(MockServerHttpRequest.get(PATH).ifNoneMatch("\"v1\""));
+
+        assertThat(hit.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(hit.getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(backendRequests).hasSize(1);
+    }
+
+    @Test
+    void sharesTheEntryBetweenTheClientsAcceptingGzip() {
+        get(MockServerHttpRequest.get(PATH).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        MockServerHttpResponse gzipClient = get(MockServerHttpRequest.get(PATH).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"));
+        MockServerHttpResponse identityClient = get(MockServerHttpRequest.get(PATH).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"));
+
+        assertThat(gzipClient.getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(identityClient.getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    @Test
+    void coalescesConcurrentMisses() {
+        backendDelay = Duration.ofMillis(100);
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get(PATH));
+
+        Mono.when(responseCacheGlobalFilter.filter(first, backend), responseCacheGlobalFilter.filter(second, backend))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(backendRequests).hasSize(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+    }
+
+    private void respond(HttpStatus status, HttpHeaders headers, String body) {
+        backendStatus = status;
+        backendHeaders = headers;
+        backendBody = body;
+    }
+
+    private MockServerHttpResponse get(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        responseCacheGlobalFilter.filter(exchange, backend).block(Duration.ofSeconds(5));
+        return exchange.getResponse();
+    }
+}
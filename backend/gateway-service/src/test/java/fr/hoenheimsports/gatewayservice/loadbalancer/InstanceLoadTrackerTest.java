@@ -0,0 +1,92 @@
+package fr.hoenheimsports.gatewayservice.loadbalancer;
+
+import fr.hoenheimsports.gatewayservice.config.LoadBalancerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceLoadTrackerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final ServiceInstance first = instance("training-1", 8081);
+    private final ServiceInstance second = instance("training-2", 8082);
+    private InstanceLoadTracker instanceLoadTracker;
+
+    @BeforeEach
+    void setUp() {
+        instanceLoadTracker = new InstanceLoadTracker(new LoadBalancerProperties(true, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofSeconds(2),
+                new LoadBalancerProperties.Hedging(false, List.of(), 0.95, Duration.ofMillis(50), Duration.ofSeconds(1),
+                        Duration.ofSeconds(10), DataSize.ofMegabytes(4))));
+    }
+
+    @Test
+    void choosesNothingAmongNoInstanceAndTheOnlyInstanceOtherwise() {
+        assertThat(instanceLoadTracker.choose(List.of(), null)).isNull();
+        assertThat(instanceLoadTracker.choose(List.of(first), null)).isSameAs(first);
+        assertThat(instanceLoadTracker.choose(List.of(first), first)).isSameAs(first);
+    }
+
+    @Test
+    void neverChoosesTheExcludedInstanceWhenThereIsAnother() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(instanceLoadTracker.choose(List.of(first, second), instance("training-1", 8081)))
+                    .isSameAs(second);
+        }
+    }
+
+    @Test
+    void avoidsTheInstanceWithOutstandingRequests() {
+        instanceLoadTracker.start(first);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(instanceLoadTracker.choose(List.of(first, second), null)).isSameAs(second);
+        }
+    }
+
+    @Test
+    void avoidsTheInstanceWhichAnsweredSlowly() {
+        long startedAt = instanceLoadTracker.start(first);
+        long latency = instanceLoadTracker.finish(first, startedAt - SECOND, false);
+
+        assertThat(latency).isGreaterThanOrEqualTo(SECOND);
+        for (int i = 0; i < 20; i++) {
+            assertThat(instanceLoadTracker.choose(List.of(first, second), null)).isSameAs(second);
+        }
+    }
+
+    @Test
+    void penalizesAFailedRequestEvenWhenItFailedFast() {
+        long startedAt = instanceLoadTracker.start(first);
+        long latency = instanceLoadTracker.finish(first, startedAt, true);
+
+        assertThat(latency).isLessThan(SECOND);
+        for (int i = 0; i < 20; i++) {
+            assertThat(instanceLoadTracker.choose(List.of(first, second), null)).isSameAs(second);
+        }
+    }
+
+    @Test
+    void prefersTheInstanceWhichAnsweredFaster() {
+        long startedAt = instanceLoadTracker.start(second);
+        instanceLoadTracker.finish(second, startedAt - Duration.ofMillis(500).toNanos(), false);
+        startedAt = instanceLoadTracker.start(first);
+        instanceLoadTracker.finish(first, startedAt - Duration.ofMillis(200).toNanos(), false);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(instanceLoadTracker.choose(List.of(first, second), null)).isSameAs(first);
+        }
+    }
+
+    private static ServiceInstance instance(String instanceId, int port) {
+        return new DefaultServiceInstance(instanceId, "training-service", "localhost", port, false);
+    }
+}
@@ -0,0 +1,79 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+import fr.hoenheimsports.gatewayservice.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LocalRateLimiterTest {
+
+    private static final String ROUTE = "training-service";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalRateLimiter localRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // One token per second at most, so that no token is refilled while a test runs
+        localRateLimiter = new LocalRateLimiter(new RateLimitProperties(true, 1, 3, 1, 1000, 0,
+                new RateLimitProperties.Sync(false, Duration.ofSeconds(1), Duration.ofMillis(500), null)),
+                mock(ConfigurationService.class), meterRegistry);
+    }
+
+    @Test
+    void deniesAClientOnceItsBurstIsSpent() {
+        assertThat(isAllowed("ip:10.0.0.1").isAllowed()).isTrue();
+        assertThat(isAllowed("ip:10.0.0.1").isAllowed()).isTrue();
+        RateLimiter.Response last = isAllowed("ip:10.0.0.1");
+        RateLimiter.Response denied = isAllowed("ip:10.0.0.1");
+
+        assertThat(last.isAllowed()).isTrue();
+        assertThat(last.getHeaders()).containsEntry("X-RateLimit-Remaining", "0")
+                .containsEntry("X-RateLimit-Burst-Capacity", "3")
+                .containsEntry("X-RateLimit-Replenish-Rate", "1");
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(isAllowed("ip:10.0.0.2").isAllowed()).isTrue();
+        assertThat(meterRegistry.counter("gateway.ratelimit.decisions", "route", ROUTE, "result", "allowed").count())
+                .isEqualTo(4);
+        assertThat(meterRegistry.counter("gateway.ratelimit.decisions", "route", ROUTE, "result", "denied").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void drainsTheLocalConsumptionOfEachBucket() {
+        isAllowed("ip:10.0.0.1");
+        isAllowed("ip:10.0.0.1");
+        isAllowed("user:john");
+
+        assertThat(localRateLimiter.drainUnsynced()).containsExactlyInAnyOrder(
+                new Consumption(ROUTE, "ip:10.0.0.1", 2),
+                new Consumption(ROUTE, "user:john", 1));
+        assertThat(localRateLimiter.drainUnsynced()).isEmpty();
+    }
+
+    @Test
+    void takesTheConsumptionOfTheOtherInstancesFromTheLocalBuckets() {
+        localRateLimiter.absorb(List.of(new Consumption(ROUTE, "ip:10.0.0.1", 2)));
+
+        assertThat(isAllowed("ip:10.0.0.1").isAllowed()).isTrue();
+        assertThat(isAllowed("ip:10.0.0.1").isAllowed()).isFalse();
+        assertThat(isAllowed("ip:10.0.0.2").isAllowed()).isTrue();
+        // Only the local request is reported back, not the absorbed consumption
+        assertThat(localRateLimiter.drainUnsynced()).containsExactlyInAnyOrder(
+                new Consumption(ROUTE, "ip:10.0.0.1", 1),
+                new Consumption(ROUTE, "ip:10.0.0.2", 1));
+    }
+
+    private RateLimiter.Response isAllowed(String client) {
+        return localRateLimiter.isAllowed(ROUTE, client).block();
+    }
+}
@@ -0,0 +1,58 @@
+package fr.hoenheimsports.gatewayservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final LocalRateLimiter.Config config = new LocalRateLimiter.Config()
+            .setReplenishRate(2)
+            .setBurstCapacity(4);
+
+    @Test
+    void allowsABurstOfTheCapacityThenRefillsAtTheReplenishRate() {
+        TokenBucket bucket = new TokenBucket(config, 0);
+
+        assertThat(bucket.tryConsume(3, 0)).isEqualTo(1);
+        assertThat(bucket.tryConsume(1, 0)).isZero();
+        assertThat(bucket.tryConsume(1, 0)).isNegative();
+        assertThat(bucket.tryConsume(2, SECOND + 1_000)).isZero();
+        assertThat(bucket.tryConsume(1, SECOND + 1_000)).isNegative();
+    }
+
+    @Test
+    void neverHoldsMoreThanTheBurstCapacity() {
+        TokenBucket bucket = new TokenBucket(config, 0);
+
+        assertThat(bucket.tryConsume(4, Duration.ofHours(1).toNanos())).isZero();
+        assertThat(bucket.tryConsume(1, Duration.ofHours(1).toNanos())).isNegative();
+    }
+
+    @Test
+    void countsTheTokensTakenLocallyUntilTheyAreDrained() {
+        TokenBucket bucket = new TokenBucket(config, 0);
+        bucket.tryConsume(2, 0);
+        bucket.tryConsume(1, 0);
+        bucket.tryConsume(4, 0);
+
+        assertThat(bucket.drainUnsynced()).isEqualTo(3);
+        assertThat(bucket.drainUnsynced()).isZero();
+    }
+
+    @Test
+    void absorbsTheRemoteConsumptionWithoutGoingBelowZeroNorReportingItBack() {
+        TokenBucket bucket = new TokenBucket(config, 0);
+
+        bucket.absorb(3, 0);
+        assertThat(bucket.tryConsume(1, 0)).isZero();
+
+        bucket.absorb(10, 0);
+        assertThat(bucket.tryConsume(2, SECOND + 1_000)).isZero();
+        assertThat(bucket.drainUnsynced()).isEqualTo(3);
+    }
+}
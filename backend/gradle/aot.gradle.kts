@@ -0,0 +1,95 @@
+// Mode de build AOT, activé par la propriété Gradle -Paot.
+// Appliqué par chaque service avec apply(from = "../gradle/aot.gradle.kts").
+//
+//  - Spring AOT : les contextes sont pré-calculés au build (processAot, profil -PaotProfiles, prod par défaut)
+//    et embarqués dans le jar. Ils ne sont utilisés qu'avec -Dspring.aot.enabled=true (-PspringAot).
+//  - Cache AOT du JDK (JEP 483) : le jar est extrait, un démarrage d'entraînement enregistre les classes
+//    chargées et liées, puis le cache build/aot-cache/app/app.aot est créé. Il n'est valable que pour la
+//    même JVM et le même classpath, il doit donc être recréé dans l'image qui l'exécute.
+//
+//   ./gradlew aotCache -Paot             # cache AOT du JDK seul
+//   ./gradlew aotCache -PspringAot       # cache AOT du JDK et contextes Spring AOT
+//   cd build/aot-cache/app && java @runtime.args -jar app.jar
+//
+// L'entraînement démarre le contexte puis s'arrête (spring.context.exit=onRefresh), sans config server,
+// Eureka ni base de données ; les propriétés propres au service sont dans extra["aotTrainingArgs"].
+
+val springAot = providers.gradleProperty("springAot").isPresent
+
+// L'image native (-Pnative, voir native.gradle.kts) embarque aussi les contextes Spring AOT
+if (providers.gradleProperty("aot").isPresent || springAot || providers.gradleProperty("native").isPresent) {
+    apply(plugin = "org.springframework.boot.aot")
+    // Les conditions des beans sont figées au build : propriétés et profils doivent être ceux de l'exécution
+    tasks.named<JavaExec>("processAot") {
+        args(
+            "--spring.profiles.active=${providers.gradleProperty("aotProfiles").getOrElse("prod")}",
+            "--CONFIG_SERVER=${providers.gradleProperty("aotConfigServer").getOrElse("http://localhost:8888")}",
+        )
+    }
+}
+
+val aotApplicationDirectory = layout.buildDirectory.dir("aot-cache/app")
+val javaLauncher = extensions.getByType<JavaToolchainService>()
+    .launcherFor(extensions.getByType<JavaPluginExtension>().toolchain)
+
+@Suppress("UNCHECKED_CAST")
+val serviceTrainingArgs = (project.extra.properties["aotTrainingArgs"] as? List<String>).orEmpty()
+val trainingArgs = listOf(
+    "-Dspring.context.exit=onRefresh",
+    "-Dspring.cloud.config.enabled=false",
+    "-Deureka.client.enabled=false",
+    "-Dcustom.config-snapshot.enabled=false",
+    "-Dmanagement.tracing.enabled=false",
+    "-DCONFIG_SERVER=http://localhost:8888",
+    "-DLOKI_URL=http://localhost:3100/loki/api/v1/push",
+    "-Dspring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost/aot-training/certs",
+    "-Dspring.main.banner-mode=off",
+) + serviceTrainingArgs + listOfNotNull(if (springAot) "-Dspring.aot.enabled=true" else null)
+val runtimeArgs = listOfNotNull("-XX:AOTCache=app.aot", if (springAot) "-Dspring.aot.enabled=true" else null)
+
+val bootJar = tasks.named<Jar>("bootJar")
+
+val extractAotApplication by tasks.registering(Exec::class) {
+    group = "aot"
+    description = "Extrait le jar exécutable et écrit les arguments d'entraînement et d'exécution."
+    inputs.file(bootJar.flatMap { it.archiveFile })
+    inputs.property("trainingArgs", trainingArgs)
+    outputs.dir(aotApplicationDirectory)
+    doFirst {
+        val destination = aotApplicationDirectory.get().asFile
+        destination.deleteRecursively()
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+        args("-Djarmode=tools", "-jar", bootJar.get().archiveFile.get().asFile.absolutePath,
+            "extract", "--destination", destination.absolutePath, "--application-filename", "app.jar")
+    }
+    doLast {
+        // Fichiers d'arguments du lanceur java (java @fichier), réutilisables dans un Dockerfile
+        val destination = aotApplicationDirectory.get().asFile
+        destination.resolve("training.args").writeText(trainingArgs.joinToString("\n", postfix = "\n"))
+        destination.resolve("runtime.args").writeText(runtimeArgs.joinToString("\n", postfix = "\n"))
+    }
+}
+
+val aotTrainingRun by tasks.registering(Exec::class) {
+    group = "aot"
+    description = "Démarre l'application une fois pour enregistrer les classes chargées (-XX:AOTMode=record)."
+    dependsOn(extractAotApplication)
+    outputs.file(aotApplicationDirectory.map { it.file("app.aotconf") })
+    doFirst {
+        workingDir = aotApplicationDirectory.get().asFile
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+        args("@training.args", "-XX:AOTMode=record", "-XX:AOTConfiguration=app.aotconf", "-jar", "app.jar")
+    }
+}
+
+val aotCache by tasks.registering(Exec::class) {
+    group = "aot"
+    description = "Crée le cache AOT du JDK (JEP 483) à partir de l'entraînement (-XX:AOTMode=create)."
+    dependsOn(aotTrainingRun)
+    outputs.file(aotApplicationDirectory.map { it.file("app.aot") })
+    doFirst {
+        workingDir = aotApplicationDirectory.get().asFile
+        executable = javaLauncher.get().executablePath.asFile.absolutePath
+        args("-XX:AOTMode=create", "-XX:AOTConfiguration=app.aotconf", "-XX:AOTCache=app.aot", "-jar", "app.jar")
+    }
+}
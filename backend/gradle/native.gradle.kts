@@ -0,0 +1,38 @@
+// Image native GraalVM, activée par la propriété Gradle -Pnative.
+// Appliqué par gateway, discovery, config et contact avec apply(from = "../gradle/native.gradle.kts"),
+// après aot.gradle.kts : les contextes Spring AOT embarqués dans l'image sont calculés avec les mêmes
+// arguments (profil -PaotProfiles, prod par défaut), à activer aussi à l'exécution.
+//
+// Le build nécessite une GraalVM 24 (GRAALVM_HOME ou JAVA_HOME) :
+//   ./gradlew nativeCompile -Pnative     # binaire build/native/nativeCompile/<service>
+//   ./gradlew nativeTest -Pnative        # test de fumée : les tests du service (contextLoads) exécutés dans une image
+//
+// Les options de native-image sont dans src/main/resources/META-INF/native-image/ et les hints de réflexion et
+// de ressources dans la classe config/NativeHints de chaque service, ceux communs à tous (appender loki4j, charges
+// utiles Eureka) dans CommonNativeHints de service-common.
+//
+// Le refresh scope n'est pas supporté dans une image native : il est désactivé, ainsi que l'instantané de la
+// configuration qui en dépend ; les autres propriétés propres au service sont dans extra["nativeAotArgs"].
+// Un changement de configuration nécessite alors un redémarrage, qui ne prend que quelques dizaines de
+// millisecondes. Le profilage continu est aussi désactivé : l'image est construite sans JFR.
+
+if (providers.gradleProperty("native").isPresent) {
+    apply(plugin = "org.graalvm.buildtools.native")
+
+    @Suppress("UNCHECKED_CAST")
+    val serviceNativeAotArgs = (project.extra.properties["nativeAotArgs"] as? List<String>).orEmpty()
+    val nativeAotArgs = listOf(
+        "--spring.cloud.refresh.enabled=false",
+        "--custom.config-snapshot.enabled=false",
+        "--custom.profiling.enabled=false",
+    ) + serviceNativeAotArgs
+    tasks.named<JavaExec>("processAot") {
+        args(nativeAotArgs)
+    }
+    // Les contextes des tests compilés par nativeTest sont figés avec les mêmes propriétés, passées en propriétés
+    // système au processus qui les calcule
+    tasks.named<JavaExec>("processTestAot") {
+        nativeAotArgs.map { it.removePrefix("--").split("=", limit = 2) }
+            .forEach { (name, value) -> systemProperty(name, value) }
+    }
+}
@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Comparaison de l'image native GraalVM avec le JVM.
+# Le test de fumée au build est ./gradlew nativeTest -Pnative ; ce script vérifie en plus le service déployé.
+#
+# Construire le jar et l'image native puis lancer le banc d'essai avec l'environnement habituel du service
+# (CONFIG_SERVER, SPRING_PROFILES_ACTIVE...) :
+#   cd backend/gateway-service && ./gradlew bootJar && ./gradlew nativeCompile -Pnative
+#   ../load-tests/native-benchmark.sh gateway-service 8080 /actuator/info
+#
+# Pour chaque mode (jvm : java -jar, native : build/native/nativeCompile/<service>) :
+#   - fumée : /actuator/health doit répondre UP et chaque chemin donné répondre 2xx, sinon le script échoue ;
+#   - temps jusqu'à ce que /actuator/health réponde UP ;
+#   - RSS au repos, une fois prêt ;
+#   - débit soutenu sur le premier chemin (k6, load-tests/throughput.js) et RSS maximale atteinte (VmHWM).
+# Le résultat est affiché sous forme de tableau Markdown, à reporter dans le README.
+set -euo pipefail
+
+SERVICE=${1:?Usage: native-benchmark.sh <service> <port> [chemin...]}
+PORT=${2:?Usage: native-benchmark.sh <service> <port> [chemin...]}
+shift 2
+PATHS=("${@:-/actuator/info}")
+SERVICE_DIR="$(cd "$(dirname "$0")/../${SERVICE}" && pwd)"
+THROUGHPUT_SCRIPT="$(cd "$(dirname "$0")" && pwd)/throughput.js"
+JAVA=${JAVA:-java}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+DURATION=${DURATION:-30s}
+VUS=${VUS:-50}
+RESULT_DIR="${SERVICE_DIR}/build/native-benchmark"
+
+JAR=$(find "${SERVICE_DIR}/build/libs" -name '*.jar' ! -name '*-plain.jar' 2>/dev/null | head -n 1)
+BINARY="${SERVICE_DIR}/build/native/nativeCompile/${SERVICE}"
+if [[ -z "${JAR}" || ! -x "${BINARY}" ]]; then
+    echo "Jar ou image native absent, lancer d'abord : ./gradlew bootJar && ./gradlew nativeCompile -Pnative" >&2
+    exit 1
+fi
+mkdir -p "${RESULT_DIR}"
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_mb() {
+    awk -v field="$2" '$1 == field ":" { printf "%d", $2 / 1024 }' "/proc/$1/status"
+}
+
+# Démarre le service, vérifie les chemins et affiche une ligne du tableau
+measure() {
+    local mode=$1 start ready idle peak rps pid path status
+    shift
+    start=$(now_ms)
+    "$@" >"${RESULT_DIR}/${mode}.log" 2>&1 &
+    pid=$!
+    until curl -fs "http://localhost:${PORT}/actuator/health" | grep -q '"UP"'; do
+        if ! kill -0 "${pid}" 2>/dev/null || (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "${mode} : le service n'a pas démarré, voir ${RESULT_DIR}/${mode}.log" >&2
+            kill "${pid}" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+    sleep 2
+    idle=$(rss_mb "${pid}" VmRSS)
+    for path in "${PATHS[@]}"; do
+        status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}${path}")
+        if [[ "${status}" != 2* ]]; then
+            echo "${mode} : ${path} a répondu ${status}, voir ${RESULT_DIR}/${mode}.log" >&2
+            kill "${pid}"
+            exit 1
+        fi
+    done
+    k6 run --quiet -e BASE_URL="http://localhost:${PORT}" -e PATH_UNDER_TEST="${PATHS[0]}" \
+        -e VUS="${VUS}" -e DURATION="${DURATION}" -e RESULT_FILE="${RESULT_DIR}/${mode}-rps.txt" \
+        "${THROUGHPUT_SCRIPT}" >/dev/null
+    rps=$(cat "${RESULT_DIR}/${mode}-rps.txt")
+    peak=$(rss_mb "${pid}" VmHWM)
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    printf '| %s | %s | %s | %s | %s | %s |\n' "${SERVICE}" "${mode}" "${ready}" "${idle}" "${peak}" "${rps}"
+}
+
+echo "| Service | Mode | Prêt (ms) | RSS au repos (Mo) | RSS max (Mo) | Débit ${PATHS[0]} (req/s) |"
+echo "|---|---|---|---|---|---|"
+measure jvm "${JAVA}" -jar "${JAR}"
+measure native "${BINARY}"
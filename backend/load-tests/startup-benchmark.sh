@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Temps de démarrage avec et sans le cache AOT du JDK (et Spring AOT).
+#
+# Préparer le service puis lancer le banc d'essai avec l'environnement habituel du service
+# (CONFIG_SERVER, base de données...) :
+#   cd backend/training-service && ./gradlew aotCache -PspringAot
+#   ../load-tests/startup-benchmark.sh training-service 8082 /api/teams 5
+#
+# Pour chaque mode et chaque démarrage, mesure le temps jusqu'à ce que /actuator/health réponde UP
+# (time-to-ready) puis la latence de la première requête sur le chemin donné, et affiche les médianes.
+#   jit : java -jar app.jar
+#   aot : java @runtime.args -jar app.jar (cache AOT du JDK, et Spring AOT si construit avec -PspringAot)
+set -euo pipefail
+
+SERVICE=${1:?Usage: startup-benchmark.sh <service> <port> [chemin] [démarrages]}
+PORT=${2:?Usage: startup-benchmark.sh <service> <port> [chemin] [démarrages]}
+REQUEST_PATH=${3:-/actuator/info}
+RUNS=${4:-5}
+APP_DIR="$(cd "$(dirname "$0")/../${SERVICE}/build/aot-cache/app" && pwd)"
+JAVA=${JAVA:-java}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+
+if [[ ! -f "${APP_DIR}/app.aot" ]]; then
+    echo "Cache AOT absent, lancer d'abord : ./gradlew aotCache -Paot" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+# Démarre le service, attend qu'il soit prêt et affiche "time-to-ready first-request" en millisecondes
+measure() {
+    local start ready first pid
+    start=$(now_ms)
+    (cd "${APP_DIR}" && exec "${JAVA}" "$@" -jar app.jar >"${APP_DIR}/benchmark.log" 2>&1) &
+    pid=$!
+    until curl -fs "http://localhost:${PORT}/actuator/health" | grep -q '"UP"'; do
+        if ! kill -0 "${pid}" 2>/dev/null || (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "Le service n'a pas démarré, voir ${APP_DIR}/benchmark.log" >&2
+            kill "${pid}" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+    first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:${PORT}${REQUEST_PATH}" | awk '{ printf "%d", $1 * 1000 }')
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "${ready} ${first}"
+}
+
+printf '%-6s %-8s %16s %20s\n' mode run time-to-ready-ms first-request-ms
+for mode in jit aot; do
+    : >"${APP_DIR}/benchmark-${mode}.txt"
+    for run in $(seq 1 "${RUNS}"); do
+        if [[ "${mode}" == jit ]]; then
+            result=$(measure)
+        else
+            result=$(measure @runtime.args)
+        fi
+        echo "${result}" >>"${APP_DIR}/benchmark-${mode}.txt"
+        printf '%-6s %-8s %16s %20s\n' "${mode}" "${run}" ${result}
+    done
+done
+
+echo
+printf '%-6s %-8s %16s %20s\n' mode runs median-ready-ms median-first-ms
+for mode in jit aot; do
+    printf '%-6s %-8s %16s %20s\n' "${mode}" "${RUNS}" \
+        "$(cut -d' ' -f1 "${APP_DIR}/benchmark-${mode}.txt" | median)" \
+        "$(cut -d' ' -f2 "${APP_DIR}/benchmark-${mode}.txt" | median)"
+done
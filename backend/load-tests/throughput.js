@@ -0,0 +1,35 @@
+// Débit soutenu d'un service, utilisé par native-benchmark.sh pour comparer l'image native au JVM.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e PATH_UNDER_TEST=/actuator/info -e RESULT_FILE=rps.txt load-tests/throughput.js
+//
+// Un nombre fixe d'utilisateurs enchaîne les requêtes sans pause ; le débit moyen (requêtes par seconde)
+// est écrit dans RESULT_FILE.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PATH_UNDER_TEST = __ENV.PATH_UNDER_TEST || '/actuator/info';
+
+export const options = {
+    scenarios: {
+        sustained: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 50),
+            duration: __ENV.DURATION || '30s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const response = http.get(`${BASE_URL}${PATH_UNDER_TEST}`);
+    check(response, { 'status 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
+
+export function handleSummary(data) {
+    return {
+        [__ENV.RESULT_FILE || 'throughput.txt']: `${Math.round(data.metrics.http_reqs.values.rate)}\n`,
+    };
+}
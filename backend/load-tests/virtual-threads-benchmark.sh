@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Comparaison threads de plateforme / threads virtuels sur la rafale de load-tests/virtual-threads.js.
+#
+# Construire le jar puis lancer le banc d'essai avec l'environnement habituel du service
+# (CONFIG_SERVER, base de données...) :
+#   cd backend/training-service && ./gradlew bootJar
+#   ../load-tests/virtual-threads-benchmark.sh training-service 8082 /api/teams
+#
+# Le service est démarré deux fois, avec VIRTUAL_THREADS_ENABLED=false puis true. Pour chaque mode :
+# latences p95/p99, débit, taux d'erreur (k6) et RSS maximale atteinte (VmHWM).
+# Le résultat est affiché sous forme de tableau Markdown, à reporter dans le README.
+set -euo pipefail
+
+SERVICE=${1:?Usage: virtual-threads-benchmark.sh <service> <port> <chemin>}
+PORT=${2:?Usage: virtual-threads-benchmark.sh <service> <port> <chemin>}
+REQUEST_PATH=${3:?Usage: virtual-threads-benchmark.sh <service> <port> <chemin>}
+SERVICE_DIR="$(cd "$(dirname "$0")/../${SERVICE}" && pwd)"
+SCENARIO="$(cd "$(dirname "$0")" && pwd)/virtual-threads.js"
+JAVA=${JAVA:-java}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+RESULT_DIR="${SERVICE_DIR}/build/virtual-threads-benchmark"
+
+JAR=$(find "${SERVICE_DIR}/build/libs" -name '*.jar' ! -name '*-plain.jar' 2>/dev/null | head -n 1)
+if [[ -z "${JAR}" ]]; then
+    echo "Jar absent, lancer d'abord : ./gradlew bootJar" >&2
+    exit 1
+fi
+mkdir -p "${RESULT_DIR}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Démarre le service dans le mode donné, envoie la rafale et affiche une ligne du tableau
+measure() {
+    local virtual=$1 start pid peak summary
+    start=$(now_ms)
+    VIRTUAL_THREADS_ENABLED="${virtual}" "${JAVA}" -jar "${JAR}" >"${RESULT_DIR}/virtual-${virtual}.log" 2>&1 &
+    pid=$!
+    until curl -fs "http://localhost:${PORT}/actuator/health" | grep -q '"UP"'; do
+        if ! kill -0 "${pid}" 2>/dev/null || (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "virtual=${virtual} : le service n'a pas démarré, voir ${RESULT_DIR}/virtual-${virtual}.log" >&2
+            kill "${pid}" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.05
+    done
+    summary="${RESULT_DIR}/virtual-${virtual}.json"
+    # Les seuils du scénario ne doivent pas interrompre la comparaison
+    k6 run --quiet --no-thresholds --summary-trend-stats 'avg,p(95),p(99),max' --summary-export "${summary}" \
+        -e BASE_URL="http://localhost:${PORT}" -e PATH_UNDER_TEST="${REQUEST_PATH}" "${SCENARIO}" >/dev/null
+    peak=$(awk '$1 == "VmHWM:" { printf "%d", $2 / 1024 }' "/proc/${pid}/status")
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    jq -r --arg service "${SERVICE}" --arg mode "$([[ "${virtual}" == true ]] && echo virtuels || echo plateforme)" \
+        --arg peak "${peak}" \
+        '"| \($service) | \($mode) | \(.metrics.http_req_duration["p(95)"] | round) | \(.metrics.http_req_duration["p(99)"] | round) | \(.metrics.http_reqs.rate | round) | \(.metrics.http_req_failed.value * 10000 | round / 100) | \($peak) |"' \
+        "${summary}"
+}
+
+echo "| Service | Threads | p95 (ms) | p99 (ms) | Débit (req/s) | Erreurs (%) | RSS max (Mo) |"
+echo "|---|---|---|---|---|---|---|"
+measure false
+measure true
@@ -0,0 +1,39 @@
+// Comparaison threads de plateforme / threads virtuels.
+//
+// Lancer le même scénario contre un service démarré avec VIRTUAL_THREADS_ENABLED=false puis true :
+//   k6 run -e BASE_URL=http://localhost:8082 -e PATH_UNDER_TEST=/api/teams load-tests/virtual-threads.js
+//   k6 run -e BASE_URL=http://localhost:8083 -e PATH_UNDER_TEST=/api/feeds load-tests/virtual-threads.js
+// et comparer http_req_duration (p95, p99), http_reqs et http_req_failed.
+// virtual-threads-benchmark.sh enchaîne les deux modes et affiche la comparaison.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const PATH_UNDER_TEST = __ENV.PATH_UNDER_TEST || '/api/teams';
+
+export const options = {
+    scenarios: {
+        burst: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 50, duration: '30s' },   // régime normal
+                { target: 800, duration: '30s' },  // rafale, au-delà des 200 threads Tomcat par défaut
+                { target: 800, duration: '1m' },
+                { target: 50, duration: '30s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500', 'p(99)<1500'],
+    },
+};
+
+export default function () {
+    const response = http.get(`${BASE_URL}${PATH_UNDER_TEST}`);
+    check(response, { 'status 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
@@ -0,0 +1,63 @@
+plugins {
+    `java-library`
+    id("io.spring.dependency-management") version "1.1.7"
+}
+
+group = "fr.hoenheimsports"
+version = "0.0.1-SNAPSHOT"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(24)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+extra["springBootVersion"] = "3.4.4"
+extra["springCloudVersion"] = "2024.0.1"
+
+// Bibliothèque incluse par chaque service (includeBuild) : les dépendances sont fournies par le
+// service, dans la version de son propre BOM, et les configurations ne s'activent que si leurs
+// classes sont présentes.
+dependencies {
+    compileOnly("org.springframework.boot:spring-boot-autoconfigure")
+    compileOnly("org.springframework.boot:spring-boot-actuator")
+    compileOnly("org.springframework.cloud:spring-cloud-context")
+    compileOnly("org.slf4j:slf4j-api")
+    compileOnly("io.micrometer:micrometer-core")
+    compileOnly("com.zaxxer:HikariCP")
+    compileOnly("org.hibernate.orm:hibernate-core")
+    compileOnly("org.springframework:spring-web")
+    compileOnly("org.springframework:spring-webmvc")
+    compileOnly("jakarta.servlet:jakarta.servlet-api")
+    compileOnly("com.fasterxml.jackson.core:jackson-databind")
+    compileOnly("org.springframework.security:spring-security-oauth2-jose")
+    compileOnly("io.zipkin.brave:brave")
+    compileOnly("io.zipkin.reporter2:zipkin-reporter-brave")
+
+    // Tests
+    testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.micrometer:micrometer-core")
+    testImplementation("io.zipkin.brave:brave")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Noms des paramètres conservés, comme le fait le plugin Spring Boot dans les services : liaison des records
+// @ConfigurationProperties et paramètres des endpoints Actuator
+tasks.withType<JavaCompile> {
+    options.compilerArgs.add("-parameters")
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
+
+dependencyManagement {
+    imports {
+        mavenBom("org.springframework.boot:spring-boot-dependencies:${property("springBootVersion")}")
+        mavenBom("org.springframework.cloud:spring-cloud-dependencies:${property("springCloudVersion")}")
+    }
+}
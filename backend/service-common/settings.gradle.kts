@@ -0,0 +1 @@
+rootProject.name = "service-common"
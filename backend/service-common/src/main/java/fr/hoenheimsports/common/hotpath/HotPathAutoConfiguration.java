@@ -0,0 +1,82 @@
+package fr.hoenheimsports.common.hotpath;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.List;
+
+/**
+ * Per-layer instrumentation of the requests of a servlet service, served by
+ * {@code /actuator/hotpath}, enabled by {@code custom.hot-path.enabled}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(DispatcherServlet.class)
+@ConditionalOnProperty(prefix = "custom.hot-path", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(HotPathProperties.class)
+public class HotPathAutoConfiguration {
+
+    private static final String BASE_PACKAGE_PROPERTY = "custom.hot-path.base-package";
+
+    @Bean
+    public HotPathMetrics hotPathMetrics(MeterRegistry meterRegistry, HotPathProperties hotPathProperties) {
+        return new HotPathMetrics(meterRegistry, hotPathProperties.histogram());
+    }
+
+    /**
+     * Times the repositories, mappers, assemblers and JSON converters. The post processor is created
+     * before the configuration properties are bound: the base package is read from the environment.
+     */
+    @Bean
+    public static HotPathPostProcessor hotPathPostProcessor(Environment environment, BeanFactory beanFactory,
+                                                            ObjectProvider<HotPathMetrics> hotPathMetrics) {
+        String basePackage = environment.getProperty(BASE_PACKAGE_PROPERTY);
+        if (basePackage == null) {
+            basePackage = AutoConfigurationPackages.get(beanFactory).getFirst();
+        }
+        return new HotPathPostProcessor(basePackage, hotPathMetrics);
+    }
+
+    @Bean
+    public FilterRegistrationBean<HotPathFilter> hotPathFilter(HotPathMetrics hotPathMetrics) {
+        return new FilterRegistrationBean<>(new HotPathFilter(hotPathMetrics));
+    }
+
+    @Bean
+    public HotPathEndpoint hotPathEndpoint(HotPathMetrics hotPathMetrics) {
+        return new HotPathEndpoint(hotPathMetrics);
+    }
+
+    /**
+     * Counts the SQL statements and the entities loaded per request.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({AvailableSettings.class, HibernatePropertiesCustomizer.class})
+    static class HibernateConfiguration {
+
+        @Bean
+        public HibernatePropertiesCustomizer hotPathHibernatePropertiesCustomizer(HotPathMetrics hotPathMetrics) {
+            HotPathHibernateListener listener = new HotPathHibernateListener(hotPathMetrics);
+            return properties -> {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, listener);
+                properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(listener));
+            };
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package fr.hoenheimsports.common.hotpath;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint {@code /actuator/hotpath}: where the time of each endpoint goes, since the
+ * start of the service.
+ *
+ * <p>The endpoints are sorted by the total time spent in the timed layers. The same figures are
+ * published to Prometheus as {@code hotpath_layer_seconds}, {@code hotpath_sql_statements} and
+ * {@code hotpath_entities_loaded}, for their evolution over time.</p>
+ */
+@Endpoint(id = "hotpath")
+public class HotPathEndpoint {
+
+    /**
+     * Time spent in a layer by an endpoint.
+     *
+     * @param calls     Number of calls
+     * @param totalMs   Own time of the calls, in milliseconds
+     * @param meanMs    Mean own time of a call, in milliseconds
+     * @param maxMs     Maximum own time of a call over the last minutes, in milliseconds
+     */
+    public record LayerSummary(long calls, double totalMs, double meanMs, double maxMs) {
+    }
+
+    /**
+     * Breakdown of the handling of an endpoint.
+     *
+     * @param method                   HTTP method
+     * @param uri                      URI pattern
+     * @param requests                 Number of requests
+     * @param layers                   Time spent in each layer
+     * @param sqlStatementsPerRequest  Mean number of SQL statements per request
+     * @param entitiesLoadedPerRequest Mean number of entities loaded per request
+     */
+    public record EndpointSummary(String method, String uri, long requests, Map<String, LayerSummary> layers,
+                                  double sqlStatementsPerRequest, double entitiesLoadedPerRequest) {
+
+        private double totalMs() {
+            return layers.values().stream().mapToDouble(LayerSummary::totalMs).sum();
+        }
+    }
+
+    private final HotPathMetrics hotPathMetrics;
+
+    public HotPathEndpoint(HotPathMetrics hotPathMetrics) {
+        this.hotPathMetrics = hotPathMetrics;
+    }
+
+    @ReadOperation
+    public List<EndpointSummary> hotPath() {
+        return hotPathMetrics.endpoints().stream()
+                .map(HotPathEndpoint::summarize)
+                .filter(summary -> summary.requests() > 0 || summary.totalMs() > 0)
+                .sorted(Comparator.comparingDouble(EndpointSummary::totalMs).reversed())
+                .toList();
+    }
+
+    private static EndpointSummary summarize(HotPathMetrics.EndpointMeters meters) {
+        Map<String, LayerSummary> layers = new LinkedHashMap<>();
+        for (Layer layer : Layer.values()) {
+            Timer timer = meters.layer(layer);
+            if (timer.count() > 0) {
+                layers.put(layer.tag(), new LayerSummary(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS),
+                        timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+            }
+        }
+        return new EndpointSummary(meters.method(), meters.uri(), meters.statements().count(), layers,
+                meters.statements().mean(), meters.entities().mean());
+    }
+}
@@ -0,0 +1,39 @@
+package fr.hoenheimsports.common.hotpath;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Measures each request with the {@link HotPathMetrics}, except the actuator ones.
+ */
+public class HotPathFilter extends OncePerRequestFilter {
+
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final HotPathMetrics hotPathMetrics;
+
+    public HotPathFilter(HotPathMetrics hotPathMetrics) {
+        this.hotPathMetrics = hotPathMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HotPathMetrics.RequestProfile profile = hotPathMetrics.start(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            hotPathMetrics.finish(profile);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package fr.hoenheimsports.common.hotpath;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Counts the SQL statements prepared and the entities loaded by Hibernate for the current request.
+ *
+ * <p>Registered as the statement inspector of the session factory and, through the integrator, as
+ * a post-load event listener. An entity loaded lazily, when a mapper reads an association, is
+ * counted as well.</p>
+ */
+public class HotPathHibernateListener implements StatementInspector, PostLoadEventListener, Integrator {
+
+    private final HotPathMetrics hotPathMetrics;
+
+    public HotPathHibernateListener(HotPathMetrics hotPathMetrics) {
+        this.hotPathMetrics = hotPathMetrics;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        hotPathMetrics.statementPrepared();
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        hotPathMetrics.entityLoaded();
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
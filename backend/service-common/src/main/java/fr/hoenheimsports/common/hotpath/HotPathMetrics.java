@@ -0,0 +1,228 @@
+package fr.hoenheimsports.common.hotpath;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent in each layer per endpoint, with the SQL statements and entities loaded per request.
+ *
+ * <p>The meters of an endpoint, identified by the HTTP method and the URI pattern as in
+ * {@code http.server.requests}, are created on its first request and resolved once per request:
+ * recording a call costs a thread local lookup and an array access, without allocating tags.</p>
+ *
+ * <p>The time recorded for a call is its own time, without the nested calls of the timed layers: a
+ * mapper called by an assembler counts as mapper time only, so that the layers of an endpoint add
+ * up. The calls outside a request, such as the scheduled tasks, are recorded under the
+ * {@code NONE} endpoint with their whole duration.</p>
+ */
+public class HotPathMetrics {
+
+    static final String LAYER_METRIC = "hotpath.layer";
+    static final String STATEMENTS_METRIC = "hotpath.sql.statements";
+    static final String ENTITIES_METRIC = "hotpath.entities.loaded";
+    private static final String NONE = "NONE";
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * Meters of an endpoint.
+     */
+    public static final class EndpointMeters {
+        private final String method;
+        private final String uri;
+        private final Timer[] layers;
+        private final DistributionSummary statements;
+        private final DistributionSummary entities;
+
+        private EndpointMeters(MeterRegistry meterRegistry, boolean histogram, String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+            this.layers = new Timer[Layer.values().length];
+            for (Layer layer : Layer.values()) {
+                layers[layer.ordinal()] = Timer.builder(LAYER_METRIC)
+                        .description("Temps propre passé dans chaque couche, par endpoint")
+                        .tags("method", method, "uri", uri, "layer", layer.tag())
+                        .publishPercentileHistogram(histogram)
+                        .register(meterRegistry);
+            }
+            this.statements = DistributionSummary.builder(STATEMENTS_METRIC)
+                    .description("Requêtes SQL exécutées par requête HTTP")
+                    .baseUnit("statements")
+                    .tags("method", method, "uri", uri)
+                    .publishPercentileHistogram(histogram)
+                    .register(meterRegistry);
+            this.entities = DistributionSummary.builder(ENTITIES_METRIC)
+                    .description("Entités JPA chargées par requête HTTP")
+                    .baseUnit("entities")
+                    .tags("method", method, "uri", uri)
+                    .publishPercentileHistogram(histogram)
+                    .register(meterRegistry);
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public String uri() {
+            return uri;
+        }
+
+        public Timer layer(Layer layer) {
+            return layers[layer.ordinal()];
+        }
+
+        public DistributionSummary statements() {
+            return statements;
+        }
+
+        public DistributionSummary entities() {
+            return entities;
+        }
+    }
+
+    /**
+     * Measures of the request handled by the current thread.
+     */
+    public final class RequestProfile {
+        private final HttpServletRequest request;
+        private final long[] nestedNanos = new long[MAX_DEPTH];
+        private EndpointMeters meters;
+        private int depth;
+        private int statements;
+        private int entities;
+
+        private RequestProfile(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        /**
+         * The endpoint is known once the request has been mapped to its handler.
+         */
+        private EndpointMeters meters() {
+            if (meters == null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern == null) {
+                    return unknown;
+                }
+                meters = endpoint(request.getMethod(), pattern.toString());
+            }
+            return meters;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean histogram;
+    private final ThreadLocal<RequestProfile> currentRequest = new ThreadLocal<>();
+    private final Map<String, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+    private final EndpointMeters background;
+    private final EndpointMeters unknown;
+
+    public HotPathMetrics(MeterRegistry meterRegistry, boolean histogram) {
+        this.meterRegistry = meterRegistry;
+        this.histogram = histogram;
+        this.background = endpoint(NONE, NONE);
+        this.unknown = endpoint(NONE, UNKNOWN);
+    }
+
+    /**
+     * Starts measuring a request on the current thread.
+     *
+     * @param request The request
+     * @return The measures of the request, to be given to {@link #finish(RequestProfile)}
+     */
+    public RequestProfile start(HttpServletRequest request) {
+        RequestProfile profile = new RequestProfile(request);
+        currentRequest.set(profile);
+        return profile;
+    }
+
+    /**
+     * Records the SQL statements and entities loaded by a request.
+     *
+     * @param profile The measures returned by {@link #start(HttpServletRequest)}
+     */
+    public void finish(RequestProfile profile) {
+        currentRequest.remove();
+        EndpointMeters meters = profile.meters();
+        meters.statements.record(profile.statements);
+        meters.entities.record(profile.entities);
+    }
+
+    /**
+     * Enters a timed call.
+     *
+     * @return The frame of the call, to be given to {@link #exit(Layer, int, long)}
+     */
+    public int enter() {
+        RequestProfile profile = currentRequest.get();
+        if (profile == null || profile.depth == MAX_DEPTH) {
+            return -1;
+        }
+        profile.nestedNanos[profile.depth] = 0;
+        return profile.depth++;
+    }
+
+    /**
+     * Exits a timed call and records its own time.
+     *
+     * @param layer        The layer of the call
+     * @param frame        The frame returned by {@link #enter()}
+     * @param elapsedNanos The whole duration of the call
+     */
+    public void exit(Layer layer, int frame, long elapsedNanos) {
+        RequestProfile profile = currentRequest.get();
+        if (profile == null) {
+            background.layers[layer.ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        long ownNanos = elapsedNanos;
+        if (frame >= 0) {
+            ownNanos -= profile.nestedNanos[frame];
+            profile.depth = frame;
+            if (frame > 0) {
+                profile.nestedNanos[frame - 1] += elapsedNanos;
+            }
+        }
+        profile.meters().layers[layer.ordinal()].record(ownNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a SQL statement prepared by the current request.
+     */
+    public void statementPrepared() {
+        RequestProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.statements++;
+        }
+    }
+
+    /**
+     * Counts an entity loaded by the current request.
+     */
+    public void entityLoaded() {
+        RequestProfile profile = currentRequest.get();
+        if (profile != null) {
+            profile.entities++;
+        }
+    }
+
+    /**
+     * @return The meters of the endpoints requested so far
+     */
+    public Collection<EndpointMeters> endpoints() {
+        return endpoints.values();
+    }
+
+    private EndpointMeters endpoint(String method, String uri) {
+        return endpoints.computeIfAbsent(method + " " + uri,
+                ignored -> new EndpointMeters(meterRegistry, histogram, method, uri));
+    }
+}
@@ -0,0 +1,106 @@
+package fr.hoenheimsports.common.hotpath;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.function.Supplier;
+
+/**
+ * Instruments the layers timed by the {@link HotPathMetrics}.
+ *
+ * <ul>
+ *     <li>The beans of the {@code repository}, {@code mapper} and {@code assembler} packages are
+ *     proxied, or given one more advice when they are already proxied, as the repositories.</li>
+ *     <li>The JSON message converters of the MVC handler adapter are wrapped before it builds its
+ *     return value handlers, the HAL ones of Spring HATEOAS included.</li>
+ * </ul>
+ */
+public class HotPathPostProcessor implements BeanPostProcessor, BeanClassLoaderAware {
+
+    private final String basePackage;
+    private final Supplier<HotPathMetrics> hotPathMetrics;
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    /**
+     * @param basePackage    The base package of the application, parent of the layer packages
+     * @param hotPathMetrics The metrics, resolved on the first call so that the meter registry is
+     *                       not created with the post processors
+     */
+    public HotPathPostProcessor(String basePackage, ObjectProvider<HotPathMetrics> hotPathMetrics) {
+        this.basePackage = basePackage;
+        this.hotPathMetrics = SingletonSupplier.of(hotPathMetrics::getObject);
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestMappingHandlerAdapter handlerAdapter) {
+            handlerAdapter.setMessageConverters(handlerAdapter.getMessageConverters().stream()
+                    .<HttpMessageConverter<?>>map(converter -> converter instanceof AbstractJackson2HttpMessageConverter json
+                            ? new TimedJsonHttpMessageConverter(json, hotPathMetrics)
+                            : converter)
+                    .toList());
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Layer layer = layerOf(bean);
+        if (layer == null) {
+            return bean;
+        }
+        MethodInterceptor interceptor = invocation -> {
+            if (ReflectionUtils.isObjectMethod(invocation.getMethod())) {
+                return invocation.proceed();
+            }
+            HotPathMetrics metrics = hotPathMetrics.get();
+            int frame = metrics.enter();
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                metrics.exit(layer, frame, System.nanoTime() - start);
+            }
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(classLoader);
+    }
+
+    /**
+     * The layer of a repository is found from its interface, the bean being a JDK proxy.
+     */
+    private Layer layerOf(Object bean) {
+        if (AopUtils.isJdkDynamicProxy(bean)) {
+            for (Class<?> type : bean.getClass().getInterfaces()) {
+                Layer layer = Layer.of(basePackage, type);
+                if (layer != null) {
+                    return layer;
+                }
+            }
+            return null;
+        }
+        return Layer.of(basePackage, AopUtils.getTargetClass(bean));
+    }
+}
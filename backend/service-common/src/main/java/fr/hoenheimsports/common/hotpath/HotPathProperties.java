@@ -0,0 +1,21 @@
+package fr.hoenheimsports.common.hotpath;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the per-layer instrumentation of the requests.
+ *
+ * @param enabled     Whether the repositories, mappers, assemblers and the JSON serialization are
+ *                    timed per endpoint, with the SQL statements and entities loaded per request
+ * @param histogram   Whether the timers publish a percentile histogram, for the quantiles in
+ *                    Prometheus at the cost of one series per bucket
+ * @param basePackage Base package of the application, parent of the {@code repository},
+ *                    {@code mapper} and {@code assembler} packages instrumented, the package of
+ *                    the {@code @SpringBootApplication} class when not set
+ */
+@ConfigurationProperties(prefix = "custom.hot-path")
+public record HotPathProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("false") boolean histogram,
+                                String basePackage) {
+}
@@ -0,0 +1,56 @@
+package fr.hoenheimsports.common.hotpath;
+
+/**
+ * Layer of the handling of a request, timed by the {@link HotPathMetrics}.
+ *
+ * <p>The components of a layer are the beans of the package of the same name.</p>
+ */
+public enum Layer {
+
+    /**
+     * The Spring Data JPA repositories, with their transaction and the SQL they execute.
+     */
+    REPOSITORY("repository"),
+
+    /**
+     * The MapStruct mappers, with the lazy associations they load.
+     */
+    MAPPER("mapper"),
+
+    /**
+     * The HATEOAS assemblers, building the links and the models.
+     */
+    ASSEMBLER("assembler"),
+
+    /**
+     * The Jackson serialization of the response body.
+     */
+    SERIALIZATION("serialization");
+
+    private final String tag;
+
+    Layer(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Returns the layer of a component type.
+     *
+     * @param basePackage The base package of the application
+     * @param type        A component type
+     * @return The layer, or null if the type is not in the package of a layer
+     */
+    static Layer of(String basePackage, Class<?> type) {
+        String packageName = type.getPackageName();
+        for (Layer layer : values()) {
+            if (packageName.equals(basePackage + "." + layer.tag)) {
+                return layer;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package fr.hoenheimsports.common.hotpath;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * JSON message converter recording the serialization of the response bodies in the
+ * {@link Layer#SERIALIZATION} layer.
+ *
+ * <p>The time recorded includes the write of the JSON into the response buffer; the reading of the
+ * request bodies is not timed.</p>
+ */
+class TimedJsonHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+
+    /**
+     * A write to the response.
+     */
+    @FunctionalInterface
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private final AbstractJackson2HttpMessageConverter delegate;
+    private final Supplier<HotPathMetrics> hotPathMetrics;
+
+    TimedJsonHttpMessageConverter(AbstractJackson2HttpMessageConverter delegate, Supplier<HotPathMetrics> hotPathMetrics) {
+        this.delegate = delegate;
+        this.hotPathMetrics = hotPathMetrics;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return delegate.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return delegate.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return delegate.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return delegate.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return delegate.read(clazz, inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return delegate.read(type, contextClass, inputMessage);
+    }
+
+    @Override
+    public void write(Object body, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        timed(() -> delegate.write(body, contentType, outputMessage));
+    }
+
+    @Override
+    public void write(Object body, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        timed(() -> delegate.write(body, type, contentType, outputMessage));
+    }
+
+    @Override
+    public String toString() {
+        return "Timed" + delegate;
+    }
+
+    private void timed(Write write) throws IOException {
+        HotPathMetrics metrics = hotPathMetrics.get();
+        int frame = metrics.enter();
+        long start = System.nanoTime();
+        try {
+            write.run();
+        } finally {
+            metrics.exit(Layer.SERIALIZATION, frame, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package fr.hoenheimsports.common.identity;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Authenticates the requests by the identity forwarded by the gateway in the
+ * {@value #HEADER} header, instead of decoding and verifying the JWT again.
+ *
+ * <p>The header is {@code base64url(claims).base64url(HMAC-SHA256(secret, base64url(claims)))},
+ * the claims using the names of Keycloak. Checking it costs one HMAC, the claims are then
+ * converted by the converter the service applies to its JWTs, so the authorities are the same. A
+ * request with an invalid or expired header is rejected with {@code 401}; a request without the
+ * header falls back to the JWT.</p>
+ */
+public class InternalIdentityAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(InternalIdentityAuthenticationFilter.class);
+
+    public static final String HEADER = "X-Internal-Identity";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {
+    };
+
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper;
+    private final Converter<Jwt, ? extends AbstractAuthenticationToken> converter;
+
+    /**
+     * @param secret       Secret shared with the gateway
+     * @param objectMapper Mapper reading the claims
+     * @param converter    Converter of the JWTs of the service, applied to the forwarded identity
+     */
+    public InternalIdentityAuthenticationFilter(String secret, ObjectMapper objectMapper,
+                                                Converter<Jwt, ? extends AbstractAuthenticationToken> converter) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.objectMapper = objectMapper;
+        this.converter = converter;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String credential = request.getHeader(HEADER);
+        if (credential == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Jwt identity = verify(credential);
+        if (identity == null) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(converter.convert(identity));
+        SecurityContextHolder.setContext(context);
+        log.debug("Requête authentifiée par l'identité transmise par le gateway: {}", identity.getSubject());
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return The identity as a JWT, null if the signature is invalid or the identity expired
+     */
+    private Jwt verify(String credential) {
+        int separator = credential.indexOf('.');
+        if (separator <= 0) {
+            log.warn("Identité interne malformée");
+            return null;
+        }
+        String payload = credential.substring(0, separator);
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] expected = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            byte[] signature = Base64.getUrlDecoder().decode(credential.substring(separator + 1));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                log.warn("Signature de l'identité interne invalide");
+                return null;
+            }
+            Map<String, Object> claims = objectMapper.readValue(Base64.getUrlDecoder().decode(payload), CLAIMS_TYPE);
+            if (!(claims.get("exp") instanceof Number exp) || !(claims.get("iat") instanceof Number iat)) {
+                log.warn("Identité interne sans date d'émission ou d'expiration");
+                return null;
+            }
+            Instant expiresAt = Instant.ofEpochSecond(exp.longValue());
+            if (!expiresAt.isAfter(Instant.now())) {
+                log.debug("Identité interne expirée depuis {}", expiresAt);
+                return null;
+            }
+            return Jwt.withTokenValue(credential)
+                    .header("alg", "HS256")
+                    .claims(jwtClaims -> jwtClaims.putAll(claims))
+                    .issuedAt(Instant.ofEpochSecond(iat.longValue()))
+                    .expiresAt(expiresAt)
+                    .build();
+        } catch (GeneralSecurityException | IOException | IllegalArgumentException e) {
+            log.warn("Identité interne illisible: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package fr.hoenheimsports.common.identity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the authentication by the identity forwarded by the gateway.
+ *
+ * @param enabled Whether the {@code X-Internal-Identity} header signed by the gateway is accepted
+ *                instead of decoding the JWT
+ * @param secret  Secret shared with the gateway to verify the header
+ */
+@ConfigurationProperties(prefix = "custom.internal-identity")
+public record InternalIdentityProperties(@DefaultValue("false") boolean enabled,
+                                         String secret) {
+}
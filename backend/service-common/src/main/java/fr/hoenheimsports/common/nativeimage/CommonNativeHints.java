@@ -0,0 +1,71 @@
+package fr.hoenheimsports.common.nativeimage;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reflection hints of the native images common to the services, registered by
+ * {@code META-INF/spring/aot.factories}.
+ *
+ * <p>The loki4j appender created by logback from {@code logback-spring.xml} and the Eureka
+ * registry payloads, decoded by reflection, are registered when they are on the classpath. The
+ * hints proper to a service stay in its own {@code NativeHints}.</p>
+ */
+public class CommonNativeHints implements RuntimeHintsRegistrar {
+
+    private static final String LOKI4J_PACKAGE = "com.github.loki4j";
+    private static final String LOKI4J_APPENDER = LOKI4J_PACKAGE + ".logback.Loki4jAppender";
+    private static final String[] EUREKA_PAYLOADS = {"com.netflix.appinfo.InstanceInfo",
+            "com.netflix.appinfo.InstanceInfo$PortWrapper", "com.netflix.appinfo.LeaseInfo",
+            "com.netflix.discovery.shared.Application", "com.netflix.discovery.shared.Applications",
+            "com.netflix.appinfo.MyDataCenterInfo", "com.netflix.appinfo.AmazonInfo"};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        if (ClassUtils.isPresent(LOKI4J_APPENDER, classLoader)) {
+            registerLogbackComponent(hints, ClassUtils.resolveClassName(LOKI4J_APPENDER, classLoader), new HashSet<>());
+        }
+        for (String payload : EUREKA_PAYLOADS) {
+            if (ClassUtils.isPresent(payload, classLoader)) {
+                registerEurekaPayload(hints, TypeReference.of(payload));
+            }
+        }
+    }
+
+    /**
+     * Registers a payload of the Eureka registry, serialized by reflection.
+     */
+    public static void registerEurekaPayload(RuntimeHints hints, TypeReference type) {
+        hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+    }
+
+    /**
+     * Registers a logback component and the ones logback instantiates for its nested elements
+     * ({@code <http>}, {@code <format>}...), found from the setters at build time.
+     */
+    private static void registerLogbackComponent(RuntimeHints hints, Class<?> type, Set<Class<?>> registered) {
+        if (!registered.add(type)) {
+            return;
+        }
+        hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 1 && method.getName().startsWith("set")) {
+                Class<?> parameter = method.getParameterTypes()[0];
+                if (parameter.getPackageName().startsWith(LOKI4J_PACKAGE) && !parameter.isInterface()
+                        && !Modifier.isAbstract(parameter.getModifiers())) {
+                    registerLogbackComponent(hints, parameter, registered);
+                }
+            }
+        }
+    }
+}
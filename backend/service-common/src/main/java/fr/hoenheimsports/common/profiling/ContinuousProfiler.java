@@ -0,0 +1,138 @@
+package fr.hoenheimsports.common.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Continuous profiling with a JFR recording stream, kept over a rolling window.
+ *
+ * <p>The stream records the CPU samples, the allocation samples, the monitor and lock waits and the
+ * socket waits of the blocking I/O, with their stack traces. JFR keeps the events of the last
+ * {@link ProfilingProperties#window()} in its disk repository, within
+ * {@link ProfilingProperties#maxSize()}, so that the heap used does not depend on the load. The
+ * sampling periods and thresholds bound the overhead, low enough to keep it running in production.</p>
+ *
+ * <p>A profile is built on demand from a dump of the stream: the stacks of the events of its
+ * {@link ProfileType} are aggregated in the collapsed format of {@code flamegraph.pl}, which
+ * speedscope and the other flame graph viewers read as well.</p>
+ */
+public class ContinuousProfiler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousProfiler.class);
+    private static final String TRUNCATED_FRAME = "[truncated]";
+
+    private final ProfilingProperties properties;
+    private volatile RecordingStream recordingStream;
+
+    public ContinuousProfiler(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.setMaxAge(properties.window());
+        stream.setMaxSize(properties.maxSize().toBytes());
+        stream.enable("jdk.ExecutionSample").withPeriod(properties.cpuSamplingPeriod());
+        stream.enable("jdk.ObjectAllocationSample").withStackTrace()
+                .with("throttle", properties.allocationSamplesPerSecond() + "/s");
+        for (String event : new String[]{"jdk.JavaMonitorEnter", "jdk.ThreadPark"}) {
+            stream.enable(event).withThreshold(properties.lockThreshold()).withStackTrace();
+        }
+        for (String event : new String[]{"jdk.SocketRead", "jdk.SocketWrite"}) {
+            stream.enable(event).withThreshold(properties.ioThreshold()).withStackTrace();
+        }
+        stream.startAsync();
+        recordingStream = stream;
+        logger.info("Profilage continu démarré sur une fenêtre de {}", properties.window());
+    }
+
+    @Override
+    public void stop() {
+        recordingStream.close();
+        recordingStream = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    /**
+     * @return The longest profile available
+     */
+    public Duration window() {
+        return properties.window();
+    }
+
+    /**
+     * Aggregates the stacks of the events of a profile, heaviest first.
+     *
+     * @param type The profile
+     * @param last Duration covered by the profile, up to now
+     * @return One line per stack, its frames from the root separated by {@code ;}, a space and its
+     * weight in {@link ProfileType#unit()}
+     * @throws IOException If the recording cannot be dumped or read
+     */
+    public String collapsedStacks(ProfileType type, Duration last) throws IOException {
+        RecordingStream stream = recordingStream;
+        if (stream == null) {
+            throw new IllegalStateException("Le profilage continu n'est pas démarré");
+        }
+        Instant since = Instant.now().minus(last);
+        Map<String, Long> stacks = new HashMap<>();
+        Path dump = Files.createTempFile("profile-", ".jfr");
+        try {
+            stream.dump(dump);
+            try (RecordingFile recording = new RecordingFile(dump)) {
+                while (recording.hasMoreEvents()) {
+                    RecordedEvent event = recording.readEvent();
+                    if (!type.events().contains(event.getEventType().getName())
+                            || event.getEndTime().isBefore(since) || event.getStackTrace() == null) {
+                        continue;
+                    }
+                    long weight = type.weight(event);
+                    if (weight > 0) {
+                        stacks.merge(collapse(event.getStackTrace()), weight, Long::sum);
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+        StringBuilder collapsed = new StringBuilder();
+        stacks.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(stack -> collapsed.append(stack.getKey()).append(' ').append(stack.getValue()).append('\n'));
+        return collapsed.toString();
+    }
+
+    private static String collapse(RecordedStackTrace stackTrace) {
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringJoiner collapsed = new StringJoiner(";");
+        if (stackTrace.isTruncated()) {
+            collapsed.add(TRUNCATED_FRAME);
+        }
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            RecordedFrame frame = frames.get(i);
+            collapsed.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName());
+        }
+        return collapsed.toString();
+    }
+}
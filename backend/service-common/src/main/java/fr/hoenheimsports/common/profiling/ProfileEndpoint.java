@@ -0,0 +1,48 @@
+package fr.hoenheimsports.common.profiling;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Actuator endpoint {@code /actuator/profile/{type}?minutes=N}: the profile of the last minutes
+ * recorded by the {@link ContinuousProfiler}, ready for a flame graph.
+ *
+ * <p>{@code type} is {@code cpu}, {@code alloc}, {@code lock} or {@code io} and {@code minutes}
+ * defaults to 5, within the window of the recording. The alerts of Prometheus link to it.</p>
+ */
+@Endpoint(id = "profile")
+public class ProfileEndpoint {
+
+    private static final Duration DEFAULT_DURATION = Duration.ofMinutes(5);
+
+    private final ContinuousProfiler continuousProfiler;
+
+    public ProfileEndpoint(ContinuousProfiler continuousProfiler) {
+        this.continuousProfiler = continuousProfiler;
+    }
+
+    @ReadOperation(produces = "text/plain;charset=UTF-8")
+    public String profile(@Selector String type, @Nullable Integer minutes) {
+        ProfileType profileType = ProfileType.of(type).orElseThrow(() -> new InvalidEndpointRequestException(
+                "Type de profil inconnu : " + type, "Type de profil inconnu"));
+        if (minutes != null && minutes <= 0) {
+            throw new InvalidEndpointRequestException("Durée invalide : " + minutes, "Durée invalide");
+        }
+        Duration last = minutes == null ? DEFAULT_DURATION : Duration.ofMinutes(minutes);
+        if (last.compareTo(continuousProfiler.window()) > 0) {
+            last = continuousProfiler.window();
+        }
+        try {
+            return continuousProfiler.collapsedStacks(profileType, last);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de lire l'enregistrement JFR", e);
+        }
+    }
+}
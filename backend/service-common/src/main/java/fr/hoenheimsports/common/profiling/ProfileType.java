@@ -0,0 +1,94 @@
+package fr.hoenheimsports.common.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Kind of profile served by the {@link ContinuousProfiler}, with the JFR events it is built from and
+ * the weight of each stack.
+ */
+public enum ProfileType {
+
+    /**
+     * Running Java code, weighted by the number of samples.
+     */
+    CPU("cpu", "samples", Set.of("jdk.ExecutionSample")),
+
+    /**
+     * Allocations, weighted by the bytes allocated since the previous sample of the thread.
+     */
+    ALLOCATION("alloc", "bytes", Set.of("jdk.ObjectAllocationSample")),
+
+    /**
+     * Threads blocked on a {@code synchronized} monitor or a {@code java.util.concurrent} lock,
+     * weighted by the time blocked.
+     */
+    LOCK("lock", "nanoseconds", Set.of("jdk.JavaMonitorEnter", "jdk.ThreadPark")),
+
+    /**
+     * Threads waiting on a socket, weighted by the time waited: the blocking calls, as the JDBC queries, the
+     * SMTP exchanges, the Git fetches or the calls to the other services and to Eureka.
+     */
+    IO("io", "nanoseconds", Set.of("jdk.SocketRead", "jdk.SocketWrite"));
+
+    private static final String LOCKS_PACKAGE = "java.util.concurrent.locks.";
+    private static final String CONDITION_SUFFIX = "$ConditionObject";
+
+    private final String id;
+    private final String unit;
+    private final Set<String> events;
+
+    ProfileType(String id, String unit, Set<String> events) {
+        this.id = id;
+        this.unit = unit;
+        this.events = events;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String unit() {
+        return unit;
+    }
+
+    Set<String> events() {
+        return events;
+    }
+
+    public static Optional<ProfileType> of(String id) {
+        return Arrays.stream(values()).filter(type -> type.id.equals(id)).findFirst();
+    }
+
+    /**
+     * Returns the weight of an event of this profile.
+     *
+     * @param event An event of one of the {@link #events()}
+     * @return The weight, 0 when the event is not relevant
+     */
+    long weight(RecordedEvent event) {
+        return switch (this) {
+            case CPU -> 1;
+            case ALLOCATION -> event.getLong("weight");
+            case LOCK -> isLockWait(event) ? event.getDuration().toNanos() : 0;
+            case IO -> event.getDuration().toNanos();
+        };
+    }
+
+    /**
+     * A thread parks to acquire a lock, but also to wait on a condition or a queue, as an idle pool
+     * thread does: only the parks on a lock count as contention.
+     */
+    private static boolean isLockWait(RecordedEvent event) {
+        if (!event.getEventType().getName().equals("jdk.ThreadPark")) {
+            return true;
+        }
+        RecordedClass parkedClass = event.getClass("parkedClass");
+        return parkedClass != null && parkedClass.getName().startsWith(LOCKS_PACKAGE)
+                && !parkedClass.getName().endsWith(CONDITION_SUFFIX);
+    }
+}
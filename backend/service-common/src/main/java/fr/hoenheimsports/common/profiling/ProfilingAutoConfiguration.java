@@ -0,0 +1,29 @@
+package fr.hoenheimsports.common.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Continuous profiling with JFR, served by {@code /actuator/profile}, enabled by
+ * {@code custom.profiling.enabled}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnProperty(prefix = "custom.profiling", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingAutoConfiguration {
+
+    @Bean
+    public ContinuousProfiler continuousProfiler(ProfilingProperties profilingProperties) {
+        return new ContinuousProfiler(profilingProperties);
+    }
+
+    @Bean
+    public ProfileEndpoint profileEndpoint(ContinuousProfiler continuousProfiler) {
+        return new ProfileEndpoint(continuousProfiler);
+    }
+}
@@ -0,0 +1,29 @@
+package fr.hoenheimsports.common.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the continuous profiling with JFR.
+ *
+ * @param enabled                    Whether a JFR recording runs continuously, served by
+ *                                   {@code /actuator/profile}
+ * @param window                     Age of the oldest events kept, the longest profile available
+ * @param maxSize                    Disk space of the recording, the oldest events are dropped beyond
+ * @param cpuSamplingPeriod          Interval between two CPU samples of a running thread
+ * @param allocationSamplesPerSecond Maximum number of allocation samples per second
+ * @param lockThreshold              Minimum duration of a monitor or lock wait to be recorded
+ * @param ioThreshold                Minimum duration of a socket read or write to be recorded
+ */
+@ConfigurationProperties(prefix = "custom.profiling")
+public record ProfilingProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("15m") Duration window,
+                                  @DefaultValue("64MB") DataSize maxSize,
+                                  @DefaultValue("20ms") Duration cpuSamplingPeriod,
+                                  @DefaultValue("100") int allocationSamplesPerSecond,
+                                  @DefaultValue("10ms") Duration lockThreshold,
+                                  @DefaultValue("10ms") Duration ioThreshold) {
+}
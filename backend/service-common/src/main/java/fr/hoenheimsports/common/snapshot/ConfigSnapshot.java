@@ -0,0 +1,151 @@
+package fr.hoenheimsports.common.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local snapshot of the configuration fetched from the config server.
+ *
+ * <p>The snapshot file is imported before the config server, which is optional: when the config
+ * server is reachable its properties take precedence, otherwise the service boots immediately from
+ * the last configuration it fetched instead of waiting for the config server. In that case the
+ * config server is queried again every {@code custom.config-snapshot.retry-interval} in the
+ * background; once it answers, the environment is reloaded and the refresh scope rebuilt.</p>
+ *
+ * <p>The snapshot is written each time a configuration is fetched from the config server, with the
+ * values as served. The config server does not decrypt the properties
+ * ({@code spring.cloud.config.server.encrypt.enabled=false}), so the secrets are written as the
+ * {@code {cipher}} values of the configuration repository, and the service decrypts them with its
+ * {@code encrypt.key-store.*} whether they come from the config server or from the snapshot.</p>
+ *
+ * @see ConfigSnapshotAutoConfiguration
+ */
+public class ConfigSnapshot implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    private static final String CONFIG_SERVER_SOURCE_PREFIX = "configserver:";
+
+    private final ConfigurableEnvironment environment;
+    private final ContextRefresher contextRefresher;
+    private final RefreshScope refreshScope;
+    private final Path file;
+    private final Duration retryInterval;
+
+    private volatile boolean running;
+    private ScheduledExecutorService reconciler;
+
+    public ConfigSnapshot(ConfigurableEnvironment environment, ContextRefresher contextRefresher,
+                          RefreshScope refreshScope, Path file, Duration retryInterval) {
+        this.environment = environment;
+        this.contextRefresher = contextRefresher;
+        this.refreshScope = refreshScope;
+        this.file = file;
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (isFromConfigServer()) {
+            save();
+            return;
+        }
+        logger.warn("Config server injoignable, démarrage depuis l'instantané {}", file);
+        reconciler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("config-snapshot").factory());
+        reconciler.scheduleWithFixedDelay(this::reconcile, retryInterval.toMillis(), retryInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Updates the snapshot when a configuration change has been applied.
+     */
+    @EventListener(EnvironmentChangeEvent.class)
+    public void onEnvironmentChange() {
+        if (running && isFromConfigServer()) {
+            save();
+        }
+    }
+
+    private void reconcile() {
+        try {
+            contextRefresher.refreshEnvironment();
+            if (isFromConfigServer()) {
+                refreshScope.refreshAll();
+                logger.info("Configuration réconciliée avec le config server");
+                reconciler.shutdown();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Réconciliation avec le config server impossible: {}", e.getMessage());
+        }
+    }
+
+    private boolean isFromConfigServer() {
+        return environment.getPropertySources().stream()
+                .anyMatch(source -> source.getName().startsWith(CONFIG_SERVER_SOURCE_PREFIX));
+    }
+
+    private synchronized void save() {
+        // The first property sources take precedence, so they are applied last
+        List<PropertySource<?>> sources = environment.getPropertySources().stream()
+                .filter(source -> source.getName().startsWith(CONFIG_SERVER_SOURCE_PREFIX))
+                .toList()
+                .reversed();
+        Properties properties = new Properties();
+        for (PropertySource<?> source : sources) {
+            if (source instanceof EnumerablePropertySource<?> enumerable) {
+                for (String name : enumerable.getPropertyNames()) {
+                    Object value = enumerable.getProperty(name);
+                    if (value != null) {
+                        properties.setProperty(name, value.toString());
+                    }
+                }
+            }
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, "Instantane de la configuration du config server");
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Instantané de la configuration enregistré dans {} ({} propriétés)", file, properties.size());
+        } catch (IOException e) {
+            logger.warn("Enregistrement de l'instantané de la configuration impossible: {}", e.getMessage());
+        }
+    }
+}
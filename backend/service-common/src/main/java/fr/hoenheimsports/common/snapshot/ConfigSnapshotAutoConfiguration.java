@@ -0,0 +1,31 @@
+package fr.hoenheimsports.common.snapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Local snapshot of the configuration of the config clients, enabled by
+ * {@code custom.config-snapshot.enabled}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(ContextRefresher.class)
+@ConditionalOnProperty(prefix = "custom.config-snapshot", name = "enabled", havingValue = "true")
+public class ConfigSnapshotAutoConfiguration {
+
+    @Bean
+    public ConfigSnapshot configSnapshot(ConfigurableEnvironment environment, ContextRefresher contextRefresher,
+                                         RefreshScope refreshScope,
+                                         @Value("${custom.config-snapshot.file}") Path file,
+                                         @Value("${custom.config-snapshot.retry-interval:10s}") Duration retryInterval) {
+        return new ConfigSnapshot(environment, contextRefresher, refreshScope, file, retryInterval);
+    }
+}
@@ -0,0 +1,74 @@
+package fr.hoenheimsports.common.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread.
+ *
+ * <p>A pinned virtual thread blocks its carrier while it waits, so a few of them are enough to
+ * starve the whole scheduler. Since Java 24 {@code synchronized} no longer pins, but native frames
+ * and class initialization still do. The {@code jdk.VirtualThreadPinned} JFR events longer than
+ * {@code diagnostics.virtual-threads.pinned-threshold} are logged with their stack trace and
+ * counted in the {@code jvm.threads.virtual.pinned} metric.</p>
+ *
+ * @see VirtualThreadsAutoConfiguration
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedCounter = meterRegistry.counter("jvm.threads.virtual.pinned");
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        logger.info("Surveillance des threads virtuels épinglés plus de {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        recordingStream.close();
+        recordingStream = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        String stackTrace = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        logger.warn("Thread virtuel épinglé pendant {} ms{}", event.getDuration().toMillis(), stackTrace);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,63 @@
+package fr.hoenheimsports.common.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Support of the virtual-thread mode ({@code spring.threads.virtual.enabled}), inactive with
+ * platform threads.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsAutoConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+
+    /**
+     * Short connection timeout of the Hikari pool.
+     *
+     * <p>With virtual threads the number of request threads is no longer bounded, so the pool is
+     * the real bound on JDBC concurrency and a burst queues on it. The requests then fail after
+     * {@code diagnostics.virtual-threads.hikari-connection-timeout} instead of the 30 s Hikari
+     * default kept with platform threads. An explicit
+     * {@code spring.datasource.hikari.connection-timeout} takes precedence.</p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HikariDataSource.class)
+    static class HikariConnectionTimeoutConfiguration {
+
+        private static final String EXPLICIT_TIMEOUT = "spring.datasource.hikari.connection-timeout";
+
+        @Bean
+        static BeanPostProcessor virtualThreadsHikariConnectionTimeout(Environment environment) {
+            Duration timeout = environment.getProperty("diagnostics.virtual-threads.hikari-connection-timeout",
+                    Duration.class, Duration.ofSeconds(3));
+            boolean explicit = environment.containsProperty(EXPLICIT_TIMEOUT);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource && !explicit) {
+                        dataSource.setConnectionTimeout(timeout.toMillis());
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package fr.hoenheimsports.common.tracing;
+
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
+
+/**
+ * Tail-based sampling of the traces reported to Zipkin, enabled by {@code custom.tail-sampling.enabled}.
+ * Runs before the Brave auto-configuration, whose probability sampler backs off in front of
+ * {@link #tailSamplingSampler()}.
+ */
+@AutoConfiguration(beforeName = "org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration")
+@ConditionalOnClass({Sampler.class, AsyncZipkinSpanHandler.class})
+@ConditionalOnProperty(prefix = "custom.tail-sampling", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TailSamplingProperties.class)
+public class TailSamplingAutoConfiguration {
+
+    /**
+     * Records every trace, replacing the probability sampler: the decision to report a trace is
+     * taken once it is finished, by {@link TailSamplingSpanHandler}.
+     */
+    @Bean
+    public Sampler tailSamplingSampler() {
+        return Sampler.ALWAYS_SAMPLE;
+    }
+
+    /**
+     * Puts the tail-based sampling in front of the Zipkin reporter.
+     */
+    @Bean
+    public static BeanPostProcessor tailSamplingSpanHandlerPostProcessor(
+            ObjectProvider<TailSamplingProperties> tailSamplingProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AsyncZipkinSpanHandler zipkinSpanHandler) {
+                    return new TailSamplingSpanHandler(zipkinSpanHandler, tailSamplingProperties.getObject(),
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package fr.hoenheimsports.common.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the tail-based sampling of the traces.
+ *
+ * @param enabled                 Whether the sampling decision is deferred until the trace is finished,
+ *                                instead of the probability of {@code management.tracing.sampling}
+ * @param latencyThreshold        Duration of the local part of a trace above which it is always kept
+ * @param baselineProbability     Probability of keeping a trace without error nor latency, decided from
+ *                                the trace id so that every service keeps the same traces
+ * @param baselineTracesPerSecond Maximum number of such traces kept per second
+ * @param maxTraces               Number of undecided traces buffered at once, the traces starting beyond
+ *                                are dropped without being buffered
+ * @param maxTraceDuration        Age from which an undecided trace, whose local root span did not finish,
+ *                                is dropped to make room when {@code maxTraces} is reached
+ * @param maxSpansPerTrace        Maximum number of spans buffered for a trace, the following ones are
+ *                                dropped
+ */
+@ConfigurationProperties(prefix = "custom.tail-sampling")
+public record TailSamplingProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("1s") Duration latencyThreshold,
+                                     @DefaultValue("0.1") double baselineProbability,
+                                     @DefaultValue("10") int baselineTracesPerSecond,
+                                     @DefaultValue("2048") int maxTraces,
+                                     @DefaultValue("1m") Duration maxTraceDuration,
+                                     @DefaultValue("256") int maxSpansPerTrace) {
+}
@@ -0,0 +1,290 @@
+package fr.hoenheimsports.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tail-based sampling of the spans reported to Zipkin.
+ *
+ * <p>Every trace is recorded and the decision to report it is deferred until its local root span,
+ * the part of the trace handled by this service, finishes. Until then the finished spans are
+ * buffered per trace, for at most {@link TailSamplingProperties#maxTraces()} undecided traces of at
+ * most {@link TailSamplingProperties#maxSpansPerTrace()} spans, so that the memory used stays bounded
+ * whatever the load. An undecided trace is never evicted by a newer one: the long-running traces,
+ * the slow ones worth keeping, would be the first dropped. When the limit is reached, the traces
+ * undecided for more than {@link TailSamplingProperties#maxTraceDuration()}, whose local root span
+ * was lost, are dropped, then the new traces are dropped without being buffered. The decided traces
+ * are remembered in a ring of the same size, holding no span, so that the spans finishing after the
+ * decision follow it.</p>
+ *
+ * <p>A trace is kept when one of its spans failed, with an exception or a 5xx response, or when its
+ * local root span lasted at least {@link TailSamplingProperties#latencyThreshold()}. The other
+ * traces are kept with {@link TailSamplingProperties#baselineProbability()}, decided from the trace
+ * id so that every service keeps the same ones, and at most
+ * {@link TailSamplingProperties#baselineTracesPerSecond()} per second. A downstream failure or
+ * latency shows on the client span of the caller, which keeps its part of the trace too. A trace
+ * whose local root span ends without finishing, abandoned or orphaned, is kept only on error.</p>
+ *
+ * <p>The spans kept and dropped are counted in {@code tracing.tail.spans}, by decision and
+ * reason.</p>
+ */
+public class TailSamplingSpanHandler extends SpanHandler implements Closeable {
+
+    private static final String METRIC = "tracing.tail.spans";
+    private static final String ERROR_TAG = "error";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+    private static final long TRACE_ID_BUCKETS = 10_000;
+    private static final long EXPIRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Span waiting for the decision of its trace.
+     */
+    private record BufferedSpan(TraceContext context, MutableSpan span, Cause cause) {
+    }
+
+    /**
+     * Local part of a trace, buffered until its local root span finishes.
+     */
+    private static final class Trace {
+        private final long localRootId;
+        private final long startedAt;
+        private List<BufferedSpan> spans = new ArrayList<>();
+        private boolean failed;
+        private boolean kept;
+        private Counter decision;
+
+        private Trace(long localRootId, long startedAt) {
+            this.localRootId = localRootId;
+            this.startedAt = startedAt;
+        }
+    }
+
+    private final SpanHandler delegate;
+    private final long latencyThresholdMicros;
+    private final long baselineBuckets;
+    private final int maxTraces;
+    private final long maxTraceDurationNanos;
+    private final int maxSpansPerTrace;
+    private final Map<Long, Trace> traces = new ConcurrentHashMap<>();
+    private final AtomicInteger openTraces = new AtomicInteger();
+    private final AtomicLong expiredAt = new AtomicLong(System.nanoTime());
+    private final AtomicReferenceArray<Trace> decidedTraces;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private final double baselineTracesPerNano;
+    private final double baselineBurst;
+    private double baselineTokens;
+    private long baselineRefilledAt = System.nanoTime();
+
+    private final Counter keptError;
+    private final Counter keptSlow;
+    private final Counter keptBaseline;
+    private final Counter droppedSampledOut;
+    private final Counter droppedUnfinished;
+    private final Counter droppedExpired;
+    private final Counter droppedFull;
+    private final Counter droppedOverflow;
+
+    public TailSamplingSpanHandler(SpanHandler delegate, TailSamplingProperties tailSamplingProperties,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.latencyThresholdMicros = TimeUnit.NANOSECONDS.toMicros(tailSamplingProperties.latencyThreshold().toNanos());
+        this.baselineBuckets = Math.round(tailSamplingProperties.baselineProbability() * TRACE_ID_BUCKETS);
+        this.maxTraces = tailSamplingProperties.maxTraces();
+        this.maxTraceDurationNanos = tailSamplingProperties.maxTraceDuration().toNanos();
+        this.maxSpansPerTrace = tailSamplingProperties.maxSpansPerTrace();
+        this.decidedTraces = new AtomicReferenceArray<>(tailSamplingProperties.maxTraces());
+        this.baselineTracesPerNano = tailSamplingProperties.baselineTracesPerSecond() / 1e9;
+        this.baselineBurst = Math.max(1, tailSamplingProperties.baselineTracesPerSecond());
+        this.baselineTokens = baselineBurst;
+        this.keptError = counter(meterRegistry, "kept", "error");
+        this.keptSlow = counter(meterRegistry, "kept", "slow");
+        this.keptBaseline = counter(meterRegistry, "kept", "baseline");
+        this.droppedSampledOut = counter(meterRegistry, "dropped", "sampled-out");
+        this.droppedUnfinished = counter(meterRegistry, "dropped", "unfinished");
+        this.droppedExpired = counter(meterRegistry, "dropped", "expired");
+        this.droppedFull = counter(meterRegistry, "dropped", "full");
+        this.droppedOverflow = counter(meterRegistry, "dropped", "overflow");
+        meterRegistry.gauge("tracing.tail.traces", openTraces);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        long localRootId = context.localRootId();
+        Trace trace = traces.get(localRootId);
+        if (trace == null) {
+            trace = register(localRootId);
+        }
+        BufferedSpan buffered = new BufferedSpan(context, span, cause);
+        List<BufferedSpan> decided;
+        boolean closed = false;
+        synchronized (trace) {
+            if (trace.decision == null) {
+                trace.failed |= isFailed(span);
+                if (context.spanId() != localRootId) {
+                    if (trace.spans.size() < maxSpansPerTrace) {
+                        trace.spans.add(buffered);
+                    } else {
+                        droppedOverflow.increment();
+                    }
+                    return false;
+                }
+                decide(trace, context, span, cause);
+                decided = trace.spans;
+                decided.add(buffered);
+                trace.spans = null;
+                closed = true;
+            } else {
+                decided = List.of(buffered);
+            }
+        }
+        if (closed) {
+            openTraces.decrementAndGet();
+            remember(trace);
+        }
+        trace.decision.increment(decided.size());
+        if (trace.kept) {
+            decided.forEach(pending -> delegate.end(pending.context(), pending.span(), pending.cause()));
+        }
+        // The span has been reported, or dropped, here: the following handlers must not report it
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingSpanHandler{" + delegate + "}";
+    }
+
+    /**
+     * Starts buffering a trace, or drops it right away when {@link #maxTraces} traces are undecided.
+     */
+    private Trace register(long localRootId) {
+        long now = System.nanoTime();
+        if (openTraces.get() >= maxTraces) {
+            expire(now);
+        }
+        Trace created = new Trace(localRootId, now);
+        boolean full = openTraces.incrementAndGet() > maxTraces;
+        if (full) {
+            openTraces.decrementAndGet();
+            created.decision = droppedFull;
+            created.spans = null;
+        }
+        Trace existing = traces.putIfAbsent(localRootId, created);
+        if (existing != null) {
+            if (!full) {
+                openTraces.decrementAndGet();
+            }
+            return existing;
+        }
+        if (full) {
+            remember(created);
+        }
+        return created;
+    }
+
+    /**
+     * Drops the traces undecided for more than {@link #maxTraceDurationNanos}, at most once per second.
+     */
+    private void expire(long now) {
+        long last = expiredAt.get();
+        if (now - last < EXPIRY_INTERVAL_NANOS || !expiredAt.compareAndSet(last, now)) {
+            return;
+        }
+        for (Trace trace : traces.values()) {
+            if (now - trace.startedAt < maxTraceDurationNanos) {
+                continue;
+            }
+            boolean expired = false;
+            synchronized (trace) {
+                if (trace.decision == null) {
+                    droppedExpired.increment(trace.spans.size());
+                    trace.decision = droppedExpired;
+                    trace.spans = null;
+                    expired = true;
+                }
+            }
+            if (expired) {
+                openTraces.decrementAndGet();
+                remember(trace);
+            }
+        }
+    }
+
+    /**
+     * Keeps the decision of a trace for its late spans, in the slot of the oldest decided trace.
+     */
+    private void remember(Trace trace) {
+        int slot = (int) Math.floorMod(cursor.getAndIncrement(), (long) decidedTraces.length());
+        Trace forgotten = decidedTraces.getAndSet(slot, trace);
+        if (forgotten != null) {
+            traces.remove(forgotten.localRootId, forgotten);
+        }
+    }
+
+    private void decide(Trace trace, TraceContext context, MutableSpan localRoot, Cause cause) {
+        if (trace.failed) {
+            trace.kept = true;
+            trace.decision = keptError;
+        } else if (cause != Cause.FINISHED) {
+            trace.decision = droppedUnfinished;
+        } else if (localRoot.finishTimestamp() - localRoot.startTimestamp() >= latencyThresholdMicros) {
+            trace.kept = true;
+            trace.decision = keptSlow;
+        } else if (Long.remainderUnsigned(context.traceId(), TRACE_ID_BUCKETS) < baselineBuckets
+                && acquireBaselinePermit()) {
+            trace.kept = true;
+            trace.decision = keptBaseline;
+        } else {
+            trace.decision = droppedSampledOut;
+        }
+    }
+
+    /**
+     * Token bucket capping the traces kept without error nor latency.
+     */
+    private synchronized boolean acquireBaselinePermit() {
+        long now = System.nanoTime();
+        baselineTokens = Math.min(baselineBurst, baselineTokens + (now - baselineRefilledAt) * baselineTracesPerNano);
+        baselineRefilledAt = now;
+        if (baselineTokens < 1) {
+            return false;
+        }
+        baselineTokens--;
+        return true;
+    }
+
+    private static boolean isFailed(MutableSpan span) {
+        return span.error() != null || span.tag(ERROR_TAG) != null || SERVER_ERROR.equals(span.tag(OUTCOME_TAG));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String decision, String reason) {
+        return Counter.builder(METRIC)
+                .description("Spans reportés ou écartés par l'échantillonnage en fin de trace")
+                .tag("decision", decision)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
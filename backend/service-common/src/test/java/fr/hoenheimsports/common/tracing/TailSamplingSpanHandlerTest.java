@@ -0,0 +1,198 @@
+package fr.hoenheimsports.common.tracing;
+
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanHandlerTest {
+
+    private static final long FAST_MICROS = 1_000;
+    private static final long SLOW_MICROS = 200_000;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<MutableSpan> reported = new ArrayList<>();
+    private final SpanHandler recorder = new SpanHandler() {
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            reported.add(span);
+            return true;
+        }
+    };
+    private Tracing tracing;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        // Only used to create the trace contexts with their local root, the spans are ended by the tests
+        tracing = Tracing.newBuilder().build();
+        tracer = tracing.tracer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void keepsAFailedTraceWithItsBufferedSpans() {
+        TailSamplingSpanHandler handler = handler(0, 10, 16, 16);
+        TraceContext root = tracer.newTrace().context();
+        TraceContext child = tracer.newChild(root).context();
+        MutableSpan failedChild = span(child, FAST_MICROS);
+        failedChild.error(new IllegalStateException("boom"));
+
+        assertThat(handler.end(child, failedChild, SpanHandler.Cause.FINISHED)).isFalse();
+        assertThat(reported).isEmpty();
+
+        MutableSpan localRoot = span(root, FAST_MICROS);
+        handler.end(root, localRoot, SpanHandler.Cause.FINISHED);
+
+        assertThat(reported).containsExactly(failedChild, localRoot);
+        assertThat(spans("kept", "error")).isEqualTo(2);
+    }
+
+    @Test
+    void keepsATraceWhoseLocalRootGotAServerError() {
+        TailSamplingSpanHandler handler = handler(0, 10, 16, 16);
+        TraceContext root = tracer.newTrace().context();
+        MutableSpan localRoot = span(root, FAST_MICROS);
+        localRoot.tag("outcome", "SERVER_ERROR");
+
+        handler.end(root, localRoot, SpanHandler.Cause.FINISHED);
+
+        assertThat(reported).containsExactly(localRoot);
+        assertThat(spans("kept", "error")).isEqualTo(1);
+    }
+
+    @Test
+    void keepsASlowTraceAndDropsAFastOne() {
+        TailSamplingSpanHandler handler = handler(0, 10, 16, 16);
+        TraceContext slow = tracer.newTrace().context();
+        TraceContext fast = tracer.newTrace().context();
+        MutableSpan slowRoot = span(slow, SLOW_MICROS);
+
+        handler.end(slow, slowRoot, SpanHandler.Cause.FINISHED);
+        handler.end(fast, span(fast, FAST_MICROS), SpanHandler.Cause.FINISHED);
+
+        assertThat(reported).containsExactly(slowRoot);
+        assertThat(spans("kept", "slow")).isEqualTo(1);
+        assertThat(spans("dropped", "sampled-out")).isEqualTo(1);
+    }
+
+    @Test
+    void capsTheBaselineTracesPerSecond() {
+        TailSamplingSpanHandler handler = handler(1, 1, 16, 16);
+        TraceContext first = tracer.newTrace().context();
+        TraceContext second = tracer.newTrace().context();
+        MutableSpan firstRoot = span(first, FAST_MICROS);
+
+        handler.end(first, firstRoot, SpanHandler.Cause.FINISHED);
+        handler.end(second, span(second, FAST_MICROS), SpanHandler.Cause.FINISHED);
+
+        assertThat(reported).containsExactly(firstRoot);
+        assertThat(spans("kept", "baseline")).isEqualTo(1);
+        assertThat(spans("dropped", "sampled-out")).isEqualTo(1);
+    }
+
+    @Test
+    void dropsAnUnfinishedTraceUnlessItFailed() {
+        TailSamplingSpanHandler handler = handler(1, 10, 16, 16);
+        TraceContext abandoned = tracer.newTrace().context();
+        TraceContext failed = tracer.newTrace().context();
+        MutableSpan failedRoot = span(failed, SLOW_MICROS);
+        failedRoot.tag("error", "timeout");
+
+        handler.end(abandoned, span(abandoned, SLOW_MICROS), SpanHandler.Cause.ABANDONED);
+        handler.end(failed, failedRoot, SpanHandler.Cause.ORPHANED);
+
+        assertThat(reported).containsExactly(failedRoot);
+        assertThat(spans("dropped", "unfinished")).isEqualTo(1);
+    }
+
+    @Test
+    void dropsTheNewTracesWhileTheBufferIsFull() {
+        TailSamplingSpanHandler handler = handler(1, 10, 2, 16);
+        TraceContext first = tracer.newTrace().context();
+        TraceContext second = tracer.newTrace().context();
+        TraceContext third = tracer.newTrace().context();
+        TraceContext firstChild = tracer.newChild(first).context();
+        TraceContext thirdChild = tracer.newChild(third).context();
+        handler.end(firstChild, span(firstChild, FAST_MICROS), SpanHandler.Cause.FINISHED);
+        TraceContext secondChild = tracer.newChild(second).context();
+        handler.end(secondChild, span(secondChild, FAST_MICROS), SpanHandler.Cause.FINISHED);
+
+        handler.end(thirdChild, span(thirdChild, FAST_MICROS), SpanHandler.Cause.FINISHED);
+        handler.end(third, span(third, FAST_MICROS), SpanHandler.Cause.FINISHED);
+        assertThat(reported).isEmpty();
+        assertThat(spans("dropped", "full")).isEqualTo(2);
+
+        // The buffered traces are still decided normally
+        handler.end(first, span(first, FAST_MICROS), SpanHandler.Cause.FINISHED);
+        assertThat(reported).hasSize(2);
+    }
+
+    @Test
+    void boundsTheSpansBufferedPerTrace() {
+        TailSamplingSpanHandler handler = handler(1, 10, 16, 2);
+        TraceContext root = tracer.newTrace().context();
+        for (int i = 0; i < 3; i++) {
+            TraceContext child = tracer.newChild(root).context();
+            handler.end(child, span(child, FAST_MICROS), SpanHandler.Cause.FINISHED);
+        }
+
+        handler.end(root, span(root, FAST_MICROS), SpanHandler.Cause.FINISHED);
+
+        assertThat(reported).hasSize(3);
+        assertThat(spans("dropped", "overflow")).isEqualTo(1);
+    }
+
+    @Test
+    void appliesTheDecisionToTheSpansFinishingAfterTheLocalRoot() {
+        TailSamplingSpanHandler handler = handler(0, 10, 16, 16);
+        TraceContext kept = tracer.newTrace().context();
+        TraceContext dropped = tracer.newTrace().context();
+        handler.end(kept, span(kept, SLOW_MICROS), SpanHandler.Cause.FINISHED);
+        handler.end(dropped, span(dropped, FAST_MICROS), SpanHandler.Cause.FINISHED);
+
+        TraceContext lateKept = tracer.newChild(kept).context();
+        MutableSpan lateKeptSpan = span(lateKept, FAST_MICROS);
+        TraceContext lateDropped = tracer.newChild(dropped).context();
+        handler.end(lateKept, lateKeptSpan, SpanHandler.Cause.FINISHED);
+        handler.end(lateDropped, span(lateDropped, FAST_MICROS), SpanHandler.Cause.FINISHED);
+
+        assertThat(reported).hasSize(2).contains(lateKeptSpan);
+        assertThat(spans("kept", "slow")).isEqualTo(2);
+        assertThat(spans("dropped", "sampled-out")).isEqualTo(2);
+    }
+
+    private TailSamplingSpanHandler handler(double baselineProbability, int baselineTracesPerSecond,
+                                            int maxTraces, int maxSpansPerTrace) {
+        return new TailSamplingSpanHandler(recorder, new TailSamplingProperties(true, Duration.ofMillis(100),
+                baselineProbability, baselineTracesPerSecond, maxTraces, Duration.ofMinutes(1), maxSpansPerTrace),
+                meterRegistry);
+    }
+
+    private double spans(String decision, String reason) {
+        return meterRegistry.get("tracing.tail.spans").tag("decision", decision).tag("reason", reason).counter().count();
+    }
+
+    private static MutableSpan span(TraceContext context, long durationMicros) {
+        MutableSpan span = new MutableSpan(context, null);
+        span.startTimestamp(1_000_000);
+        span.finishTimestamp(1_000_000 + durationMicros);
+        return span;
+    }
+}
@@ -28,6 +28,9 @@ extra["springCloudVersion"] = "2024.0.1"
 
 dependencies {
 
+    // Bibliothèque partagée (build inclus ../service-common)
+    implementation("fr.hoenheimsports:service-common:0.0.1-SNAPSHOT")
+
     // Spring Boot Core
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
@@ -95,3 +98,12 @@ dependencyManagement {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Propriétés du démarrage d'entraînement du cache AOT, sans les services dont il dépend
+extra["aotTrainingArgs"] = listOf(
+    "-Dspring.datasource.url=jdbc:postgresql://localhost:5432/aot-training",
+    "-Dspring.flyway.enabled=false",
+    "-Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+    "-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+)
+apply(from = "../gradle/aot.gradle.kts")
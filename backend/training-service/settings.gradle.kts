@@ -1 +1,4 @@
 rootProject.name = "training-service"
+
+// Bibliothèque partagée par les services
+includeBuild("../service-common")